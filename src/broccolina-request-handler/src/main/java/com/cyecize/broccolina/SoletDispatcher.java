@@ -1,6 +1,7 @@
 package com.cyecize.broccolina;
 
 import com.cyecize.broccolina.services.ApplicationLoadingService;
+import com.cyecize.broccolina.services.ResponseCompressionService;
 import com.cyecize.broccolina.services.SessionManagementService;
 import com.cyecize.broccolina.services.SoletCandidateFinder;
 import com.cyecize.http.HttpRequest;
@@ -46,18 +47,21 @@ public class SoletDispatcher implements RequestHandler {
 
     private final LoggingService loggingService;
 
+    private final ResponseCompressionService responseCompressionService;
+
     private final boolean trackResources;
 
     @Autowired
     public SoletDispatcher(ApplicationLoadingService applicationLoadingService, JavacheConfigService configService,
                            SessionManagementService sessionManagementService, SoletCandidateFinder soletCandidateFinder,
-                           LoggingService loggingService) {
+                           LoggingService loggingService, ResponseCompressionService responseCompressionService) {
         this.configService = configService;
         this.applicationLoadingService = applicationLoadingService;
         this.sessionManagementService = sessionManagementService;
         this.soletCandidateFinder = soletCandidateFinder;
         this.trackResources = configService.getConfigParam(JavacheConfigValue.BROCCOLINA_TRACK_RESOURCES, boolean.class);
         this.loggingService = loggingService;
+        this.responseCompressionService = responseCompressionService;
     }
 
     @Override
@@ -94,18 +98,27 @@ public class SoletDispatcher implements RequestHandler {
         this.sessionManagementService.initSessionIfExistent(request);
         final HttpSolet solet = this.soletCandidateFinder.findSoletCandidate(request);
 
-        if (solet == null || !this.runSolet(solet, request, response)) {
+        if (solet == null) {
             return false;
         }
 
-        if (response.getStatusCode() == null) {
-            response.setStatusCode(HttpStatus.OK);
+        response.setCommitListener(() -> this.sessionManagementService.sendSessionIfExistent(request, response));
+
+        if (!this.runSolet(solet, request, response)) {
+            return false;
         }
 
-        this.sessionManagementService.sendSessionIfExistent(request, response);
-        this.sessionManagementService.clearInvalidSessions();
+        if (response.isStreaming()) {
+            response.getOutputStream().close();
+        } else {
+            if (response.getStatusCode() == null) {
+                response.setStatusCode(HttpStatus.OK);
+            }
 
-        outputStream.write(response.getBytes());
+            this.sessionManagementService.sendSessionIfExistent(request, response);
+            this.responseCompressionService.compressResponse(request, response);
+            outputStream.write(response.getBytes());
+        }
 
         return true;
     }
@@ -37,6 +37,8 @@ public class ApplicationScanningServiceImpl implements ApplicationScanningServic
 
     private final LibraryLoadingService libraryLoadingService;
 
+    private final ResourceCompressionService resourceCompressionService;
+
     private final List<String> applicationNames;
 
     private final Map<String, List<Class<HttpSolet>>> soletClasses;
@@ -49,13 +51,17 @@ public class ApplicationScanningServiceImpl implements ApplicationScanningServic
 
     private final boolean skipExtractingAppsWithExistingFolder;
 
+    private final boolean precompressResources;
+
     @Autowired
     public ApplicationScanningServiceImpl(JarFileUnzipService jarFileUnzipService, JavacheConfigService configService,
-                                          LoggingService loggingService, LibraryLoadingService libraryLoadingService) {
+                                          LoggingService loggingService, LibraryLoadingService libraryLoadingService,
+                                          ResourceCompressionService resourceCompressionService) {
         this.jarFileUnzipService = jarFileUnzipService;
         this.configService = configService;
         this.loggingService = loggingService;
         this.libraryLoadingService = libraryLoadingService;
+        this.resourceCompressionService = resourceCompressionService;
 
         this.applicationNames = new ArrayList<>();
         this.soletClasses = new HashMap<>();
@@ -72,6 +78,11 @@ public class ApplicationScanningServiceImpl implements ApplicationScanningServic
                 JavacheConfigValue.BROCOLLINA_SKIP_EXTRACTING_IF_FOLDER_EXISTS,
                 Boolean.class
         );
+
+        this.precompressResources = this.configService.getConfigParam(
+                JavacheConfigValue.BROCCOLINA_PRECOMPRESS_RESOURCES,
+                Boolean.class
+        );
     }
 
     @Override
@@ -107,6 +118,10 @@ public class ApplicationScanningServiceImpl implements ApplicationScanningServic
                     );
                 }
 
+                if (this.precompressResources) {
+                    this.resourceCompressionService.compressResources(this.getResourcesFolder(extractedJarFolderName));
+                }
+
                 this.loadApplicationFromFolder(extractedJarFolderName, appName);
             }
         }
@@ -114,6 +129,13 @@ public class ApplicationScanningServiceImpl implements ApplicationScanningServic
         return this.soletClasses;
     }
 
+    private File getResourcesFolder(String appRootFolderPath) {
+        return new File(PathUtils.appendPath(
+                PathUtils.appendPath(appRootFolderPath, this.compileOutputFolderName),
+                this.configService.getConfigParamString(JavacheConfigValue.APP_RESOURCES_DIR_NAME)
+        ));
+    }
+
     /**
      * Loads application libraries.
      * Loads application classes.
@@ -0,0 +1,12 @@
+package com.cyecize.broccolina.services;
+
+import java.io.File;
+import java.io.IOException;
+
+public interface ResourceCompressionService {
+
+    /**
+     * Creates compressed copies of the compressible resources in the given directory and its subdirectories.
+     */
+    void compressResources(File resourcesDirectory) throws IOException;
+}
@@ -0,0 +1,141 @@
+package com.cyecize.broccolina.services;
+
+import com.cyecize.ioc.annotations.Autowired;
+import com.cyecize.ioc.annotations.Service;
+import com.cyecize.javache.JavacheConfigValue;
+import com.cyecize.javache.services.JavacheConfigService;
+import com.cyecize.javache.services.LoggingService;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Creates a gzip copy (style.css.gz) next to every compressible resource,
+ * which Toyote serves to clients that accept gzip, so that resources are compressed once instead of on every request.
+ * <p>
+ * Brotli copies (style.css.br) are served as well if present, but cannot be created since the JDK has no brotli encoder.
+ */
+@Service
+public class ResourceCompressionServiceImpl implements ResourceCompressionService {
+
+    private static final String GZIP_EXTENSION = ".gz";
+
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+
+    /**
+     * Smaller files barely get any smaller, while the client still pays for decompressing them.
+     */
+    private static final long MIN_FILE_SIZE = 1024;
+
+    private final LoggingService loggingService;
+
+    private final Set<String> compressibleExtensions;
+
+    @Autowired
+    public ResourceCompressionServiceImpl(JavacheConfigService configService, LoggingService loggingService) {
+        this.loggingService = loggingService;
+        this.compressibleExtensions = Arrays.stream(configService
+                .getConfigParamString(JavacheConfigValue.BROCCOLINA_PRECOMPRESS_EXTENSIONS)
+                .split(","))
+                .map(ext -> ext.trim().toLowerCase(Locale.ROOT))
+                .filter(ext -> !ext.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Existing gzip copies that are not older than their resource are kept,
+     * so that restarting the server with an already extracted app does not compress everything again.
+     */
+    @Override
+    public void compressResources(File resourcesDirectory) throws IOException {
+        if (!resourcesDirectory.isDirectory()) {
+            return;
+        }
+
+        final List<Path> resources;
+        try (Stream<Path> files = Files.walk(resourcesDirectory.toPath())) {
+            resources = files.filter(Files::isRegularFile)
+                    .filter(this::isCompressible)
+                    .collect(Collectors.toList());
+        }
+
+        for (Path resource : resources) {
+            try {
+                this.compressResource(resource.toFile());
+            } catch (IOException ex) {
+                this.loggingService.printStackTrace(ex);
+            }
+        }
+    }
+
+    private boolean isCompressible(Path resource) {
+        final String fileName = resource.getFileName().toString();
+        final int extensionIndex = fileName.lastIndexOf('.');
+        if (extensionIndex < 0) {
+            return false;
+        }
+
+        return this.compressibleExtensions.contains(fileName.substring(extensionIndex + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * The copy is written to a temporary file first, so that a partially written copy is never served.
+     * Copies that are not smaller than the resource are discarded.
+     * The temporary file is always deleted, also when writing or moving it fails.
+     */
+    private void compressResource(File resource) throws IOException {
+        if (resource.length() < MIN_FILE_SIZE) {
+            return;
+        }
+
+        final File compressedResource = new File(resource.getPath() + GZIP_EXTENSION);
+        if (compressedResource.isFile() && compressedResource.lastModified() >= resource.lastModified()) {
+            return;
+        }
+
+        final File tempFile = new File(compressedResource.getPath() + TEMP_FILE_EXTENSION);
+
+        try {
+            try (OutputStream outputStream = new BestCompressionGZIPOutputStream(Files.newOutputStream(tempFile.toPath()))) {
+                Files.copy(resource.toPath(), outputStream);
+            }
+
+            if (tempFile.length() >= resource.length()) {
+                Files.deleteIfExists(compressedResource.toPath());
+                return;
+            }
+
+            Files.move(
+                    tempFile.toPath(),
+                    compressedResource.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE
+            );
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
+    /**
+     * Compression runs once per resource, so the slowest level is worth it.
+     */
+    private static class BestCompressionGZIPOutputStream extends GZIPOutputStream {
+
+        private BestCompressionGZIPOutputStream(OutputStream outputStream) throws IOException {
+            super(outputStream);
+            super.def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.cyecize.broccolina.services;
+
+import com.cyecize.solet.HttpSoletRequest;
+import com.cyecize.solet.HttpSoletResponse;
+
+public interface ResponseCompressionService {
+
+    /**
+     * Replaces the content of the response with its compressed version if the client accepts it
+     * and the response is worth compressing.
+     */
+    void compressResponse(HttpSoletRequest request, HttpSoletResponse response);
+}
@@ -0,0 +1,191 @@
+package com.cyecize.broccolina.services;
+
+import com.cyecize.broccolina.utils.DeflaterPool;
+import com.cyecize.http.AcceptEncodingParser;
+import com.cyecize.http.HttpStatus;
+import com.cyecize.ioc.annotations.Autowired;
+import com.cyecize.ioc.annotations.Service;
+import com.cyecize.javache.JavacheConfigValue;
+import com.cyecize.javache.services.JavacheConfigService;
+import com.cyecize.solet.HttpSoletRequest;
+import com.cyecize.solet.HttpSoletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+@Service
+public class ResponseCompressionServiceImpl implements ResponseCompressionService {
+
+    private static final String GZIP = "gzip";
+
+    private static final String DEFLATE = "deflate";
+
+    /**
+     * Supported content codings by preference.
+     */
+    private static final List<String> SUPPORTED_ENCODINGS = List.of(GZIP, DEFLATE);
+
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+
+    private static final String CONTENT_LENGTH = "Content-Length";
+
+    private static final String CONTENT_TYPE = "Content-Type";
+
+    private static final String DEFAULT_CONTENT_TYPE = "text/html";
+
+    private static final String VARY = "Vary";
+
+    /**
+     * Magic number, compression method, no flags, no modification time, no extra flags and unknown OS.
+     */
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final boolean enabled;
+
+    private final int minSize;
+
+    private final List<String> excludedMediaTypes;
+
+    private final DeflaterPool gzipDeflaters;
+
+    private final DeflaterPool deflateDeflaters;
+
+    @Autowired
+    public ResponseCompressionServiceImpl(JavacheConfigService configService) {
+        this.enabled = configService.getConfigParam(JavacheConfigValue.BROCCOLINA_COMPRESS_RESPONSES, boolean.class);
+        this.minSize = configService.getConfigParam(JavacheConfigValue.BROCCOLINA_COMPRESSION_MIN_SIZE, int.class);
+        this.excludedMediaTypes = Arrays.stream(configService
+                .getConfigParamString(JavacheConfigValue.BROCCOLINA_COMPRESSION_EXCLUDED_MEDIA_TYPES)
+                .split(","))
+                .map(mediaType -> mediaType.trim().toLowerCase(Locale.ROOT))
+                .filter(mediaType -> !mediaType.isEmpty())
+                .collect(Collectors.toList());
+
+        final int level = configService.getConfigParam(JavacheConfigValue.BROCCOLINA_COMPRESSION_LEVEL, int.class);
+        final int maxIdleDeflaters = Runtime.getRuntime().availableProcessors() * 2;
+
+        this.gzipDeflaters = new DeflaterPool(level, true, maxIdleDeflaters);
+        this.deflateDeflaters = new DeflaterPool(level, false, maxIdleDeflaters);
+    }
+
+    /**
+     * Vary is added to every response that would be compressed for some client,
+     * so that caches do not give the compressed version to clients that did not ask for it and vice versa.
+     */
+    @Override
+    public void compressResponse(HttpSoletRequest request, HttpSoletResponse response) {
+        if (!this.enabled || !this.isCompressible(response)) {
+            return;
+        }
+
+        this.addVaryHeader(response);
+
+        final List<String> acceptedEncodings = AcceptEncodingParser.parseAcceptedCodings(
+                request.getHeader(ACCEPT_ENCODING),
+                SUPPORTED_ENCODINGS
+        );
+
+        if (acceptedEncodings.isEmpty()) {
+            return;
+        }
+
+        final String encoding = acceptedEncodings.get(0);
+        if (GZIP.equals(encoding)) {
+            response.setContent(this.compress(response.getContent(), this.gzipDeflaters, true));
+        } else {
+            response.setContent(this.compress(response.getContent(), this.deflateDeflaters, false));
+        }
+
+        response.addHeader(CONTENT_ENCODING, encoding);
+        response.getHeaders().remove(CONTENT_LENGTH);
+    }
+
+    private boolean isCompressible(HttpSoletResponse response) {
+        final HttpStatus status = response.getStatusCode();
+        if (status == HttpStatus.NO_CONTENT || status == HttpStatus.NOT_MODIFIED || status == HttpStatus.PARTIAL_CONTENT) {
+            return false;
+        }
+
+        if (response.getContent().length < this.minSize || response.getHeaders().containsKey(CONTENT_ENCODING)) {
+            return false;
+        }
+
+        return !this.isExcludedMediaType(response.getHeaders().getOrDefault(CONTENT_TYPE, DEFAULT_CONTENT_TYPE));
+    }
+
+    private boolean isExcludedMediaType(String contentType) {
+        final int paramsIndex = contentType.indexOf(';');
+        final String mediaType = (paramsIndex < 0 ? contentType : contentType.substring(0, paramsIndex))
+                .trim()
+                .toLowerCase(Locale.ROOT);
+
+        for (String excludedMediaType : this.excludedMediaTypes) {
+            if (excludedMediaType.endsWith("/") ? mediaType.startsWith(excludedMediaType) : mediaType.equals(excludedMediaType)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void addVaryHeader(HttpSoletResponse response) {
+        final String vary = response.getHeaders().get(VARY);
+
+        if (vary == null) {
+            response.addHeader(VARY, ACCEPT_ENCODING);
+        } else if (!vary.toLowerCase(Locale.ROOT).contains(ACCEPT_ENCODING.toLowerCase(Locale.ROOT))) {
+            response.addHeader(VARY, vary + ", " + ACCEPT_ENCODING);
+        }
+    }
+
+    /**
+     * Compresses the content with a pooled deflater.
+     * Gzip is raw deflate data wrapped in a header and a trailer with the CRC32 and the size of the content.
+     */
+    private byte[] compress(byte[] content, DeflaterPool deflaterPool, boolean gzip) {
+        final Deflater deflater = deflaterPool.borrow();
+
+        try {
+            final ByteArrayOutputStream result = new ByteArrayOutputStream(content.length / 4 + GZIP_HEADER.length);
+            if (gzip) {
+                result.write(GZIP_HEADER, 0, GZIP_HEADER.length);
+            }
+
+            deflater.setInput(content);
+            deflater.finish();
+
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                result.write(buffer, 0, deflater.deflate(buffer));
+            }
+
+            if (gzip) {
+                final CRC32 crc = new CRC32();
+                crc.update(content);
+
+                this.writeIntLittleEndian(result, (int) crc.getValue());
+                this.writeIntLittleEndian(result, content.length);
+            }
+
+            return result.toByteArray();
+        } finally {
+            deflaterPool.release(deflater);
+        }
+    }
+
+    private void writeIntLittleEndian(ByteArrayOutputStream outputStream, int value) {
+        outputStream.write(value);
+        outputStream.write(value >>> 8);
+        outputStream.write(value >>> 16);
+        outputStream.write(value >>> 24);
+    }
+}
@@ -10,6 +10,9 @@ public interface SessionManagementService {
 
     void sendSessionIfExistent(HttpSoletRequest request, HttpResponse response);
 
+    /**
+     * Removes invalid and expired sessions, called periodically by a background thread.
+     */
     void clearInvalidSessions();
 
     HttpSessionStorage getSessionStorage();
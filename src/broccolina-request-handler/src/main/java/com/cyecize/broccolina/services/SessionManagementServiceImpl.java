@@ -8,22 +8,40 @@ import com.cyecize.http.HttpSession;
 import com.cyecize.http.HttpSessionImpl;
 import com.cyecize.http.HttpSessionStorage;
 import com.cyecize.http.HttpSessionStorageImpl;
+import com.cyecize.ioc.annotations.Autowired;
 import com.cyecize.ioc.annotations.Service;
+import com.cyecize.javache.JavacheConfigValue;
+import com.cyecize.javache.services.JavacheConfigService;
 import com.cyecize.solet.HttpSoletRequest;
 
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class SessionManagementServiceImpl implements SessionManagementService {
 
     private static final String SESSION_COOKIE_NAME = "JAVACHE_SESSION_ID";
 
+    private static final String SWEEPER_THREAD_NAME = "broccolina-session-sweeper";
+
     private final HttpSessionStorage sessionStorage;
 
-    public SessionManagementServiceImpl() {
-        this.sessionStorage = new HttpSessionStorageImpl();
+    @Autowired
+    public SessionManagementServiceImpl(JavacheConfigService configService) {
+        this.sessionStorage = new HttpSessionStorageImpl(
+                TimeUnit.MINUTES.toMillis(
+                        configService.getConfigParam(JavacheConfigValue.BROCCOLINA_SESSION_IDLE_TIMEOUT, int.class)
+                ),
+                TimeUnit.MINUTES.toMillis(
+                        configService.getConfigParam(JavacheConfigValue.BROCCOLINA_SESSION_MAX_AGE, int.class)
+                )
+        );
+
+        this.startSweeper(configService.getConfigParam(JavacheConfigValue.BROCCOLINA_SESSION_SWEEP_INTERVAL, int.class));
     }
 
     /**
@@ -41,6 +59,7 @@ public class SessionManagementServiceImpl implements SessionManagementService {
         if (cookie != null) {
             final HttpSession session = this.sessionStorage.getSession(cookie.getValue());
             if (this.isSessionValid(session)) {
+                session.access();
                 request.setSession(session);
             } else {
                 request.getCookies().remove(SESSION_COOKIE_NAME);
@@ -52,9 +71,8 @@ public class SessionManagementServiceImpl implements SessionManagementService {
     }
 
     /**
-     * If the session is new, adds it to the sessionStorage map.
-     * If the session is valid, adds a cookie.
-     * If the session is invalid, removes the cookie.
+     * If the session is valid, adds it to the sessionStorage map if it is new and adds a cookie.
+     * If the session is invalid, removes it from the sessionStorage map and removes the cookie.
      */
     @Override
     public void sendSessionIfExistent(HttpSoletRequest request, HttpResponse response) {
@@ -62,11 +80,9 @@ public class SessionManagementServiceImpl implements SessionManagementService {
             return;
         }
 
-        if (this.sessionStorage.getSession(request.getSession().getId()) == null) {
+        if (request.getSession().isValid()) {
             this.sessionStorage.addSession(request.getSession());
-        }
 
-        if (request.getSession().isValid()) {
             final HttpCookie cookie = new HttpCookieImpl(this.getSessionCookieName(request), request.getSession().getId());
 
             final String expires = DateTimeFormatter.RFC_1123_DATE_TIME.format(
@@ -77,6 +93,7 @@ public class SessionManagementServiceImpl implements SessionManagementService {
 
             response.addCookie(cookie);
         } else {
+            this.sessionStorage.removeSession(request.getSession().getId());
             response.addCookie(SESSION_COOKIE_NAME, "removed; expires=" + new Date(0).toString());
         }
     }
@@ -91,6 +108,23 @@ public class SessionManagementServiceImpl implements SessionManagementService {
         return this.sessionStorage;
     }
 
+    /**
+     * Removes invalid and expired sessions in the background so that requests only do constant time session work.
+     */
+    private void startSweeper(int intervalSeconds) {
+        if (intervalSeconds <= 0) {
+            return;
+        }
+
+        final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, SWEEPER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        sweeper.scheduleWithFixedDelay(this::clearInvalidSessions, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
     private void addNewSession(HttpSoletRequest request) {
         request.setSession(new HttpSessionImpl());
     }
@@ -0,0 +1,45 @@
+package com.cyecize.broccolina.utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Keeps idle {@link Deflater} instances for reuse.
+ * Creating a deflater allocates its native zlib state, which would otherwise happen for every compressed response.
+ * At most maxIdle deflaters are kept, deflaters returned to a full pool are released.
+ */
+public class DeflaterPool {
+
+    private final int level;
+
+    private final boolean nowrap;
+
+    private final BlockingQueue<Deflater> deflaters;
+
+    /**
+     * @param nowrap - true for raw deflate data (used by gzip), false for the zlib format.
+     */
+    public DeflaterPool(int level, boolean nowrap, int maxIdle) {
+        this.level = level;
+        this.nowrap = nowrap;
+        this.deflaters = new ArrayBlockingQueue<>(maxIdle);
+    }
+
+    public Deflater borrow() {
+        final Deflater deflater = this.deflaters.poll();
+        if (deflater != null) {
+            return deflater;
+        }
+
+        return new Deflater(this.level, this.nowrap);
+    }
+
+    public void release(Deflater deflater) {
+        deflater.reset();
+
+        if (!this.deflaters.offer(deflater)) {
+            deflater.end();
+        }
+    }
+}
@@ -4,7 +4,55 @@ public class ToyoteConstants {
 
     public static final String CONTENT_LENGTH = "Content-Length";
 
+    public static final String TRANSFER_ENCODING_HEADER_NAME = "Transfer-Encoding";
+
+    public static final String TRANSFER_ENCODING_CHUNKED = "chunked";
+
+    public static final String CONTENT_TYPE_FORM_URLENCODED = "application/x-www-form-urlencoded";
+
     public static final String CACHE_CONTROL_HEADER_NAME = "Cache-Control";
 
+    public static final String ETAG_HEADER_NAME = "ETag";
+
+    public static final String LAST_MODIFIED_HEADER_NAME = "Last-Modified";
+
+    public static final String IF_NONE_MATCH_HEADER_NAME = "If-None-Match";
+
+    public static final String IF_MODIFIED_SINCE_HEADER_NAME = "If-Modified-Since";
+
+    public static final String RANGE_HEADER_NAME = "Range";
+
+    public static final String IF_RANGE_HEADER_NAME = "If-Range";
+
+    public static final String ACCEPT_RANGES_HEADER_NAME = "Accept-Ranges";
+
+    public static final String CONTENT_RANGE_HEADER_NAME = "Content-Range";
+
+    public static final String RANGE_UNIT_BYTES = "bytes";
+
+    public static final String ACCEPT_ENCODING_HEADER_NAME = "Accept-Encoding";
+
+    public static final String CONTENT_ENCODING_HEADER_NAME = "Content-Encoding";
+
+    public static final String VARY_HEADER_NAME = "Vary";
+
+    public static final String CONTENT_ENCODING_BROTLI = "br";
+
+    public static final String CONTENT_ENCODING_GZIP = "gzip";
+
     public static final String COOKIE_HEADER_NAME = "Cookie";
+
+    public static final String REFERER_HEADER_NAME = "Referer";
+
+    public static final String USER_AGENT_HEADER_NAME = "User-Agent";
+
+    public static final String CONNECTION_HEADER_NAME = "Connection";
+
+    public static final String CONNECTION_KEEP_ALIVE = "keep-alive";
+
+    public static final String CONNECTION_CLOSE = "close";
+
+    public static final String HTTP_1_0 = "HTTP/1.0";
+
+    public static final String HEAD_METHOD = "HEAD";
 }
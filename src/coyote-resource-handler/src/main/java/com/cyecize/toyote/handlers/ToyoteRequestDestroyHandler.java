@@ -1,11 +1,16 @@
 package com.cyecize.toyote.handlers;
 
 import com.cyecize.http.HttpRequest;
+import com.cyecize.http.HttpRequestBodyInputStream;
+import com.cyecize.http.HttpResponse;
 import com.cyecize.http.MultipartFile;
 import com.cyecize.ioc.annotations.Service;
+import com.cyecize.javache.api.AccessLogEntry;
+import com.cyecize.javache.api.ConnectionInfo;
 import com.cyecize.javache.api.RequestDestroyHandler;
 import com.cyecize.javache.api.RequestHandlerSharedData;
 import com.cyecize.javache.api.SharedDataPropertyNames;
+import com.cyecize.toyote.ToyoteConstants;
 
 import java.io.IOException;
 
@@ -19,16 +24,63 @@ public class ToyoteRequestDestroyHandler implements RequestDestroyHandler {
     @Override
     public void destroy(RequestHandlerSharedData sharedData) {
         final HttpRequest request = sharedData.getObject(SharedDataPropertyNames.HTTP_REQUEST, HttpRequest.class);
-        if (request == null || request.getMultipartFiles() == null) {
+        if (request == null) {
+            return;
+        }
+
+        this.disposeBody(request, sharedData.getObject(SharedDataPropertyNames.CONNECTION_INFO, ConnectionInfo.class));
+        this.fillAccessLogEntry(
+                sharedData.getObject(SharedDataPropertyNames.ACCESS_LOG_ENTRY, AccessLogEntry.class),
+                request,
+                sharedData.getObject(SharedDataPropertyNames.HTTP_RESPONSE, HttpResponse.class)
+        );
+
+        if (request.getMultipartFiles() == null) {
             return;
         }
 
         for (MultipartFile multipartFile : request.getMultipartFiles()) {
             try {
-                multipartFile.getInputStream().close();
+                multipartFile.dispose();
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
         }
     }
+
+    private void fillAccessLogEntry(AccessLogEntry accessLogEntry, HttpRequest request, HttpResponse response) {
+        if (accessLogEntry == null) {
+            return;
+        }
+
+        accessLogEntry.setMethod(request.getMethod());
+        accessLogEntry.setPath(request.getRequestURL());
+        accessLogEntry.setProtocol(request.getProtocol());
+        accessLogEntry.setReferer(request.getHeader(ToyoteConstants.REFERER_HEADER_NAME));
+        accessLogEntry.setUserAgent(request.getHeader(ToyoteConstants.USER_AGENT_HEADER_NAME));
+
+        if (response != null && response.getStatusCode() != null) {
+            accessLogEntry.setStatus(response.getStatusCode().getStatusCode());
+        }
+    }
+
+    /**
+     * The part of the body that the application did not read has to be skipped
+     * before the next request on the same connection can be parsed.
+     * Closing a connection with unread data might also reset it before the client receives the response.
+     * If that fails, the connection is not kept alive.
+     */
+    private void disposeBody(HttpRequest request, ConnectionInfo connectionInfo) {
+        if (!(request.getInputStream() instanceof HttpRequestBodyInputStream)) {
+            return;
+        }
+
+        try {
+            ((HttpRequestBodyInputStream) request.getInputStream()).drain();
+        } catch (IOException e) {
+            if (connectionInfo != null) {
+                connectionInfo.setKeepAlive(false);
+            }
+        }
+    }
 }
@@ -6,9 +6,11 @@ import com.cyecize.http.HttpResponseImpl;
 import com.cyecize.http.HttpStatus;
 import com.cyecize.ioc.annotations.Autowired;
 import com.cyecize.ioc.annotations.Service;
+import com.cyecize.javache.api.ConnectionInfo;
 import com.cyecize.javache.api.RequestHandler;
 import com.cyecize.javache.api.RequestHandlerSharedData;
 import com.cyecize.javache.api.SharedDataPropertyNames;
+import com.cyecize.toyote.ToyoteConstants;
 import com.cyecize.toyote.exceptions.RequestTooBigException;
 import com.cyecize.toyote.services.ErrorHandlingService;
 import com.cyecize.toyote.services.HttpRequestParser;
@@ -45,14 +47,18 @@ public class ToyoteRequestHandler implements RequestHandler {
         try {
             final HttpRequest request = this.httpRequestParser.parseHttpRequest(inputStream);
             final HttpResponse response = new HttpResponseImpl();
+            response.setOutputStream(outputStream, !ToyoteConstants.HTTP_1_0.equalsIgnoreCase(request.getProtocol()));
+            response.setHeadResponse(ToyoteConstants.HEAD_METHOD.equalsIgnoreCase(request.getMethod()));
+
+            this.initConnection(request, response, sharedData.getObject(SharedDataPropertyNames.CONNECTION_INFO, ConnectionInfo.class));
 
             sharedData.addObject(SharedDataPropertyNames.HTTP_REQUEST, request);
             sharedData.addObject(SharedDataPropertyNames.HTTP_RESPONSE, response);
         } catch (RequestTooBigException ex) {
             this.disposeInputStream(ex.getContentLength(), inputStream);
-            return this.errorHandlingService.handleRequestTooBig(outputStream, ex, new HttpResponseImpl());
+            return this.errorHandlingService.handleRequestTooBig(outputStream, ex, this.createClosingResponse());
         } catch (Exception e) {
-            return this.errorHandlingService.handleException(outputStream, e, new HttpResponseImpl(), HttpStatus.BAD_REQUEST);
+            return this.errorHandlingService.handleException(outputStream, e, this.createClosingResponse(), HttpStatus.BAD_REQUEST);
         }
 
         return false;
@@ -63,6 +69,64 @@ public class ToyoteRequestHandler implements RequestHandler {
         return Integer.MIN_VALUE;
     }
 
+    /**
+     * Marks the connection as persistent if the client asks for it and javache allows it.
+     * HTTP/1.1 connections are persistent unless the client sends "Connection: close",
+     * HTTP/1.0 connections are only persistent if the client sends "Connection: keep-alive".
+     * Requests with both Transfer-Encoding and Content-Length are never persistent,
+     * since a proxy in front of javache could have used the other header to find the end of the body.
+     * The decision is announced to the client with the Connection header.
+     */
+    private void initConnection(HttpRequest request, HttpResponse response, ConnectionInfo connectionInfo) {
+        if (connectionInfo == null) {
+            return;
+        }
+
+        final String connectionHeader = request.getHeader(ToyoteConstants.CONNECTION_HEADER_NAME);
+
+        final boolean keepAlive;
+        if (ToyoteConstants.HTTP_1_0.equalsIgnoreCase(request.getProtocol())) {
+            keepAlive = this.containsToken(connectionHeader, ToyoteConstants.CONNECTION_KEEP_ALIVE);
+        } else {
+            keepAlive = !this.containsToken(connectionHeader, ToyoteConstants.CONNECTION_CLOSE);
+        }
+
+        final boolean ambiguousBodyLength = request.getHeader(ToyoteConstants.TRANSFER_ENCODING_HEADER_NAME) != null
+                && request.getHeader(ToyoteConstants.CONTENT_LENGTH) != null;
+
+        connectionInfo.setKeepAlive(keepAlive && !ambiguousBodyLength);
+
+        response.addHeader(
+                ToyoteConstants.CONNECTION_HEADER_NAME,
+                connectionInfo.isKeepAlive() ? ToyoteConstants.CONNECTION_KEEP_ALIVE : ToyoteConstants.CONNECTION_CLOSE
+        );
+    }
+
+    private boolean containsToken(String headerValue, String token) {
+        if (headerValue == null) {
+            return false;
+        }
+
+        for (String headerToken : headerValue.split(",")) {
+            if (headerToken.trim().equalsIgnoreCase(token)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Creates response for requests that could not be parsed.
+     * The connection is never kept alive in that case since the rest of the request is unknown.
+     */
+    private HttpResponse createClosingResponse() {
+        final HttpResponse response = new HttpResponseImpl();
+        response.addHeader(ToyoteConstants.CONNECTION_HEADER_NAME, ToyoteConstants.CONNECTION_CLOSE);
+
+        return response;
+    }
+
     /**
      * The purpose of this method is to read the input stream before closing it
      * otherwise the TCP connection will not be closed properly.
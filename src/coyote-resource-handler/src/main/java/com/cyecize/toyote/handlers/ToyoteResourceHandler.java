@@ -1,24 +1,38 @@
 package com.cyecize.toyote.handlers;
 
+import com.cyecize.http.AcceptEncodingParser;
 import com.cyecize.http.HttpRequest;
 import com.cyecize.http.HttpResponse;
 import com.cyecize.ioc.annotations.Autowired;
 import com.cyecize.ioc.annotations.Service;
 import com.cyecize.javache.JavacheConfigValue;
+import com.cyecize.javache.api.ConnectionInfo;
 import com.cyecize.javache.api.RequestHandler;
 import com.cyecize.javache.api.RequestHandlerSharedData;
-
 import com.cyecize.javache.api.SharedDataPropertyNames;
+import com.cyecize.javache.api.SocketChannelOutputStream;
 import com.cyecize.javache.services.JavacheConfigService;
-import com.cyecize.toyote.exceptions.ResourceNotFoundException;
+import com.cyecize.toyote.ToyoteConstants;
+import com.cyecize.toyote.lambda.ResourceSliceWriter;
+import com.cyecize.toyote.models.ByteRange;
+import com.cyecize.toyote.models.CachedResource;
+import com.cyecize.toyote.models.EncodedResource;
+import com.cyecize.toyote.models.PartialContent;
+import com.cyecize.toyote.services.ConditionalRequestService;
+import com.cyecize.toyote.services.ResourceCacheService;
 import com.cyecize.toyote.services.ResourceLocationService;
 import com.cyecize.toyote.services.ResponsePopulationService;
+import com.cyecize.toyote.utils.ByteRangeParser;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
 
 /**
  * Request handler responsible for serving static resources such as images, html files, css, js and so on.
@@ -30,16 +44,36 @@ public class ToyoteResourceHandler implements RequestHandler {
 
     private final ResponsePopulationService responsePopulationService;
 
+    private final ResourceCacheService resourceCacheService;
+
+    private final ConditionalRequestService conditionalRequestService;
+
     private final JavacheConfigService configService;
 
+    private final boolean zeroCopyEnabled;
+
+    private final int bufferSize;
+
+    /**
+     * Reused between the requests handled by the same thread since direct buffers are expensive to allocate.
+     */
+    private final ThreadLocal<ByteBuffer> directBuffer;
+
     @Autowired
     public ToyoteResourceHandler(
             ResourceLocationService resourceLocationService,
             ResponsePopulationService responsePopulationService,
+            ResourceCacheService resourceCacheService,
+            ConditionalRequestService conditionalRequestService,
             JavacheConfigService configService) {
         this.resourceLocationService = resourceLocationService;
         this.responsePopulationService = responsePopulationService;
+        this.resourceCacheService = resourceCacheService;
+        this.conditionalRequestService = conditionalRequestService;
         this.configService = configService;
+        this.zeroCopyEnabled = configService.getConfigParam(JavacheConfigValue.ENABLE_RESOURCE_ZERO_COPY, boolean.class);
+        this.bufferSize = configService.getConfigParam(JavacheConfigValue.RESOURCE_TRANSFER_BUFFER_SIZE, int.class);
+        this.directBuffer = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(this.bufferSize));
     }
 
     @Override
@@ -53,21 +87,79 @@ public class ToyoteResourceHandler implements RequestHandler {
         final HttpRequest request = sharedData.getObject(SharedDataPropertyNames.HTTP_REQUEST, HttpRequest.class);
         final HttpResponse response = sharedData.getObject(SharedDataPropertyNames.HTTP_RESPONSE, HttpResponse.class);
 
-        try {
-            final File resource = this.resourceLocationService.locateResource(request.getRequestURL());
+        final List<String> acceptedEncodings = AcceptEncodingParser.parseAcceptedCodings(
+                request.getHeader(ToyoteConstants.ACCEPT_ENCODING_HEADER_NAME),
+                this.resourceLocationService.getSupportedEncodings()
+        );
 
-            try (final FileInputStream fileInputStream = new FileInputStream(resource)) {
-                this.responsePopulationService.handleResourceFoundResponse(request, response, resource, fileInputStream.available());
+        final String cacheKey = this.createCacheKey(request.getRequestURL(), acceptedEncodings);
 
-                outputStream.write(response.getBytes());
-                this.transferStream(fileInputStream, outputStream);
-            }
+        final CachedResource cachedResource = this.resourceCacheService.getResource(cacheKey);
+        if (cachedResource != null) {
+            this.responsePopulationService.addContentEncodingHeaders(response, cachedResource.getResource());
+            this.sendCachedResource(request, response, cachedResource, outputStream);
+            return true;
+        }
+
+        final File resource = this.resourceLocationService.findResource(request.getRequestURL());
+        if (resource == null) {
+            return false;
+        }
+
+        final EncodedResource encodedResource = this.resourceLocationService.selectEncodedResource(
+                resource, acceptedEncodings
+        );
+
+        final File file = encodedResource.getFile();
+        final long fileSize = file.length();
+        final long lastModified = file.lastModified();
+        final String eTag = this.conditionalRequestService.createETag(fileSize, lastModified);
+        final String lastModifiedDate = this.conditionalRequestService.formatHttpDate(lastModified);
+
+        this.responsePopulationService.addContentEncodingHeaders(response, encodedResource);
+
+        if (this.conditionalRequestService.isNotModified(request, eTag, lastModified)) {
+            this.responsePopulationService.handleNotModifiedResponse(
+                    request,
+                    response,
+                    this.responsePopulationService.detectMediaType(resource.getName()),
+                    eTag,
+                    lastModifiedDate
+            );
+
+            outputStream.write(response.getBytes());
+            return true;
+        }
+
+        if (this.resourceCacheService.isCacheable(fileSize)) {
+            this.sendCachedResource(request, response, this.resourceCacheService.cacheResource(
+                    cacheKey,
+                    encodedResource,
+                    this.responsePopulationService.detectMediaType(resource)
+            ), outputStream);
 
             return true;
-        } catch (ResourceNotFoundException ignored) {
         }
 
-        return false;
+        final ConnectionInfo connectionInfo = sharedData.getObject(
+                SharedDataPropertyNames.CONNECTION_INFO, ConnectionInfo.class
+        );
+
+        try (final FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            this.sendResource(
+                    request,
+                    response,
+                    outputStream,
+                    this.responsePopulationService.detectMediaType(resource),
+                    fileChannel.size(),
+                    eTag,
+                    lastModified,
+                    lastModifiedDate,
+                    (position, count) -> this.transferFile(fileChannel, outputStream, connectionInfo, position, count)
+            );
+        }
+
+        return true;
     }
 
     /**
@@ -80,12 +172,214 @@ public class ToyoteResourceHandler implements RequestHandler {
         return this.configService.getConfigParam(JavacheConfigValue.TOYOTE_RESOURCE_HANDLER_ORDER, int.class);
     }
 
-    private void transferStream(InputStream inputStream, OutputStream outputStream) throws IOException {
-        final byte[] buffer = new byte[2048];
-        int read;
+    /**
+     * The same URL can be cached once per set of accepted content codings, since each set can select a different file.
+     */
+    private String createCacheKey(String requestURL, List<String> acceptedEncodings) {
+        if (acceptedEncodings.isEmpty()) {
+            return requestURL;
+        }
 
-        while ((read = inputStream.read(buffer)) != -1) {
+        return requestURL + '\n' + String.join(",", acceptedEncodings);
+    }
+
+    /**
+     * Cached resources skip locating the file and detecting its media type.
+     */
+    private void sendCachedResource(HttpRequest request, HttpResponse response, CachedResource resource,
+                                    OutputStream outputStream) throws IOException {
+        if (this.conditionalRequestService.isNotModified(request, resource.getETag(), resource.getLastModified())) {
+            this.responsePopulationService.handleNotModifiedResponse(
+                    request, response, resource.getMediaType(), resource.getETag(), resource.getLastModifiedDate()
+            );
+
+            outputStream.write(response.getBytes());
+            return;
+        }
+
+        this.sendResource(
+                request,
+                response,
+                outputStream,
+                resource.getMediaType(),
+                resource.getLength(),
+                resource.getETag(),
+                resource.getLastModified(),
+                resource.getLastModifiedDate(),
+                (position, count) -> resource.writeTo(outputStream, position, count)
+        );
+    }
+
+    /**
+     * Sends the whole resource or, if the request has a valid Range header, only the requested ranges.
+     * The body is written by the given slice writer, so that ranges are sent straight from the file or the cache
+     * without reading the skipped bytes. Responses to HEAD requests get the same headers and no body.
+     */
+    private void sendResource(HttpRequest request, HttpResponse response, OutputStream outputStream, String mediaType,
+                              long fileSize, String eTag, long lastModified, String lastModifiedDate,
+                              ResourceSliceWriter sliceWriter) throws IOException {
+        final List<ByteRange> ranges = this.getRequestedRanges(request, eTag, lastModified, fileSize);
+
+        if (ranges == null) {
+            this.responsePopulationService.handleResourceFoundResponse(
+                    request, response, mediaType, fileSize, eTag, lastModifiedDate
+            );
+
+            outputStream.write(response.getBytes());
+            if (!response.isHeadResponse()) {
+                sliceWriter.write(0, fileSize);
+            }
+
+            return;
+        }
+
+        if (ranges.isEmpty()) {
+            this.responsePopulationService.handleRangeNotSatisfiableResponse(request, response, fileSize);
+            outputStream.write(response.getBytes());
+            return;
+        }
+
+        final PartialContent partialContent = new PartialContent(ranges, fileSize, mediaType);
+        this.responsePopulationService.handlePartialContentResponse(
+                request, response, mediaType, partialContent, eTag, lastModifiedDate
+        );
+
+        outputStream.write(response.getBytes());
+        if (!response.isHeadResponse()) {
+            partialContent.writeTo(outputStream, sliceWriter);
+        }
+    }
+
+    /**
+     * Ranges are only served for GET requests and only if the If-Range condition, when present, holds.
+     *
+     * @return the requested ranges, an empty list if none is satisfiable or null if the whole resource must be sent.
+     */
+    private List<ByteRange> getRequestedRanges(HttpRequest request, String eTag, long lastModified, long fileSize) {
+        final String rangeHeader = request.getHeader(ToyoteConstants.RANGE_HEADER_NAME);
+
+        if (rangeHeader == null
+                || !"GET".equals(request.getMethod())
+                || !this.conditionalRequestService.isRangeApplicable(request, eTag, lastModified)) {
+            return null;
+        }
+
+        return ByteRangeParser.parseRanges(rangeHeader, fileSize);
+    }
+
+    /**
+     * Sends a slice of the file directly from the file system to the socket if the connection is backed by a channel,
+     * otherwise copies it through a buffer.
+     * If the file was truncated after its Content-Length was sent, the connection is closed after the response,
+     * since that is the only way left for the client to tell that the body is incomplete.
+     */
+    private void transferFile(FileChannel fileChannel, OutputStream outputStream, ConnectionInfo connectionInfo,
+                              long position, long count) throws IOException {
+        final long transferred;
+        if (outputStream instanceof SocketChannelOutputStream) {
+            transferred = this.transferToSocket(fileChannel, (SocketChannelOutputStream) outputStream, position, count);
+        } else {
+            transferred = this.copyToStream(fileChannel, outputStream, position, count);
+        }
+
+        if (transferred < count) {
+            connectionInfo.setKeepAlive(false);
+        }
+    }
+
+    /**
+     * @return the number of bytes sent.
+     */
+    private long transferToSocket(FileChannel fileChannel, SocketChannelOutputStream channelOutputStream,
+                                  long position, long count) throws IOException {
+        channelOutputStream.flush();
+
+        final SocketChannel socketChannel = channelOutputStream.getChannel();
+        final long startTime = System.nanoTime();
+
+        final long transferred;
+        if (this.zeroCopyEnabled) {
+            transferred = this.transferToChannel(fileChannel, socketChannel, position, count);
+        } else {
+            transferred = this.copyToChannel(fileChannel, socketChannel, position, count);
+        }
+
+        channelOutputStream.recordDirectWrite(transferred, System.nanoTime() - startTime);
+        return transferred;
+    }
+
+    /**
+     * transferTo can send less than requested, hence the loop.
+     *
+     * @return the number of bytes sent.
+     */
+    private long transferToChannel(FileChannel fileChannel, SocketChannel socketChannel, long position, long count)
+            throws IOException {
+        final long start = position;
+        final long end = position + count;
+
+        while (position < end) {
+            final long transferred = fileChannel.transferTo(position, end - position, socketChannel);
+            if (transferred <= 0) {
+                break;
+            }
+
+            position += transferred;
+        }
+
+        return position - start;
+    }
+
+    /**
+     * @return the number of bytes sent.
+     */
+    private long copyToChannel(FileChannel fileChannel, SocketChannel socketChannel, long position, long count)
+            throws IOException {
+        final ByteBuffer buffer = this.directBuffer.get();
+        final long start = position;
+        final long end = position + count;
+
+        while (position < end) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+
+            final int read = fileChannel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+
+            position += read;
+
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                socketChannel.write(buffer);
+            }
+        }
+
+        return position - start;
+    }
+
+    /**
+     * @return the number of bytes sent.
+     */
+    private long copyToStream(FileChannel fileChannel, OutputStream outputStream, long position, long count)
+            throws IOException {
+        final byte[] buffer = new byte[(int) Math.min(this.bufferSize, count)];
+        final ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+        final long start = position;
+        final long end = position + count;
+
+        while (position < end) {
+            byteBuffer.clear().limit((int) Math.min(buffer.length, end - position));
+
+            final int read = fileChannel.read(byteBuffer, position);
+            if (read < 0) {
+                break;
+            }
+
+            position += read;
             outputStream.write(buffer, 0, read);
         }
+
+        return position - start;
     }
 }
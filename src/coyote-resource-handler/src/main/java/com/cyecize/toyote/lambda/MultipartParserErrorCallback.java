@@ -1,9 +0,0 @@
-package com.cyecize.toyote.lambda;
-
-import com.cyecize.toyote.exceptions.CannotParseRequestException;
-
-@FunctionalInterface
-public interface MultipartParserErrorCallback {
-
-    void onError(Throwable throwable) throws CannotParseRequestException;
-}
@@ -0,0 +1,9 @@
+package com.cyecize.toyote.lambda;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface ResourceSliceWriter {
+
+    void write(long position, long count) throws IOException;
+}
@@ -0,0 +1,35 @@
+package com.cyecize.toyote.models;
+
+/**
+ * Satisfiable byte range of a resource, both positions are inclusive.
+ */
+public class ByteRange {
+
+    private final long start;
+
+    private final long end;
+
+    public ByteRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public long getStart() {
+        return this.start;
+    }
+
+    public long getEnd() {
+        return this.end;
+    }
+
+    public long getLength() {
+        return this.end - this.start + 1;
+    }
+
+    /**
+     * @return value of the Content-Range header for this range, e.g. "bytes 0-499/1234".
+     */
+    public String toContentRange(long resourceLength) {
+        return "bytes " + this.start + "-" + this.end + "/" + resourceLength;
+    }
+}
@@ -0,0 +1,142 @@
+package com.cyecize.toyote.models;
+
+import com.cyecize.javache.api.SocketChannelOutputStream;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Static resource kept in memory by the resource cache.
+ * The content is either a heap array or a direct buffer when the cache is configured to be off-heap.
+ */
+public class CachedResource {
+
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    private final EncodedResource resource;
+
+    private final String mediaType;
+
+    private final long lastModified;
+
+    private final String eTag;
+
+    private final String lastModifiedDate;
+
+    private final byte[] content;
+
+    private final ByteBuffer directContent;
+
+    private volatile long lastValidatedMillis;
+
+    public CachedResource(EncodedResource resource, String mediaType, long lastModified, String eTag,
+                          String lastModifiedDate, byte[] content, boolean offHeap) {
+        this.resource = resource;
+        this.mediaType = mediaType;
+        this.lastModified = lastModified;
+        this.eTag = eTag;
+        this.lastModifiedDate = lastModifiedDate;
+        this.lastValidatedMillis = System.currentTimeMillis();
+
+        if (offHeap) {
+            this.content = null;
+            this.directContent = ByteBuffer.allocateDirect(content.length).put(content).flip();
+        } else {
+            this.content = content;
+            this.directContent = null;
+        }
+    }
+
+    /**
+     * Compares the file's modification time and size with the cached ones,
+     * but not more often than once per the given interval.
+     *
+     * @return false if the file has been modified or deleted.
+     */
+    public boolean isUpToDate(long revalidateIntervalMillis) {
+        final long now = System.currentTimeMillis();
+        if (now - this.lastValidatedMillis < revalidateIntervalMillis) {
+            return true;
+        }
+
+        final File file = this.resource.getFile();
+        if (file.lastModified() != this.lastModified || file.length() != this.getLength()) {
+            return false;
+        }
+
+        this.lastValidatedMillis = now;
+        return true;
+    }
+
+    /**
+     * Writes the content, directly to the channel if the content is off-heap and the connection has a channel.
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        this.writeTo(outputStream, 0, this.getLength());
+    }
+
+    /**
+     * Writes a slice of the content, used for range requests.
+     */
+    public void writeTo(OutputStream outputStream, long position, long count) throws IOException {
+        if (this.content != null) {
+            outputStream.write(this.content, (int) position, (int) count);
+            return;
+        }
+
+        final ByteBuffer buffer = this.directContent.duplicate();
+        buffer.position((int) position).limit((int) (position + count));
+
+        if (outputStream instanceof SocketChannelOutputStream) {
+            outputStream.flush();
+
+            final SocketChannelOutputStream channelOutputStream = (SocketChannelOutputStream) outputStream;
+            final SocketChannel channel = channelOutputStream.getChannel();
+            final long startTime = System.nanoTime();
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            channelOutputStream.recordDirectWrite(count, System.nanoTime() - startTime);
+            return;
+        }
+
+        final byte[] copyBuffer = new byte[Math.min(COPY_BUFFER_SIZE, buffer.remaining())];
+        while (buffer.hasRemaining()) {
+            final int length = Math.min(copyBuffer.length, buffer.remaining());
+            buffer.get(copyBuffer, 0, length);
+            outputStream.write(copyBuffer, 0, length);
+        }
+    }
+
+    public EncodedResource getResource() {
+        return this.resource;
+    }
+
+    public String getMediaType() {
+        return this.mediaType;
+    }
+
+    public long getLastModified() {
+        return this.lastModified;
+    }
+
+    public String getETag() {
+        return this.eTag;
+    }
+
+    /**
+     * @return the modification time in the HTTP date format, as sent in the Last-Modified header.
+     */
+    public String getLastModifiedDate() {
+        return this.lastModifiedDate;
+    }
+
+    public long getLength() {
+        return this.content != null ? this.content.length : this.directContent.capacity();
+    }
+}
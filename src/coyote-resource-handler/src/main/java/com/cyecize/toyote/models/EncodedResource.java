@@ -0,0 +1,40 @@
+package com.cyecize.toyote.models;
+
+import java.io.File;
+
+/**
+ * File selected to be sent for a requested resource,
+ * either the resource itself or its pre-compressed copy with the matching content coding.
+ */
+public class EncodedResource {
+
+    private final File file;
+
+    private final String contentEncoding;
+
+    private final boolean hasEncodedVariants;
+
+    public EncodedResource(File file, String contentEncoding, boolean hasEncodedVariants) {
+        this.file = file;
+        this.contentEncoding = contentEncoding;
+        this.hasEncodedVariants = hasEncodedVariants;
+    }
+
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * @return the content coding of the file or null if the file is not compressed.
+     */
+    public String getContentEncoding() {
+        return this.contentEncoding;
+    }
+
+    /**
+     * @return true if the resource has pre-compressed copies, in which case the response depends on Accept-Encoding.
+     */
+    public boolean hasEncodedVariants() {
+        return this.hasEncodedVariants;
+    }
+}
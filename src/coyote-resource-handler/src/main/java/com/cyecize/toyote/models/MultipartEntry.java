@@ -1,6 +1,7 @@
 package com.cyecize.toyote.models;
 
-import java.io.InputStream;
+import com.cyecize.toyote.utils.PartBodyStorage;
+
 import java.util.Map;
 
 public class MultipartEntry {
@@ -8,12 +9,12 @@ public class MultipartEntry {
 
     private final String contentType;
 
-    private final InputStream inputStream;
+    private final PartBodyStorage bodyStorage;
 
-    public MultipartEntry(Map<String, String> contentDispositionData, String contentType, InputStream inputStream) {
+    public MultipartEntry(Map<String, String> contentDispositionData, String contentType, PartBodyStorage bodyStorage) {
         this.contentDispositionData = contentDispositionData;
         this.contentType = contentType;
-        this.inputStream = inputStream;
+        this.bodyStorage = bodyStorage;
     }
 
     public Map<String, String> getContentDispositionData() {
@@ -24,7 +25,7 @@ public class MultipartEntry {
         return this.contentType;
     }
 
-    public InputStream getInputStream() {
-        return this.inputStream;
+    public PartBodyStorage getBodyStorage() {
+        return this.bodyStorage;
     }
 }
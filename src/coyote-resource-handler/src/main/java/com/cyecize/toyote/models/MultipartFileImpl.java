@@ -1,34 +1,35 @@
 package com.cyecize.toyote.models;
 
 import com.cyecize.http.MultipartFile;
+import com.cyecize.toyote.utils.PartBodyStorage;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 
 public class MultipartFileImpl implements MultipartFile {
 
-    private final int fileLength;
-
     private final String contentType;
 
     private final String fileName;
 
     private final String fieldName;
 
-    private final InputStream inputStream;
+    private final PartBodyStorage bodyStorage;
+
+    private InputStream inputStream;
 
-    public MultipartFileImpl(int fileLength, String contentType, String fileName,
-                             String fieldName, InputStream inputStream) {
-        this.fileLength = fileLength;
+    public MultipartFileImpl(String contentType, String fileName, String fieldName, PartBodyStorage bodyStorage) {
         this.contentType = contentType;
         this.fileName = fileName;
         this.fieldName = fieldName;
-        this.inputStream = inputStream;
+        this.bodyStorage = bodyStorage;
     }
 
     @Override
     public long getFileLength() {
-        return this.fileLength;
+        return this.bodyStorage.getSize();
     }
 
     @Override
@@ -46,17 +47,47 @@ public class MultipartFileImpl implements MultipartFile {
         return this.fieldName;
     }
 
+    /**
+     * The stream is opened on the first call and the same stream is returned afterwards.
+     */
     @Override
     public InputStream getInputStream() {
+        if (this.inputStream == null) {
+            try {
+                this.inputStream = this.bodyStorage.getInputStream();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
         return this.inputStream;
     }
 
     @Override
     public byte[] getBytes() {
         try {
-            return this.inputStream.readAllBytes();
+            return this.getInputStream().readAllBytes();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
+
+    @Override
+    public void transferTo(File destination) throws IOException {
+        if (this.inputStream != null) {
+            this.inputStream.close();
+            this.inputStream = null;
+        }
+
+        this.bodyStorage.moveTo(destination.toPath());
+    }
+
+    @Override
+    public void dispose() throws IOException {
+        if (this.inputStream != null) {
+            this.inputStream.close();
+        }
+
+        this.bodyStorage.dispose();
+    }
 }
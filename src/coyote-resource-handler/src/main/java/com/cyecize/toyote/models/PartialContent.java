@@ -0,0 +1,112 @@
+package com.cyecize.toyote.models;
+
+import com.cyecize.toyote.lambda.ResourceSliceWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Body of a 206 response.
+ * A single range is sent as is, multiple ranges are sent as "multipart/byteranges"
+ * with every part having its own Content-Type and Content-Range headers.
+ * The part headers are rendered up front so that the Content-Length of the whole body is known.
+ */
+public class PartialContent {
+
+    private static final String MULTIPART_BYTERANGES = "multipart/byteranges; boundary=";
+
+    private final List<ByteRange> ranges;
+
+    private final long resourceLength;
+
+    private final String mediaType;
+
+    private final String boundary;
+
+    private final List<byte[]> partHeaders;
+
+    private final byte[] closeDelimiter;
+
+    private final long contentLength;
+
+    public PartialContent(List<ByteRange> ranges, long resourceLength, String mediaType) {
+        this.ranges = ranges;
+        this.resourceLength = resourceLength;
+        this.mediaType = mediaType;
+        this.partHeaders = new ArrayList<>();
+
+        if (ranges.size() == 1) {
+            this.boundary = null;
+            this.closeDelimiter = new byte[0];
+            this.contentLength = ranges.get(0).getLength();
+            return;
+        }
+
+        this.boundary = UUID.randomUUID().toString().replace("-", "");
+        this.closeDelimiter = ("\r\n--" + this.boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+
+        long contentLength = this.closeDelimiter.length;
+        for (ByteRange range : ranges) {
+            final byte[] partHeader = ("\r\n--" + this.boundary + "\r\n"
+                    + "Content-Type: " + mediaType + "\r\n"
+                    + "Content-Range: " + range.toContentRange(resourceLength) + "\r\n"
+                    + "\r\n").getBytes(StandardCharsets.US_ASCII);
+
+            this.partHeaders.add(partHeader);
+            contentLength += partHeader.length + range.getLength();
+        }
+
+        this.contentLength = contentLength;
+    }
+
+    /**
+     * Writes the body, the slices of the resource are written by the given writer.
+     */
+    public void writeTo(OutputStream outputStream, ResourceSliceWriter sliceWriter) throws IOException {
+        if (!this.isMultipart()) {
+            final ByteRange range = this.ranges.get(0);
+            sliceWriter.write(range.getStart(), range.getLength());
+            return;
+        }
+
+        for (int i = 0; i < this.ranges.size(); i++) {
+            final ByteRange range = this.ranges.get(i);
+
+            outputStream.write(this.partHeaders.get(i));
+            sliceWriter.write(range.getStart(), range.getLength());
+        }
+
+        outputStream.write(this.closeDelimiter);
+    }
+
+    public boolean isMultipart() {
+        return this.boundary != null;
+    }
+
+    public String getContentType() {
+        if (this.isMultipart()) {
+            return MULTIPART_BYTERANGES + this.boundary;
+        }
+
+        return this.mediaType;
+    }
+
+    /**
+     * @return value of the Content-Range header or null if the content is multipart.
+     */
+    public String getContentRange() {
+        if (this.isMultipart()) {
+            return null;
+        }
+
+        return this.ranges.get(0).toContentRange(this.resourceLength);
+    }
+
+    public long getContentLength() {
+        return this.contentLength;
+    }
+}
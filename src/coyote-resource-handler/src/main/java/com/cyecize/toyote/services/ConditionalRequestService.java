@@ -0,0 +1,30 @@
+package com.cyecize.toyote.services;
+
+import com.cyecize.http.HttpRequest;
+
+/**
+ * Creates the validators of static resources and evaluates the conditional headers of a request against them.
+ */
+public interface ConditionalRequestService {
+
+    /**
+     * @return entity tag derived from the size and the modification time of a file.
+     */
+    String createETag(long fileSize, long lastModified);
+
+    /**
+     * @return the given time in the HTTP date format, e.g. "Sun, 06 Nov 1994 08:49:37 GMT".
+     */
+    String formatHttpDate(long millis);
+
+    /**
+     * @return true if the client already has the current version of the resource and a 304 can be sent.
+     */
+    boolean isNotModified(HttpRequest request, String eTag, long lastModified);
+
+    /**
+     * @return false if the request has an If-Range header that does not match the current version of the resource,
+     * in which case the whole resource must be sent instead of the requested ranges.
+     */
+    boolean isRangeApplicable(HttpRequest request, String eTag, long lastModified);
+}
@@ -0,0 +1,118 @@
+package com.cyecize.toyote.services;
+
+import com.cyecize.http.HttpRequest;
+import com.cyecize.ioc.annotations.Service;
+import com.cyecize.toyote.ToyoteConstants;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+@Service
+public class ConditionalRequestServiceImpl implements ConditionalRequestService {
+
+    private static final DateTimeFormatter HTTP_DATE_FORMATTER = DateTimeFormatter
+            .ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US)
+            .withZone(ZoneOffset.UTC);
+
+    private static final String WEAK_ETAG_PREFIX = "W/";
+
+    private static final String ANY_ETAG = "*";
+
+    /**
+     * The tag is strong, the same size and modification time are assumed to mean the same content,
+     * which is what most web servers do in order to avoid hashing the file.
+     */
+    @Override
+    public String createETag(long fileSize, long lastModified) {
+        return "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(fileSize) + "\"";
+    }
+
+    @Override
+    public String formatHttpDate(long millis) {
+        return HTTP_DATE_FORMATTER.format(Instant.ofEpochMilli(millis));
+    }
+
+    /**
+     * Only GET and HEAD requests can be answered with 304.
+     * If-Modified-Since is ignored when If-None-Match is present, since the entity tag is more precise.
+     */
+    @Override
+    public boolean isNotModified(HttpRequest request, String eTag, long lastModified) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return false;
+        }
+
+        final String ifNoneMatch = request.getHeader(ToyoteConstants.IF_NONE_MATCH_HEADER_NAME);
+        if (ifNoneMatch != null) {
+            return this.matchesETag(ifNoneMatch, eTag);
+        }
+
+        final String ifModifiedSince = request.getHeader(ToyoteConstants.IF_MODIFIED_SINCE_HEADER_NAME);
+        if (ifModifiedSince == null) {
+            return false;
+        }
+
+        final long since = this.parseHttpDate(ifModifiedSince);
+
+        // HTTP dates have a precision of one second.
+        return since >= 0 && lastModified / 1000 <= since / 1000;
+    }
+
+    /**
+     * If-Range can hold either an entity tag, which is compared using strong comparison,
+     * or a date, which must be exactly the modification time of the resource.
+     */
+    @Override
+    public boolean isRangeApplicable(HttpRequest request, String eTag, long lastModified) {
+        final String ifRange = request.getHeader(ToyoteConstants.IF_RANGE_HEADER_NAME);
+        if (ifRange == null) {
+            return true;
+        }
+
+        if (ifRange.startsWith("\"") || ifRange.startsWith(WEAK_ETAG_PREFIX)) {
+            return !eTag.startsWith(WEAK_ETAG_PREFIX) && ifRange.equals(eTag);
+        }
+
+        final long date = this.parseHttpDate(ifRange);
+        return date >= 0 && lastModified / 1000 == date / 1000;
+    }
+
+    /**
+     * Uses weak comparison as required for If-None-Match.
+     */
+    private boolean matchesETag(String ifNoneMatch, String eTag) {
+        final String opaqueTag = this.removeWeakPrefix(eTag);
+
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals(ANY_ETAG) || this.removeWeakPrefix(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private String removeWeakPrefix(String eTag) {
+        if (eTag.startsWith(WEAK_ETAG_PREFIX)) {
+            return eTag.substring(WEAK_ETAG_PREFIX.length());
+        }
+
+        return eTag;
+    }
+
+    /**
+     * @return time in milliseconds or -1 if the date is not valid.
+     */
+    private long parseHttpDate(String date) {
+        try {
+            return ZonedDateTime.parse(date, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException ex) {
+            return -1;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.cyecize.ioc.annotations.Service;
 import com.cyecize.javache.JavacheConfigValue;
 import com.cyecize.javache.services.JavacheConfigService;
 import com.cyecize.javache.services.LoggingService;
+import com.cyecize.toyote.ToyoteConstants;
 import com.cyecize.toyote.exceptions.CannotParseRequestException;
 
 import java.io.IOException;
@@ -27,13 +28,24 @@ public class FormDataParserDefaultImpl implements FormDataParser {
         this.showRequestLog = configService.getConfigParam(JavacheConfigValue.SHOW_REQUEST_LOG, boolean.class);
     }
 
+    /**
+     * Body parameters are only parsed for url encoded forms and not until they are first requested,
+     * any other body is left in the stream for the application to read.
+     */
     @Override
     public void parseBodyParams(InputStream inputStream, HttpRequest request) throws CannotParseRequestException {
-        try {
-            this.setBodyParameters(this.readBody(inputStream, request), request);
-        } catch (IOException e) {
-            throw new CannotParseRequestException(e.getMessage(), e);
+        final String contentType = request.getContentType();
+        if (contentType == null || !contentType.startsWith(ToyoteConstants.CONTENT_TYPE_FORM_URLENCODED)) {
+            return;
         }
+
+        request.setBodyParametersLoader(() -> {
+            try {
+                this.setBodyParameters(this.readBody(inputStream), request);
+            } catch (IOException e) {
+                throw new CannotParseRequestException(e.getMessage(), e);
+            }
+        });
     }
 
     private void setBodyParameters(String requestBody, HttpRequest request) {
@@ -52,10 +64,11 @@ public class FormDataParserDefaultImpl implements FormDataParser {
         }
     }
 
-    private String readBody(InputStream inputStream, HttpRequest request) throws IOException {
-        final int contentLength = request.getContentLength();
-
-        final byte[] bytes = inputStream.readNBytes(contentLength);
+    /**
+     * The stream ends with the body, whether it is sent with Content-Length or chunked.
+     */
+    private String readBody(InputStream inputStream) throws IOException {
+        final byte[] bytes = inputStream.readAllBytes();
 
         final String body = new String(bytes, StandardCharsets.UTF_8);
         if (this.showRequestLog) {
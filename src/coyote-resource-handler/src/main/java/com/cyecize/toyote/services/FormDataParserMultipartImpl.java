@@ -4,34 +4,57 @@ import com.cyecize.http.HttpRequest;
 import com.cyecize.ioc.annotations.Autowired;
 import com.cyecize.ioc.annotations.Service;
 import com.cyecize.javache.JavacheConfigValue;
+import com.cyecize.javache.common.PathUtils;
 import com.cyecize.javache.services.JavacheConfigService;
 import com.cyecize.javache.services.LoggingService;
 import com.cyecize.toyote.MultipartConstants;
 import com.cyecize.toyote.exceptions.CannotParseRequestException;
 import com.cyecize.toyote.models.MultipartEntry;
 import com.cyecize.toyote.models.MultipartFileImpl;
-import com.cyecize.toyote.utils.MultipartParserListener;
-import org.synchronoss.cloud.nio.multipart.Multipart;
-import org.synchronoss.cloud.nio.multipart.MultipartContext;
-import org.synchronoss.cloud.nio.multipart.NioMultipartParser;
+import com.cyecize.toyote.utils.MultipartStreamParser;
+import com.cyecize.toyote.utils.PartBodyStorage;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Map;
 
 @Service
 public class FormDataParserMultipartImpl implements FormDataParser {
 
+    private static final String BOUNDARY_PARAM_NAME = "boundary";
+
+    private static final String MISSING_BOUNDARY_MSG = "Multipart request does not specify a boundary.";
+
+    private static final String FIELD_TOO_BIG_MSG_FORMAT = "Multipart field '%s' exceeds %d bytes.";
+
     private final LoggingService loggingService;
 
     private final boolean showRequestLog;
 
+    private final int bufferSize;
+
+    private final int maxHeadersSize;
+
+    private final int maxMemoryPerPart;
+
+    private final Path tempDirectory;
+
     @Autowired
     public FormDataParserMultipartImpl(LoggingService loggingService,
         JavacheConfigService configService) {
         this.loggingService = loggingService;
         this.showRequestLog = configService.getConfigParam(JavacheConfigValue.SHOW_REQUEST_LOG, boolean.class);
+        this.bufferSize = configService.getConfigParam(JavacheConfigValue.MULTIPART_BUFFER_SIZE, int.class);
+        this.maxHeadersSize = configService.getConfigParam(JavacheConfigValue.MAX_REQUEST_HEADER_SIZE, int.class);
+        this.maxMemoryPerPart = configService.getConfigParam(JavacheConfigValue.MULTIPART_MAX_MEMORY_PER_PART, int.class);
+        this.tempDirectory = Paths.get(PathUtils.appendPath(
+                configService.getConfigParamString(JavacheConfigValue.JAVACHE_WORKING_DIRECTORY),
+                configService.getConfigParamString(JavacheConfigValue.MULTIPART_TEMP_DIR_NAME)
+        ));
     }
 
     @Override
@@ -43,59 +66,109 @@ public class FormDataParserMultipartImpl implements FormDataParser {
         }
     }
 
+    /**
+     * The stream ends with the body, whether it is sent with Content-Length or chunked.
+     * Parts bigger than the in-memory threshold are written to the temp directory while they are being read.
+     */
     private void parseMultipartBody(InputStream inputStream, HttpRequest request) throws IOException {
-        final int contentLength = request.getContentLength();
+        final String boundary = this.getBoundary(request.getContentType());
+        if (boundary == null) {
+            throw new CannotParseRequestException(MISSING_BOUNDARY_MSG);
+        }
 
-        final MultipartContext context = new MultipartContext(
-                request.getContentType(),
-                contentLength,
-                StandardCharsets.UTF_8.name()
-        );
+        if (this.showRequestLog) {
+            inputStream = new LoggingInputStream(inputStream);
+        }
 
-        final NioMultipartParser parser = Multipart.multipart(context).forNIO(
-                new MultipartParserListener(this::errorCallback, multipartEntry -> this.successCallback(multipartEntry, request))
+        final MultipartStreamParser parser = new MultipartStreamParser(
+                inputStream,
+                boundary,
+                this.bufferSize,
+                this.maxHeadersSize,
+                this.maxMemoryPerPart,
+                this.tempDirectory
         );
 
-        byte[] buffer = new byte[0];
-        int leftToRead = contentLength;
-        int bytesRead = Math.min(2048, inputStream.available());
+        parser.parse(multipartEntry -> this.onFieldParsed(multipartEntry, request));
+    }
+
+    /**
+     * Fields are read into memory as strings, so unlike files they cannot be bigger than the in-memory threshold.
+     */
+    private void onFieldParsed(MultipartEntry multipartEntry, HttpRequest request) {
+        final Map<String, String> contentDispositionData = multipartEntry.getContentDispositionData();
+        final PartBodyStorage bodyStorage = multipartEntry.getBodyStorage();
 
-        while (leftToRead > 0) {
-            buffer = inputStream.readNBytes(bytesRead);
-            parser.write(buffer);
-            leftToRead -= bytesRead;
-            bytesRead = Math.min(2048, inputStream.available());
+        if (multipartEntry.getContentType() == null) {
+            final String fieldName = contentDispositionData.get(MultipartConstants.NIO_FIELD_PARAM_NAME);
+
+            try (final InputStream fieldInputStream = bodyStorage.getInputStream()) {
+                if (bodyStorage.getSize() > this.maxMemoryPerPart) {
+                    throw new CannotParseRequestException(
+                            String.format(FIELD_TOO_BIG_MSG_FORMAT, fieldName, this.maxMemoryPerPart)
+                    );
+                }
+
+                final String fieldVal = new String(fieldInputStream.readAllBytes(), StandardCharsets.UTF_8);
+                request.addBodyParameter(fieldName, fieldVal);
+            } catch (IOException ex) {
+                throw new CannotParseRequestException(ex.getMessage(), ex);
+            } finally {
+                this.dispose(bodyStorage);
+            }
+        } else {
+            request.addMultipartFile(new MultipartFileImpl(
+                    multipartEntry.getContentType(),
+                    contentDispositionData.get(MultipartConstants.NIO_FILE_PARAM_NAME),
+                    contentDispositionData.get(MultipartConstants.NIO_FIELD_PARAM_NAME),
+                    bodyStorage
+            ));
         }
+    }
 
-        if (this.showRequestLog) {
-            this.loggingService.info(new String(buffer, StandardCharsets.UTF_8));
+    private void dispose(PartBodyStorage bodyStorage) {
+        try {
+            bodyStorage.dispose();
+        } catch (IOException ex) {
+            throw new CannotParseRequestException(ex.getMessage(), ex);
         }
     }
 
-    private void errorCallback(Throwable cause) {
-        throw new RuntimeException(cause);
+    private String getBoundary(String contentType) {
+        for (String param : contentType.split(";")) {
+            final String[] kvp = param.trim().split("=", 2);
+            if (kvp.length < 2 || !kvp[0].trim().equalsIgnoreCase(BOUNDARY_PARAM_NAME)) {
+                continue;
+            }
+
+            final String boundary = kvp[1].trim();
+            if (boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+                return boundary.substring(1, boundary.length() - 1);
+            }
+
+            return boundary;
+        }
+
+        return null;
     }
 
-    private void successCallback(MultipartEntry multipartEntry, HttpRequest request) {
-        try {
-            final Map<String, String> contentDispositionData = multipartEntry.getContentDispositionData();
+    /**
+     * Logs the raw body as it is being read.
+     */
+    private class LoggingInputStream extends FilterInputStream {
 
-            if (multipartEntry.getContentType() == null) {
-                final String fieldVal = new String(multipartEntry.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-                final String fieldName = contentDispositionData.get(MultipartConstants.NIO_FIELD_PARAM_NAME);
+        private LoggingInputStream(InputStream inputStream) {
+            super(inputStream);
+        }
 
-                request.addBodyParameter(fieldName, fieldVal);
-            } else {
-                request.addMultipartFile(new MultipartFileImpl(
-                        multipartEntry.getInputStream().available(),
-                        multipartEntry.getContentType(),
-                        contentDispositionData.get(MultipartConstants.NIO_FILE_PARAM_NAME),
-                        contentDispositionData.get(MultipartConstants.NIO_FIELD_PARAM_NAME),
-                        multipartEntry.getInputStream()
-                ));
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            final int bytesRead = super.in.read(bytes, offset, length);
+            if (bytesRead > 0) {
+                loggingService.info(new String(bytes, offset, bytesRead, StandardCharsets.UTF_8));
             }
-        } catch (IOException ex) {
-            throw new CannotParseRequestException(ex.getMessage(), ex);
+
+            return bytesRead;
         }
     }
 }
@@ -1,7 +1,9 @@
 package com.cyecize.toyote.services;
 
+import com.cyecize.http.ChunkedInputStream;
 import com.cyecize.http.HttpCookieImpl;
 import com.cyecize.http.HttpRequest;
+import com.cyecize.http.HttpRequestBodyInputStream;
 import com.cyecize.http.HttpRequestImpl;
 import com.cyecize.ioc.annotations.Autowired;
 import com.cyecize.ioc.annotations.Service;
@@ -16,8 +18,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 
 @Service
@@ -25,6 +25,24 @@ public class HttpRequestParserImpl implements HttpRequestParser {
 
     private static final String REQUEST_TOO_BIG_MSG = "Request too big.";
 
+    private static final String REQUEST_EMPTY_MSG = "Request is empty";
+
+    private static final String HEAD_TOO_BIG_MSG_FORMAT = "Request line and headers exceed %d bytes.";
+
+    private static final String INVALID_REQUEST_LINE_MSG = "Invalid request line.";
+
+    private static final String INVALID_HEADER_MSG_FORMAT = "Invalid header '%s'.";
+
+    private static final String ILLEGAL_RETURN_MSG = "Illegal character after return.";
+
+    private static final String UNSUPPORTED_TRANSFER_ENCODING_MSG_FORMAT = "Unsupported transfer encoding '%s'.";
+
+    private static final String ILLEGAL_NEW_LINE_MSG = "Illegal new-line character without preceding return.";
+
+    private static final String CONFLICTING_CONTENT_LENGTH_MSG = "Conflicting Content-Length values.";
+
+    private static final String INVALID_CONTENT_LENGTH_MSG_FORMAT = "Invalid Content-Length '%s'.";
+
     private final FormDataParser defaultFormDataParser;
 
     private final FormDataParser multipartFormDataParser;
@@ -35,6 +53,11 @@ public class HttpRequestParserImpl implements HttpRequestParser {
 
     private final int maxRequestSize;
 
+    /**
+     * Reused between the requests handled by the same thread.
+     */
+    private final ThreadLocal<byte[]> headBuffer;
+
     @Autowired
     public HttpRequestParserImpl(FormDataParserDefaultImpl defaultFormDataParser,
                                  FormDataParserMultipartImpl multipartFormDataParser,
@@ -44,6 +67,9 @@ public class HttpRequestParserImpl implements HttpRequestParser {
         this.loggingService = loggingService;
         this.showRequestLog = configService.getConfigParam(JavacheConfigValue.SHOW_REQUEST_LOG, boolean.class);
         this.maxRequestSize = configService.getConfigParam(JavacheConfigValue.MAX_REQUEST_SIZE, int.class);
+
+        final int maxRequestHeaderSize = configService.getConfigParam(JavacheConfigValue.MAX_REQUEST_HEADER_SIZE, int.class);
+        this.headBuffer = ThreadLocal.withInitial(() -> new byte[maxRequestHeaderSize]);
     }
 
     /**
@@ -54,164 +80,380 @@ public class HttpRequestParserImpl implements HttpRequestParser {
      */
     @Override
     public HttpRequest parseHttpRequest(InputStream inputStream) throws CannotParseRequestException {
-        try {
-            final HttpRequest request = new HttpRequestImpl();
+        final HttpRequest request = new HttpRequestImpl();
 
-            final List<String> headers = parseMetadataLines(inputStream, false);
+        final byte[] buffer = this.headBuffer.get();
+        final int headLength = this.readHead(inputStream, buffer);
 
-            this.setMethodAndURL(headers.get(0), request);
-            this.addQueryParameters(headers.get(0), request);
-            this.addHeaders(headers, request);
-            this.initCookies(request);
-            this.setContentLength(inputStream, request);
-            if (request.getContentLength() > this.maxRequestSize) {
-                throw new RequestTooBigException(REQUEST_TOO_BIG_MSG, request.getContentLength());
-            }
+        if (this.showRequestLog) {
+            this.loggingService.info(new String(buffer, 0, headLength, StandardCharsets.ISO_8859_1).trim());
+        }
+
+        final int requestLineEnd = this.findLineEnd(buffer, 0, headLength);
+        this.parseRequestLine(buffer, requestLineEnd, request);
+        this.parseHeaders(buffer, requestLineEnd + 2, headLength, request);
+        this.initCookies(request);
+        this.setContentLength(request);
+        if (request.getContentLength() > this.maxRequestSize) {
+            throw new RequestTooBigException(REQUEST_TOO_BIG_MSG, request.getContentLength());
+        }
+
+        final InputStream bodyInputStream = this.createBodyInputStream(inputStream, request);
+        request.setInputStream(bodyInputStream);
+
+        final String contentType = request.getContentType();
+        if (contentType != null && contentType.startsWith("multipart/form-data")) {
+            this.multipartFormDataParser.parseBodyParams(bodyInputStream, request);
+        } else {
+            this.defaultFormDataParser.parseBodyParams(bodyInputStream, request);
+        }
 
-            final String contentType = request.getContentType();
-            if (contentType != null && contentType.startsWith("multipart/form-data")) {
-                this.multipartFormDataParser.parseBodyParams(inputStream, request);
+        this.trimRequestPath(request);
+        return request;
+    }
+
+    /**
+     * Copies the request line and the headers into the given buffer, leaving the body in the stream.
+     * <p>
+     * If the stream supports mark, it is read in chunks and then reset and skipped to the end of the head,
+     * otherwise it is read byte by byte.
+     * The streams given by javache are buffered per connection, so neither approach results in a system call per byte.
+     *
+     * @return the number of bytes of the head, including the empty line at the end if present.
+     */
+    private int readHead(InputStream inputStream, byte[] buffer) throws CannotParseRequestException {
+        try {
+            final int headLength;
+            if (inputStream.markSupported()) {
+                inputStream.mark(buffer.length);
+                headLength = this.readHeadInChunks(inputStream, buffer);
+                inputStream.reset();
+                inputStream.readNBytes(buffer, 0, headLength);
             } else {
-                this.defaultFormDataParser.parseBodyParams(inputStream, request);
+                headLength = this.readHeadByteByByte(inputStream, buffer);
+            }
+
+            if (headLength < 2) {
+                throw new CannotParseRequestException(REQUEST_EMPTY_MSG);
             }
 
-            this.trimRequestPath(request);
-            return request;
+            return headLength;
         } catch (IOException ex) {
             throw new CannotParseRequestException(ex.getMessage(), ex);
         }
     }
 
-    private List<String> parseMetadataLines(InputStream inputStream, boolean allowNewLineWithoutReturn)
-            throws CannotParseRequestException {
-        try {
-            final List<String> metadataLines = new ArrayList<>();
-
-            StringBuilder metadataBuilder = new StringBuilder();
-            boolean wasNewLine = true;
-            int lineNumber = 1;
-            int readBytesCount = 0;
-            int b;
-
-            while ((b = inputStream.read()) >= 0) {
-                readBytesCount++;
-                if (b == '\r') {
-                    // expect new-line
-                    int next = inputStream.read();
-                    if (next < 0 || next == '\n') {
-                        lineNumber++;
-                        if (wasNewLine) break;
-                        metadataLines.add(metadataBuilder.toString());
-                        if (next < 0) break;
-                        metadataBuilder = new StringBuilder();
-                        wasNewLine = true;
-                    } else {
-                        inputStream.close();
-                        throw new CannotParseRequestException(
-                                String.format("Illegal character after return on line %d.", lineNumber)
-                        );
-                    }
-                } else if (b == '\n') {
-                    if (!allowNewLineWithoutReturn) {
-                        throw new CannotParseRequestException(
-                                String.format("Illegal new-line character without preceding return on line %d.", lineNumber)
-                        );
-                    }
-
-                    // unexpected, but let's accept new-line without returns
-                    lineNumber++;
-                    if (wasNewLine) break;
-                    metadataLines.add(metadataBuilder.toString());
-                    metadataBuilder = new StringBuilder();
-                    wasNewLine = true;
-                } else {
-                    metadataBuilder.append((char) b);
-                    wasNewLine = false;
-                }
-            }
+    private int readHeadInChunks(InputStream inputStream, byte[] buffer) throws IOException {
+        int length = 0;
 
-            if (metadataBuilder.length() > 0) {
-                metadataLines.add(metadataBuilder.toString());
+        while (length < buffer.length) {
+            final int read = inputStream.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                return length;
             }
 
-            if (readBytesCount < 2) {
-                throw new CannotParseRequestException("Request is empty");
+            final int headEnd = this.findHeadEnd(buffer, Math.max(0, length - 3), length + read);
+            length += read;
+
+            if (headEnd > 0) {
+                return headEnd;
             }
+        }
+
+        throw new CannotParseRequestException(String.format(HEAD_TOO_BIG_MSG_FORMAT, buffer.length));
+    }
 
-            if (this.showRequestLog) {
-                this.loggingService.info(String.join("\n", metadataLines));
+    private int readHeadByteByByte(InputStream inputStream, byte[] buffer) throws IOException {
+        int length = 0;
+        int b;
+
+        while (length < buffer.length) {
+            if ((b = inputStream.read()) < 0) {
+                return length;
             }
 
-            return metadataLines;
-        } catch (IOException ex) {
-            throw new CannotParseRequestException(ex.getMessage(), ex);
+            buffer[length++] = (byte) b;
+
+            if (b == '\n') {
+                if (length < 2 || buffer[length - 2] != '\r') {
+                    throw new CannotParseRequestException(ILLEGAL_NEW_LINE_MSG);
+                }
+
+                if (length >= 4 && buffer[length - 3] == '\n' && buffer[length - 4] == '\r') {
+                    return length;
+                }
+            }
         }
+
+        throw new CannotParseRequestException(String.format(HEAD_TOO_BIG_MSG_FORMAT, buffer.length));
     }
 
-    private void setMethodAndURL(String requestFirstLine, HttpRequest request) {
-        request.setMethod(requestFirstLine.split("\\s")[0]);
-        request.setRequestURL(requestFirstLine.split("[\\s\\?]")[1]);
+    /**
+     * Fails as soon as a new-line without preceding return is found instead of waiting for the rest of the head.
+     *
+     * @return the index after the first CRLFCRLF sequence that starts in the given range or -1.
+     */
+    private int findHeadEnd(byte[] buffer, int from, int to) throws CannotParseRequestException {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == '\n' && (i == 0 || buffer[i - 1] != '\r')) {
+                throw new CannotParseRequestException(ILLEGAL_NEW_LINE_MSG);
+            }
+
+            if (i + 3 < to && buffer[i] == '\r' && buffer[i + 1] == '\n' && buffer[i + 2] == '\r' && buffer[i + 3] == '\n') {
+                return i + 4;
+            }
+        }
+
+        return -1;
     }
 
-    private void addHeaders(List<String> requestMetadata, HttpRequest request) {
-        for (int i = 1; i < requestMetadata.size(); i++) {
-            final String[] headerKeyValuePair = requestMetadata.get(i).split(":\\s+");
-            request.addHeader(headerKeyValuePair[0], headerKeyValuePair[1]);
+    /**
+     * Finds the end of the line that starts at the given index.
+     * A return must always be followed by a new-line and a new-line must always be preceded by a return.
+     *
+     * @return the index of the return or the end of the head if it is not terminated with an empty line.
+     */
+    private int findLineEnd(byte[] buffer, int from, int to) throws CannotParseRequestException {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == '\n') {
+                throw new CannotParseRequestException(ILLEGAL_NEW_LINE_MSG);
+            }
+
+            if (buffer[i] == '\r') {
+                if (i + 1 < to && buffer[i + 1] != '\n') {
+                    throw new CannotParseRequestException(ILLEGAL_RETURN_MSG);
+                }
+
+                return i;
+            }
         }
+
+        return to;
     }
 
-    private void addQueryParameters(String requestFirstLine, HttpRequest request) {
-        final String fullRequestURL = requestFirstLine.split("\\s")[1];
-        final String[] urlQueryParamPair = fullRequestURL.split("\\?");
+    /**
+     * Splits the request line into method, target and protocol and the target into path and query string.
+     */
+    private void parseRequestLine(byte[] buffer, int lineEnd, HttpRequest request) throws CannotParseRequestException {
+        final int methodEnd = this.indexOf(buffer, ' ', 0, lineEnd);
+        if (methodEnd <= 0) {
+            throw new CannotParseRequestException(INVALID_REQUEST_LINE_MSG);
+        }
+
+        final int targetStart = methodEnd + 1;
+        final int targetEnd = this.indexOf(buffer, ' ', targetStart, lineEnd);
+        final int targetLength = (targetEnd < 0 ? lineEnd : targetEnd) - targetStart;
+        if (targetLength <= 0) {
+            throw new CannotParseRequestException(INVALID_REQUEST_LINE_MSG);
+        }
 
-        if (urlQueryParamPair.length < 2) {
-            return;
+        request.setMethod(new String(buffer, 0, methodEnd, StandardCharsets.ISO_8859_1));
+
+        final String target = new String(buffer, targetStart, targetLength, StandardCharsets.ISO_8859_1);
+        final int queryStart = target.indexOf('?');
+        if (queryStart < 0) {
+            request.setRequestURL(target);
+        } else {
+            request.setRequestURL(target.substring(0, queryStart));
+            this.addQueryParameters(target, queryStart + 1, request);
         }
 
-        final String[] queryParamPairs = urlQueryParamPair[1].split("&");
+        if (targetEnd < 0) {
+            request.setProtocol(ToyoteConstants.HTTP_1_0);
+        } else {
+            request.setProtocol(new String(buffer, targetEnd + 1, lineEnd - targetEnd - 1, StandardCharsets.ISO_8859_1).trim());
+        }
+    }
+
+    /**
+     * Adds one header per line, the value is stripped of the optional white space around it.
+     * Header names are case-insensitive, a repeated Content-Length must have the same value
+     * since the end of the body could not be found otherwise.
+     */
+    private void parseHeaders(byte[] buffer, int from, int to, HttpRequest request) throws CannotParseRequestException {
+        int lineStart = from;
+
+        while (lineStart < to) {
+            final int lineEnd = this.findLineEnd(buffer, lineStart, to);
+            if (lineEnd == lineStart) {
+                break;
+            }
+
+            final int colonIndex = this.indexOf(buffer, ':', lineStart, lineEnd);
+            if (colonIndex <= lineStart) {
+                throw new CannotParseRequestException(String.format(INVALID_HEADER_MSG_FORMAT,
+                        new String(buffer, lineStart, lineEnd - lineStart, StandardCharsets.ISO_8859_1)));
+            }
+
+            int valueStart = colonIndex + 1;
+            while (valueStart < lineEnd && isWhitespace(buffer[valueStart])) {
+                valueStart++;
+            }
+
+            int valueEnd = lineEnd;
+            while (valueEnd > valueStart && isWhitespace(buffer[valueEnd - 1])) {
+                valueEnd--;
+            }
+
+            final String headerName = new String(buffer, lineStart, colonIndex - lineStart, StandardCharsets.ISO_8859_1);
+            final String headerValue = new String(buffer, valueStart, valueEnd - valueStart, StandardCharsets.ISO_8859_1);
 
+            if (ToyoteConstants.CONTENT_LENGTH.equalsIgnoreCase(headerName)) {
+                final String contentLength = request.getHeader(ToyoteConstants.CONTENT_LENGTH);
+                if (contentLength != null && !contentLength.equals(headerValue)) {
+                    throw new CannotParseRequestException(CONFLICTING_CONTENT_LENGTH_MSG);
+                }
+            }
+
+            request.addHeader(headerName, headerValue);
+
+            lineStart = lineEnd + 2;
+        }
+    }
+
+    private void addQueryParameters(String target, int queryStart, HttpRequest request) {
         final Map<String, String> queryParameters = request.getQueryParameters();
 
-        for (String paramPair : queryParamPairs) {
-            final String[] queryParamPair = paramPair.split("=");
+        int pairStart = queryStart;
+        while (pairStart <= target.length()) {
+            int pairEnd = target.indexOf('&', pairStart);
+            if (pairEnd < 0) {
+                pairEnd = target.length();
+            }
+
+            if (pairEnd > pairStart) {
+                final int equalsIndex = target.indexOf('=', pairStart);
 
-            final String keyName = decode(queryParamPair[0]);
-            final String value = queryParamPair.length > 1 ? decode(queryParamPair[1]) : null;
+                if (equalsIndex < 0 || equalsIndex > pairEnd) {
+                    queryParameters.put(decode(target.substring(pairStart, pairEnd)), null);
+                } else {
+                    queryParameters.put(
+                            decode(target.substring(pairStart, equalsIndex)),
+                            decode(target.substring(equalsIndex + 1, pairEnd))
+                    );
+                }
+            }
 
-            queryParameters.put(keyName, value);
+            pairStart = pairEnd + 1;
         }
     }
 
     private void initCookies(HttpRequest request) {
-        if (request.getHeader(ToyoteConstants.COOKIE_HEADER_NAME) == null) {
+        final String cookieHeader = request.getHeader(ToyoteConstants.COOKIE_HEADER_NAME);
+        if (cookieHeader == null) {
             return;
         }
 
-        final String[] allCookies = request.getHeader(ToyoteConstants.COOKIE_HEADER_NAME).split(";\\s");
+        int cookieStart = 0;
+        while (cookieStart < cookieHeader.length()) {
+            int cookieEnd = cookieHeader.indexOf(';', cookieStart);
+            if (cookieEnd < 0) {
+                cookieEnd = cookieHeader.length();
+            }
+
+            final String cookieStr = cookieHeader.substring(cookieStart, cookieEnd).trim();
+            if (!cookieStr.isEmpty()) {
+                final int equalsIndex = cookieStr.indexOf('=');
 
-        for (String cookieStr : allCookies) {
-            final String[] cookieKeyValuePair = cookieStr.split("=");
+                final String keyName = decode(equalsIndex < 0 ? cookieStr : cookieStr.substring(0, equalsIndex));
+                final String value = equalsIndex < 0 ? null : decode(cookieStr.substring(equalsIndex + 1));
 
-            final String keyName = decode(cookieKeyValuePair[0]);
-            final String value = cookieKeyValuePair.length > 1 ? decode(cookieKeyValuePair[1]) : null;
+                request.getCookies().put(keyName, new HttpCookieImpl(keyName, value));
+            }
 
-            request.getCookies().put(keyName, new HttpCookieImpl(keyName, value));
+            cookieStart = cookieEnd + 1;
         }
     }
 
-    private void setContentLength(InputStream inputStream, HttpRequest request) throws IOException {
-        if (request.getHeader(ToyoteConstants.CONTENT_LENGTH) != null) {
-            request.setContentLength(Integer.parseInt(request.getHeader(ToyoteConstants.CONTENT_LENGTH)));
+    /**
+     * Bodies with "Transfer-Encoding: chunked" are decoded, other transfer codings are not supported
+     * since the end of the body could not be found.
+     */
+    private InputStream createBodyInputStream(InputStream inputStream, HttpRequest request)
+            throws CannotParseRequestException {
+        final String transferEncoding = request.getHeader(ToyoteConstants.TRANSFER_ENCODING_HEADER_NAME);
+        if (transferEncoding == null) {
+            return new HttpRequestBodyInputStream(inputStream, request.getContentLength());
+        }
+
+        final String[] transferCodings = transferEncoding.split(",");
+        if (!transferCodings[transferCodings.length - 1].trim().equalsIgnoreCase(ToyoteConstants.TRANSFER_ENCODING_CHUNKED)) {
+            throw new CannotParseRequestException(String.format(UNSUPPORTED_TRANSFER_ENCODING_MSG_FORMAT, transferEncoding));
+        }
+
+        return new HttpRequestBodyInputStream(new ChunkedInputStream(inputStream, this.maxRequestSize));
+    }
+
+    /**
+     * A request without Content-Length has no body.
+     * The length of a request with Transfer-Encoding is not known in advance and takes precedence over Content-Length.
+     * Guessing the length from the stream is not an option since on a persistent connection
+     * the available bytes could belong to the next request.
+     * A Content-Length that is a list of values is accepted only if all values are the same.
+     */
+    private void setContentLength(HttpRequest request) throws CannotParseRequestException {
+        final String contentLengthHeader = request.getHeader(ToyoteConstants.CONTENT_LENGTH);
+
+        if (request.getHeader(ToyoteConstants.TRANSFER_ENCODING_HEADER_NAME) != null) {
+            request.setContentLength(-1);
+        } else if (contentLengthHeader != null) {
+            int contentLength = -1;
+
+            for (String value : contentLengthHeader.split(",")) {
+                final int parsedValue;
+                try {
+                    parsedValue = Integer.parseInt(value.trim());
+                } catch (NumberFormatException ex) {
+                    throw new CannotParseRequestException(String.format(INVALID_CONTENT_LENGTH_MSG_FORMAT, contentLengthHeader));
+                }
+
+                if (parsedValue < 0) {
+                    throw new CannotParseRequestException(String.format(INVALID_CONTENT_LENGTH_MSG_FORMAT, contentLengthHeader));
+                }
+
+                if (contentLength >= 0 && contentLength != parsedValue) {
+                    throw new CannotParseRequestException(CONFLICTING_CONTENT_LENGTH_MSG);
+                }
+
+                contentLength = parsedValue;
+            }
+
+            request.setContentLength(contentLength);
         } else {
-            request.setContentLength(inputStream.available());
+            request.setContentLength(0);
         }
     }
 
+    private int indexOf(byte[] buffer, char character, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == character) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    /**
+     * Only runs the URL decoder if there is something to decode.
+     */
     private static String decode(String str) {
+        if (str.indexOf('%') < 0 && str.indexOf('+') < 0) {
+            return str;
+        }
+
         return URLDecoder.decode(str, StandardCharsets.UTF_8);
     }
 
     private void trimRequestPath(HttpRequest request) {
+        if (!request.getRequestURL().contains("..")) {
+            return;
+        }
+
         request.setRequestURL(
                 request.getRequestURL().replaceAll("\\.{2,}\\/?", "")
         );
@@ -0,0 +1,20 @@
+package com.cyecize.toyote.services;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Resolves the media type of static resources, keeping {@link Tika} out of the path of most requests.
+ */
+public interface MediaTypeService {
+
+    /**
+     * @return the media type of the file, detected by its extension or, for unknown extensions, by its content.
+     */
+    String getMediaType(File file) throws IOException;
+
+    /**
+     * @return the media type for the given file name, without reading the file.
+     */
+    String getMediaType(String fileName);
+}
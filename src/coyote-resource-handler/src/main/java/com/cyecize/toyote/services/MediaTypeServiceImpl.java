@@ -0,0 +1,108 @@
+package com.cyecize.toyote.services;
+
+import com.cyecize.ioc.annotations.Autowired;
+import com.cyecize.ioc.annotations.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class MediaTypeServiceImpl implements MediaTypeService {
+
+    /**
+     * Media types of the most common web resources, the same ones that {@link Tika} would detect for them.
+     */
+    private static final Map<String, String> MEDIA_TYPES_BY_EXTENSION = Map.ofEntries(
+            Map.entry("html", "text/html"),
+            Map.entry("htm", "text/html"),
+            Map.entry("css", "text/css"),
+            Map.entry("js", "application/javascript"),
+            Map.entry("json", "application/json"),
+            Map.entry("xml", "application/xml"),
+            Map.entry("txt", "text/plain"),
+            Map.entry("csv", "text/csv"),
+            Map.entry("svg", "image/svg+xml"),
+            Map.entry("png", "image/png"),
+            Map.entry("jpg", "image/jpeg"),
+            Map.entry("jpeg", "image/jpeg"),
+            Map.entry("gif", "image/gif"),
+            Map.entry("webp", "image/webp"),
+            Map.entry("pdf", "application/pdf"),
+            Map.entry("zip", "application/zip"),
+            Map.entry("mp3", "audio/mpeg"),
+            Map.entry("mp4", "video/mp4"),
+            Map.entry("webm", "video/webm")
+    );
+
+    private final Tika tika;
+
+    /**
+     * Media types detected by {@link Tika}, by file path.
+     */
+    private final Map<String, DetectedMediaType> detectedMediaTypes;
+
+    @Autowired
+    public MediaTypeServiceImpl(Tika tika) {
+        this.tika = tika;
+        this.detectedMediaTypes = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Files with a known extension are resolved without touching the file system.
+     * Other files are detected by {@link Tika} once and the result is reused until the file is modified.
+     */
+    @Override
+    public String getMediaType(File file) throws IOException {
+        final String mediaType = this.getMediaTypeByExtension(file.getName());
+        if (mediaType != null) {
+            return mediaType;
+        }
+
+        final String path = file.getPath();
+        final long lastModified = file.lastModified();
+
+        final DetectedMediaType detectedMediaType = this.detectedMediaTypes.get(path);
+        if (detectedMediaType != null && detectedMediaType.lastModified == lastModified) {
+            return detectedMediaType.mediaType;
+        }
+
+        final String detected = this.tika.detect(file);
+        this.detectedMediaTypes.put(path, new DetectedMediaType(detected, lastModified));
+
+        return detected;
+    }
+
+    @Override
+    public String getMediaType(String fileName) {
+        final String mediaType = this.getMediaTypeByExtension(fileName);
+        if (mediaType != null) {
+            return mediaType;
+        }
+
+        return this.tika.detect(fileName);
+    }
+
+    private String getMediaTypeByExtension(String fileName) {
+        final int extensionIndex = fileName.lastIndexOf('.');
+        if (extensionIndex < 0) {
+            return null;
+        }
+
+        return MEDIA_TYPES_BY_EXTENSION.get(fileName.substring(extensionIndex + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private static class DetectedMediaType {
+
+        private final String mediaType;
+
+        private final long lastModified;
+
+        private DetectedMediaType(String mediaType, long lastModified) {
+            this.mediaType = mediaType;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.cyecize.toyote.services;
+
+import com.cyecize.toyote.models.CachedResource;
+import com.cyecize.toyote.models.EncodedResource;
+
+import java.io.IOException;
+
+/**
+ * Keeps the content of small, frequently requested static resources in memory.
+ */
+public interface ResourceCacheService {
+
+    /**
+     * @param cacheKey - URL of the resource and the content codings accepted by the client.
+     * @return the cached resource or null if it is not cached or the file has changed since it was cached.
+     */
+    CachedResource getResource(String cacheKey);
+
+    /**
+     * @return true if a file with the given size can be cached.
+     */
+    boolean isCacheable(long fileSize);
+
+    /**
+     * Reads the file and adds it to the cache, evicting the least recently used resources if needed.
+     */
+    CachedResource cacheResource(String cacheKey, EncodedResource resource, String mediaType) throws IOException;
+}
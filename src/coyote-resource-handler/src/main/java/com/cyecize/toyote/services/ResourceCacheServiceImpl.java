@@ -0,0 +1,133 @@
+package com.cyecize.toyote.services;
+
+import com.cyecize.ioc.annotations.Autowired;
+import com.cyecize.ioc.annotations.Service;
+import com.cyecize.javache.JavacheConfigValue;
+import com.cyecize.javache.services.JavacheConfigService;
+import com.cyecize.toyote.models.CachedResource;
+import com.cyecize.toyote.models.EncodedResource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache bounded by the total size of the cached content.
+ * Entries are revalidated against the file's modification time at most once per second.
+ */
+@Service
+public class ResourceCacheServiceImpl implements ResourceCacheService {
+
+    private static final long REVALIDATE_INTERVAL_MILLISECONDS = 1000;
+
+    private final ConditionalRequestService conditionalRequestService;
+
+    private final long maxCacheSize;
+
+    private final long maxFileSize;
+
+    private final boolean offHeap;
+
+    private final LinkedHashMap<String, CachedResource> resources;
+
+    private long cacheSize;
+
+    @Autowired
+    public ResourceCacheServiceImpl(JavacheConfigService configService,
+                                    ConditionalRequestService conditionalRequestService) {
+        this.conditionalRequestService = conditionalRequestService;
+        this.maxCacheSize = configService.getConfigParam(JavacheConfigValue.RESOURCE_CACHE_MAX_SIZE, int.class);
+        this.maxFileSize = Math.min(
+                this.maxCacheSize,
+                configService.getConfigParam(JavacheConfigValue.RESOURCE_CACHE_MAX_FILE_SIZE, int.class)
+        );
+        this.offHeap = configService.getConfigParam(JavacheConfigValue.RESOURCE_CACHE_OFF_HEAP, boolean.class);
+        this.resources = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    @Override
+    public CachedResource getResource(String cacheKey) {
+        if (this.maxCacheSize <= 0) {
+            return null;
+        }
+
+        final CachedResource resource;
+        synchronized (this.resources) {
+            resource = this.resources.get(cacheKey);
+        }
+
+        if (resource == null) {
+            return null;
+        }
+
+        if (!resource.isUpToDate(REVALIDATE_INTERVAL_MILLISECONDS)) {
+            this.removeResource(cacheKey, resource);
+            return null;
+        }
+
+        return resource;
+    }
+
+    @Override
+    public boolean isCacheable(long fileSize) {
+        return this.maxCacheSize > 0 && fileSize <= this.maxFileSize;
+    }
+
+    /**
+     * The modification time is taken before reading the file so that a change made while reading
+     * results in the entry being invalidated on the next revalidation.
+     * The validators are computed once and reused for every response.
+     */
+    @Override
+    public CachedResource cacheResource(String cacheKey, EncodedResource encodedResource, String mediaType)
+            throws IOException {
+        final File file = encodedResource.getFile();
+        final long lastModified = file.lastModified();
+        final byte[] content = Files.readAllBytes(file.toPath());
+
+        final CachedResource resource = new CachedResource(
+                encodedResource,
+                mediaType,
+                lastModified,
+                this.conditionalRequestService.createETag(content.length, lastModified),
+                this.conditionalRequestService.formatHttpDate(lastModified),
+                content,
+                this.offHeap
+        );
+        if (!this.isCacheable(resource.getLength())) {
+            return resource;
+        }
+
+        synchronized (this.resources) {
+            final CachedResource previous = this.resources.put(cacheKey, resource);
+            if (previous != null) {
+                this.cacheSize -= previous.getLength();
+            }
+
+            this.cacheSize += resource.getLength();
+            this.evictLeastRecentlyUsed();
+        }
+
+        return resource;
+    }
+
+    private void removeResource(String cacheKey, CachedResource resource) {
+        synchronized (this.resources) {
+            if (this.resources.remove(cacheKey, resource)) {
+                this.cacheSize -= resource.getLength();
+            }
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        final Iterator<Map.Entry<String, CachedResource>> iterator = this.resources.entrySet().iterator();
+
+        while (this.cacheSize > this.maxCacheSize && iterator.hasNext()) {
+            this.cacheSize -= iterator.next().getValue().getLength();
+            iterator.remove();
+        }
+    }
+}
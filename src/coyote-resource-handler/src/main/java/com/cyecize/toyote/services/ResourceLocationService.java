@@ -1,9 +1,17 @@
 package com.cyecize.toyote.services;
 
 import com.cyecize.toyote.exceptions.ResourceNotFoundException;
+import com.cyecize.toyote.models.EncodedResource;
 
 import java.io.File;
+import java.util.List;
 
 public interface ResourceLocationService {
     File locateResource(String requestURL) throws ResourceNotFoundException;
+
+    File findResource(String requestURL);
+
+    List<String> getSupportedEncodings();
+
+    EncodedResource selectEncodedResource(File resource, List<String> acceptedEncodings);
 }
@@ -6,39 +6,85 @@ import com.cyecize.ioc.annotations.Service;
 import com.cyecize.javache.JavacheConfigValue;
 import com.cyecize.javache.common.PathUtils;
 import com.cyecize.javache.services.JavacheConfigService;
+import com.cyecize.javache.services.LoggingService;
+import com.cyecize.toyote.ToyoteConstants;
 import com.cyecize.toyote.exceptions.ResourceNotFoundException;
+import com.cyecize.toyote.models.EncodedResource;
+import com.cyecize.toyote.utils.ResourceIndex;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class ResourceLocationServiceImpl implements ResourceLocationService {
 
     private static final String RESOURCE_NOT_FOUND_FORMAT = "Resource \"%s\" not found!";
 
+    private static final String CANNOT_START_INDEX_FORMAT =
+            "Cannot start the resource index (%s), resources will be looked up on the file system.";
+
+    /**
+     * Content codings of pre-compressed resources, by preference.
+     */
+    private static final List<String> SUPPORTED_ENCODINGS = List.of(
+            ToyoteConstants.CONTENT_ENCODING_BROTLI,
+            ToyoteConstants.CONTENT_ENCODING_GZIP
+    );
+
+    private static final Map<String, String> ENCODED_RESOURCE_EXTENSIONS = Map.of(
+            ToyoteConstants.CONTENT_ENCODING_BROTLI, ".br",
+            ToyoteConstants.CONTENT_ENCODING_GZIP, ".gz"
+    );
+
     private final JavacheConfigService configService;
 
     private final AppNameCollectService appNameCollectService;
 
+    private final LoggingService loggingService;
+
     private final List<String> appNames;
 
+    private final boolean precompressedResourcesEnabled;
+
     private String pathToAssetsFormat;
 
     private String pathToWebappsFormat;
 
+    private ResourceIndex resourceIndex;
+
+    private final Map<String, Path> webappsResourceDirs;
+
+    private final Map<String, Path> assetsResourceDirs;
+
     @Autowired
-    public ResourceLocationServiceImpl(AppNameCollectService appNameCollectService, JavacheConfigService configService) {
+    public ResourceLocationServiceImpl(AppNameCollectService appNameCollectService,
+                                       JavacheConfigService configService,
+                                       LoggingService loggingService) {
         this.configService = configService;
         this.appNameCollectService = appNameCollectService;
+        this.loggingService = loggingService;
         this.appNames = new ArrayList<>();
+        this.webappsResourceDirs = new ConcurrentHashMap<>();
+        this.assetsResourceDirs = new ConcurrentHashMap<>();
+        this.precompressedResourcesEnabled = configService.getConfigParam(
+                JavacheConfigValue.ENABLE_PRECOMPRESSED_RESOURCES,
+                boolean.class
+        );
     }
 
     @PostConstruct
     public void init() {
         this.appNames.addAll(this.appNameCollectService.getApplicationNames());
         this.initDirectories();
+        this.initResourceIndex();
     }
 
     /**
@@ -50,19 +96,153 @@ public class ResourceLocationServiceImpl implements ResourceLocationService {
      */
     @Override
     public File locateResource(String requestURL) throws ResourceNotFoundException {
-        final String currentRequestAppName = this.getAppNameForRequest(requestURL);
-        requestURL = requestURL.replaceFirst(Pattern.quote("/" + currentRequestAppName), "");
+        final File file = this.findResource(requestURL);
+        if (file != null) {
+            return file;
+        }
+
+        throw new ResourceNotFoundException(String.format(RESOURCE_NOT_FOUND_FORMAT, requestURL));
+    }
+
+    /**
+     * Looks for a resource in the webapps or in the assets directory.
+     * If the resource index is enabled, URLs that do not point to a file are resolved without any file system calls,
+     * unless the directory of the resource could not be fully indexed.
+     *
+     * @param requestURL - path to resource.
+     * @return file which name matches the request url or null if there is no such file.
+     */
+    @Override
+    public File findResource(String requestURL) {
+        final String appName = this.getAppNameForRequest(requestURL);
+        final String resourcePath = PathUtils.trimAllSlashes(this.removeAppName(requestURL, appName));
+
+        if (this.resourceIndex == null) {
+            return this.findResourceOnFileSystem(resourcePath, appName);
+        }
+
+        if (resourcePath.isEmpty()) {
+            return null;
+        }
+
+        final File file = this.findIndexedResource(this.getWebappsResourceDir(appName), resourcePath);
+        if (file != null) {
+            return file;
+        }
+
+        return this.findIndexedResource(this.getAssetsResourceDir(appName), resourcePath);
+    }
+
+    /**
+     * @return content codings for which pre-compressed resources can be served, by preference.
+     */
+    @Override
+    public List<String> getSupportedEncodings() {
+        if (!this.precompressedResourcesEnabled) {
+            return List.of();
+        }
+
+        return SUPPORTED_ENCODINGS;
+    }
+
+    /**
+     * Looks for pre-compressed copies of the resource next to it, e.g. style.css.br and style.css.gz for style.css.
+     * All copies are checked, so that the response can tell caches that it varies by Accept-Encoding
+     * even when the client does not accept any of them.
+     *
+     * @param resource          - located resource.
+     * @param acceptedEncodings - supported content codings accepted by the client, by preference.
+     * @return the copy with the most preferred accepted coding or the resource itself.
+     */
+    @Override
+    public EncodedResource selectEncodedResource(File resource, List<String> acceptedEncodings) {
+        EncodedResource selectedResource = null;
+        boolean hasEncodedVariants = false;
+
+        for (String encoding : this.getSupportedEncodings()) {
+            final File encodedFile = new File(resource.getPath() + ENCODED_RESOURCE_EXTENSIONS.get(encoding));
+            if (!this.isFile(encodedFile)) {
+                continue;
+            }
 
-        File file = new File(this.createWebappsResourceDir(requestURL, currentRequestAppName));
+            hasEncodedVariants = true;
+            if (selectedResource == null && acceptedEncodings.contains(encoding)) {
+                selectedResource = new EncodedResource(encodedFile, encoding, true);
+            }
+        }
+
+        if (selectedResource != null) {
+            return selectedResource;
+        }
+
+        return new EncodedResource(resource, null, hasEncodedVariants);
+    }
+
+    private boolean isFile(File file) {
+        if (this.resourceIndex == null) {
+            return file.isFile();
+        }
+
+        final Path path = file.toPath();
+        if (this.resourceIndex.contains(path)) {
+            return true;
+        }
+
+        return !this.resourceIndex.isComplete(path) && Files.isRegularFile(path);
+    }
+
+    private File findResourceOnFileSystem(String resourcePath, String appName) {
+        File file = new File(this.createWebappsResourceDir(resourcePath, appName));
         if (!file.exists() || file.isDirectory()) {
-            file = new File(this.createAssetsResourceDir(requestURL, currentRequestAppName));
+            file = new File(this.createAssetsResourceDir(resourcePath, appName));
         }
 
         if (file.exists() && !file.isDirectory()) {
             return file;
         }
 
-        throw new ResourceNotFoundException(String.format(RESOURCE_NOT_FOUND_FORMAT, requestURL));
+        return null;
+    }
+
+    /**
+     * The resolved path must stay inside of the resources directory.
+     */
+    private File findIndexedResource(Path directory, String resourcePath) {
+        try {
+            final Path resource = directory.resolve(resourcePath).normalize();
+            if (resource.startsWith(directory) && this.isFile(resource.toFile())) {
+                return resource.toFile();
+            }
+        } catch (InvalidPathException ignored) {
+        }
+
+        return null;
+    }
+
+    private Path getWebappsResourceDir(String appName) {
+        return this.webappsResourceDirs.computeIfAbsent(
+                appName,
+                name -> this.toIndexPath(this.createWebappsResourceDir("", name))
+        );
+    }
+
+    private Path getAssetsResourceDir(String appName) {
+        return this.assetsResourceDirs.computeIfAbsent(
+                appName,
+                name -> this.toIndexPath(this.createAssetsResourceDir("", name))
+        );
+    }
+
+    private Path toIndexPath(String path) {
+        return Paths.get(path).toAbsolutePath().normalize();
+    }
+
+    private String removeAppName(String requestURL, String appName) {
+        if (requestURL.startsWith("/" + appName)) {
+            return requestURL.substring(appName.length() + 1);
+        }
+
+        return requestURL;
     }
 
     private String getAppNameForRequest(String requestURL) {
@@ -91,6 +271,38 @@ public class ResourceLocationServiceImpl implements ResourceLocationService {
         );
     }
 
+    /**
+     * Indexes the webapps and the assets directories.
+     * If the index cannot be started, resources are looked up on the file system instead.
+     */
+    private void initResourceIndex() {
+        if (!this.configService.getConfigParam(JavacheConfigValue.ENABLE_RESOURCE_INDEX, boolean.class)) {
+            return;
+        }
+
+        final String workingDir = this.configService.getConfigParamString(JavacheConfigValue.JAVACHE_WORKING_DIRECTORY);
+
+        final List<Path> roots = List.of(
+                this.toIndexPath(PathUtils.appendPath(
+                        workingDir,
+                        this.configService.getConfigParamString(JavacheConfigValue.WEB_APPS_DIR_NAME)
+                )),
+                this.toIndexPath(PathUtils.appendPath(
+                        workingDir,
+                        this.configService.getConfigParamString(JavacheConfigValue.ASSETS_DIR_NAME)
+                ))
+        );
+
+        try {
+            final ResourceIndex resourceIndex = new ResourceIndex(roots, this.loggingService);
+            resourceIndex.start();
+
+            this.resourceIndex = resourceIndex;
+        } catch (IOException ex) {
+            this.loggingService.warning(String.format(CANNOT_START_INDEX_FORMAT, ex));
+        }
+    }
+
     private void initDirectories() {
         final String workingDir = this.configService.getConfigParamString(JavacheConfigValue.JAVACHE_WORKING_DIRECTORY);
 
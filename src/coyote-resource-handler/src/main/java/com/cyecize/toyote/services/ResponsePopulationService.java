@@ -2,6 +2,8 @@ package com.cyecize.toyote.services;
 
 import com.cyecize.http.HttpRequest;
 import com.cyecize.http.HttpResponse;
+import com.cyecize.toyote.models.EncodedResource;
+import com.cyecize.toyote.models.PartialContent;
 
 import java.io.File;
 import java.io.IOException;
@@ -10,5 +12,20 @@ public interface ResponsePopulationService {
 
     void init();
 
-    void handleResourceFoundResponse(HttpRequest request, HttpResponse response, File resourceFile, long fileSize) throws IOException;
+    String detectMediaType(File resourceFile) throws IOException;
+
+    String detectMediaType(String fileName);
+
+    void addContentEncodingHeaders(HttpResponse response, EncodedResource resource);
+
+    void handleResourceFoundResponse(HttpRequest request, HttpResponse response, String mediaType, long fileSize,
+                                     String eTag, String lastModified);
+
+    void handlePartialContentResponse(HttpRequest request, HttpResponse response, String mediaType,
+                                      PartialContent partialContent, String eTag, String lastModified);
+
+    void handleRangeNotSatisfiableResponse(HttpRequest request, HttpResponse response, long fileSize);
+
+    void handleNotModifiedResponse(HttpRequest request, HttpResponse response, String mediaType,
+                                   String eTag, String lastModified);
 }
@@ -5,6 +5,9 @@ import com.cyecize.http.HttpResponse;
 import com.cyecize.http.HttpStatus;
 import com.cyecize.ioc.annotations.Autowired;
 import com.cyecize.ioc.annotations.Service;
+import com.cyecize.toyote.ToyoteConstants;
+import com.cyecize.toyote.models.EncodedResource;
+import com.cyecize.toyote.models.PartialContent;
 
 import java.io.File;
 import java.io.IOException;
@@ -12,13 +15,13 @@ import java.io.IOException;
 @Service
 public class ResponsePopulationServiceImpl implements ResponsePopulationService {
 
-    private final Tika tika;
+    private final MediaTypeService mediaTypeService;
 
     private final CacheControlService cacheControlService;
 
     @Autowired
-    public ResponsePopulationServiceImpl(Tika tika, CacheControlService cacheControlService) {
-        this.tika = tika;
+    public ResponsePopulationServiceImpl(MediaTypeService mediaTypeService, CacheControlService cacheControlService) {
+        this.mediaTypeService = mediaTypeService;
         this.cacheControlService = cacheControlService;
     }
 
@@ -27,20 +30,97 @@ public class ResponsePopulationServiceImpl implements ResponsePopulationService
         this.cacheControlService.init();
     }
 
+    @Override
+    public String detectMediaType(File resourceFile) throws IOException {
+        return this.mediaTypeService.getMediaType(resourceFile);
+    }
+
+    /**
+     * Detects the media type by the file name only, without reading the file.
+     */
+    @Override
+    public String detectMediaType(String fileName) {
+        return this.mediaTypeService.getMediaType(fileName);
+    }
+
+    /**
+     * Adds Content-Encoding if a pre-compressed copy of the resource is sent
+     * and Vary if the resource has pre-compressed copies, so that caches keep a separate copy per coding.
+     */
+    @Override
+    public void addContentEncodingHeaders(HttpResponse response, EncodedResource resource) {
+        if (resource.getContentEncoding() != null) {
+            response.addHeader(ToyoteConstants.CONTENT_ENCODING_HEADER_NAME, resource.getContentEncoding());
+        }
+
+        if (resource.hasEncodedVariants()) {
+            response.addHeader(ToyoteConstants.VARY_HEADER_NAME, ToyoteConstants.ACCEPT_ENCODING_HEADER_NAME);
+        }
+    }
+
     /**
      * Populates {@link HttpResponse} with found resource.
      * Adds necessary headers that are required in order to transfer a resource using the HTTP protocol.
      */
     @Override
-    public void handleResourceFoundResponse(HttpRequest request, HttpResponse response, File resourceFile, long fileSize)
-            throws IOException {
-        final String mediaType = this.tika.detect(resourceFile);
-
+    public void handleResourceFoundResponse(HttpRequest request, HttpResponse response, String mediaType, long fileSize,
+                                            String eTag, String lastModified) {
         response.setStatusCode(HttpStatus.OK);
 
         response.addHeader("Content-Type", mediaType);
         response.addHeader("Content-Length", fileSize + "");
         response.addHeader("Content-Disposition", "inline");
+        response.addHeader(ToyoteConstants.ACCEPT_RANGES_HEADER_NAME, ToyoteConstants.RANGE_UNIT_BYTES);
+        this.addValidatorHeaders(response, eTag, lastModified);
         this.cacheControlService.addCachingHeader(request, response, mediaType);
     }
+
+    /**
+     * Populates {@link HttpResponse} with 206 status for the requested ranges of the resource.
+     * The caching header is chosen by the media type of the resource, not by the multipart content type.
+     */
+    @Override
+    public void handlePartialContentResponse(HttpRequest request, HttpResponse response, String mediaType,
+                                             PartialContent partialContent, String eTag, String lastModified) {
+        response.setStatusCode(HttpStatus.PARTIAL_CONTENT);
+
+        response.addHeader("Content-Type", partialContent.getContentType());
+        response.addHeader("Content-Length", partialContent.getContentLength() + "");
+        if (!partialContent.isMultipart()) {
+            response.addHeader(ToyoteConstants.CONTENT_RANGE_HEADER_NAME, partialContent.getContentRange());
+        }
+
+        response.addHeader("Content-Disposition", "inline");
+        response.addHeader(ToyoteConstants.ACCEPT_RANGES_HEADER_NAME, ToyoteConstants.RANGE_UNIT_BYTES);
+        this.addValidatorHeaders(response, eTag, lastModified);
+        this.cacheControlService.addCachingHeader(request, response, mediaType);
+    }
+
+    /**
+     * Populates {@link HttpResponse} with 416 status, telling the client the actual size of the resource.
+     */
+    @Override
+    public void handleRangeNotSatisfiableResponse(HttpRequest request, HttpResponse response, long fileSize) {
+        response.setStatusCode(HttpStatus.RANGE_NOT_SATISFIABLE);
+
+        response.addHeader(ToyoteConstants.CONTENT_RANGE_HEADER_NAME, ToyoteConstants.RANGE_UNIT_BYTES + " */" + fileSize);
+    }
+
+    /**
+     * Populates {@link HttpResponse} with 304 status, telling the client to use its cached copy.
+     * Repeats the validators and the caching header as they would have been sent with the resource.
+     */
+    @Override
+    public void handleNotModifiedResponse(HttpRequest request, HttpResponse response, String mediaType,
+                                          String eTag, String lastModified) {
+        response.setStatusCode(HttpStatus.NOT_MODIFIED);
+
+        this.addValidatorHeaders(response, eTag, lastModified);
+        this.cacheControlService.addCachingHeader(request, response, mediaType);
+    }
+
+    private void addValidatorHeaders(HttpResponse response, String eTag, String lastModified) {
+        response.addHeader(ToyoteConstants.ETAG_HEADER_NAME, eTag);
+        response.addHeader(ToyoteConstants.LAST_MODIFIED_HEADER_NAME, lastModified);
+    }
 }
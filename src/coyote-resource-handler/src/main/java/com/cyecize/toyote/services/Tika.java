@@ -6,4 +6,6 @@ import java.io.IOException;
 public interface Tika {
 
     String detect(File file) throws IOException;
+
+    String detect(String name);
 }
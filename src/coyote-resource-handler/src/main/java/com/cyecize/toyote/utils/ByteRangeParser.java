@@ -0,0 +1,122 @@
+package com.cyecize.toyote.utils;
+
+import com.cyecize.toyote.models.ByteRange;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public final class ByteRangeParser {
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    /**
+     * Limits the number of parts in a multipart/byteranges response.
+     */
+    private static final int MAX_RANGES = 64;
+
+    /**
+     * Parses the value of a Range header, e.g. "bytes=0-499, 1000-, -500".
+     * <p>
+     * Overlapping and adjacent ranges are merged, so that a request cannot make the server
+     * send the same bytes many times over.
+     *
+     * @param rangeHeader    - Range header value.
+     * @param resourceLength - size of the requested resource.
+     * @return the satisfiable ranges, an empty list if none of them is satisfiable
+     * or null if the header is invalid, uses another unit or has too many ranges, in which case it must be ignored.
+     */
+    public static List<ByteRange> parseRanges(String rangeHeader, long resourceLength) {
+        if (!rangeHeader.regionMatches(true, 0, BYTES_UNIT, 0, BYTES_UNIT.length())) {
+            return null;
+        }
+
+        final String[] rangeSpecs = rangeHeader.substring(BYTES_UNIT.length()).split(",");
+        if (rangeSpecs.length > MAX_RANGES) {
+            return null;
+        }
+
+        final List<ByteRange> ranges = new ArrayList<>();
+
+        for (String rangeSpec : rangeSpecs) {
+            final String spec = rangeSpec.trim();
+            final int dashIndex = spec.indexOf('-');
+            if (dashIndex < 0) {
+                return null;
+            }
+
+            final long first = parsePosition(spec.substring(0, dashIndex).trim());
+            final long last = parsePosition(spec.substring(dashIndex + 1).trim());
+
+            if (first == -1) {
+                // suffix range, e.g. "-500" for the last 500 bytes
+                if (last < 0) {
+                    return null;
+                }
+
+                if (last > 0 && resourceLength > 0) {
+                    ranges.add(new ByteRange(Math.max(0, resourceLength - last), resourceLength - 1));
+                }
+
+                continue;
+            }
+
+            if (first == -2 || last == -2 || (last != -1 && last < first)) {
+                return null;
+            }
+
+            if (first < resourceLength) {
+                final long end = last == -1 ? resourceLength - 1 : Math.min(last, resourceLength - 1);
+                ranges.add(new ByteRange(first, end));
+            }
+        }
+
+        return mergeRanges(ranges);
+    }
+
+    /**
+     * @return the position, -1 if empty or -2 if not a number.
+     */
+    private static long parsePosition(String position) {
+        if (position.isEmpty()) {
+            return -1;
+        }
+
+        for (int i = 0; i < position.length(); i++) {
+            if (!Character.isDigit(position.charAt(i))) {
+                return -2;
+            }
+        }
+
+        try {
+            return Long.parseLong(position);
+        } catch (NumberFormatException ex) {
+            return -2;
+        }
+    }
+
+    private static List<ByteRange> mergeRanges(List<ByteRange> ranges) {
+        if (ranges.size() < 2) {
+            return ranges;
+        }
+
+        ranges.sort(Comparator.comparingLong(ByteRange::getStart));
+
+        final List<ByteRange> merged = new ArrayList<>();
+        ByteRange current = ranges.get(0);
+
+        for (int i = 1; i < ranges.size(); i++) {
+            final ByteRange next = ranges.get(i);
+
+            if (next.getStart() <= current.getEnd() + 1) {
+                current = new ByteRange(current.getStart(), Math.max(current.getEnd(), next.getEnd()));
+            } else {
+                merged.add(current);
+                current = next;
+            }
+        }
+
+        merged.add(current);
+        return merged;
+    }
+}
@@ -0,0 +1,250 @@
+package com.cyecize.toyote.utils;
+
+import com.cyecize.toyote.MultipartConstants;
+import com.cyecize.toyote.lambda.MultipartParserFieldParsedCallback;
+import com.cyecize.toyote.models.MultipartEntry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads a multipart body from a stream with a single fixed size buffer.
+ * Part bodies are passed to {@link PartBodyStorage} as soon as they are read, so only the buffer
+ * and the in-memory part threshold are ever held on the heap.
+ * Nested multipart bodies are not parsed and are passed as regular parts.
+ */
+public class MultipartStreamParser {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private static final String DELIMITER_PREFIX = "\r\n--";
+
+    private static final String UNEXPECTED_END_MSG = "Multipart body ended before the closing boundary.";
+
+    private static final String HEADERS_TOO_BIG_MSG_FORMAT = "Multipart part headers exceed %d bytes.";
+
+    private static final String INVALID_BOUNDARY_MSG = "Multipart boundary is not followed by CRLF.";
+
+    private final InputStream inputStream;
+
+    private final byte[] delimiter;
+
+    private final byte[] buffer;
+
+    private final int maxHeadersSize;
+
+    private final int maxMemoryPerPart;
+
+    private final Path tempDirectory;
+
+    private int position;
+
+    private int limit;
+
+    public MultipartStreamParser(InputStream inputStream, String boundary, int bufferSize, int maxHeadersSize,
+                                 int maxMemoryPerPart, Path tempDirectory) {
+        this.inputStream = inputStream;
+        this.delimiter = (DELIMITER_PREFIX + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buffer = new byte[Math.max(bufferSize, this.delimiter.length * 2)];
+        this.maxHeadersSize = maxHeadersSize;
+        this.maxMemoryPerPart = maxMemoryPerPart;
+        this.tempDirectory = tempDirectory;
+
+        // The first boundary is not preceded by CRLF unless there is a preamble.
+        System.arraycopy(CRLF, 0, this.buffer, 0, CRLF.length);
+        this.limit = CRLF.length;
+    }
+
+    /**
+     * Calls the callback for every part after its body has been fully read.
+     * Storage of parts that fail to be read is disposed.
+     */
+    public void parse(MultipartParserFieldParsedCallback callback) throws IOException {
+        this.skipPreamble();
+
+        while (this.readBoundaryEnd()) {
+            final Map<String, String> headers = this.readHeaders();
+            final PartBodyStorage storage = new PartBodyStorage(this.maxMemoryPerPart, this.tempDirectory);
+
+            try {
+                this.readBody(storage);
+            } catch (IOException ex) {
+                storage.dispose();
+                throw ex;
+            } finally {
+                storage.close();
+            }
+
+            callback.onFieldParsed(new MultipartEntry(
+                    MultipartUtils.parseContentDispositionString(
+                            headers.getOrDefault(MultipartConstants.NIO_CONTENT_DISPOSITION_PARAM_NAME, "")
+                    ),
+                    headers.get(MultipartConstants.NIO_CONTENT_TYPE_PARAM_NAME),
+                    storage
+            ));
+        }
+    }
+
+    private void skipPreamble() throws IOException {
+        while (true) {
+            final int index = this.indexOfDelimiter();
+            if (index >= 0) {
+                this.position = index + this.delimiter.length;
+                return;
+            }
+
+            this.position = Math.max(this.position, this.limit - this.delimiter.length + 1);
+            if (this.fill() < 0) {
+                throw new IOException(UNEXPECTED_END_MSG);
+            }
+        }
+    }
+
+    /**
+     * Reads what follows a boundary, transport padding is ignored.
+     *
+     * @return false if this was the closing boundary.
+     */
+    private boolean readBoundaryEnd() throws IOException {
+        int b = this.read();
+        if (b == '-' && this.read() == '-') {
+            return false;
+        }
+
+        while (b == ' ' || b == '\t') {
+            b = this.read();
+        }
+
+        if (b != '\r' || this.read() != '\n') {
+            throw new IOException(INVALID_BOUNDARY_MSG);
+        }
+
+        return true;
+    }
+
+    /**
+     * Header names are lower cased.
+     */
+    private Map<String, String> readHeaders() throws IOException {
+        final Map<String, String> headers = new HashMap<>();
+        int headersSize = 0;
+
+        String line;
+        while (!(line = this.readLine()).isEmpty()) {
+            headersSize += line.length();
+            if (headersSize > this.maxHeadersSize) {
+                throw new IOException(String.format(HEADERS_TOO_BIG_MSG_FORMAT, this.maxHeadersSize));
+            }
+
+            final int separatorIndex = line.indexOf(':');
+            if (separatorIndex < 0) {
+                continue;
+            }
+
+            headers.put(
+                    line.substring(0, separatorIndex).trim().toLowerCase(Locale.ROOT),
+                    line.substring(separatorIndex + 1).trim()
+            );
+        }
+
+        return headers;
+    }
+
+    /**
+     * Writes everything up to the next delimiter to the storage.
+     * When the delimiter is not in the buffer, the bytes that could be its beginning are kept for the next read.
+     */
+    private void readBody(PartBodyStorage storage) throws IOException {
+        while (true) {
+            final int index = this.indexOfDelimiter();
+            if (index >= 0) {
+                storage.write(this.buffer, this.position, index - this.position);
+                this.position = index + this.delimiter.length;
+                return;
+            }
+
+            final int safeLimit = Math.max(this.position, this.limit - this.delimiter.length + 1);
+            storage.write(this.buffer, this.position, safeLimit - this.position);
+            this.position = safeLimit;
+
+            if (this.fill() < 0) {
+                throw new IOException(UNEXPECTED_END_MSG);
+            }
+        }
+    }
+
+    private int indexOfDelimiter() {
+        final byte first = this.delimiter[0];
+        final int lastStart = this.limit - this.delimiter.length;
+
+        outer:
+        for (int i = this.position; i <= lastStart; i++) {
+            if (this.buffer[i] != first) {
+                continue;
+            }
+
+            for (int j = 1; j < this.delimiter.length; j++) {
+                if (this.buffer[i + j] != this.delimiter[j]) {
+                    continue outer;
+                }
+            }
+
+            return i;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Header values such as file names are decoded as UTF-8.
+     */
+    private String readLine() throws IOException {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+        int b;
+        while ((b = this.read()) != '\n') {
+            if (b != '\r') {
+                line.write(b);
+            }
+
+            if (line.size() > this.maxHeadersSize) {
+                throw new IOException(String.format(HEADERS_TOO_BIG_MSG_FORMAT, this.maxHeadersSize));
+            }
+        }
+
+        return line.toString(StandardCharsets.UTF_8);
+    }
+
+    private int read() throws IOException {
+        if (this.position >= this.limit && this.fill() < 0) {
+            throw new IOException(UNEXPECTED_END_MSG);
+        }
+
+        return this.buffer[this.position++] & 0xFF;
+    }
+
+    /**
+     * Moves the unread bytes to the beginning of the buffer and reads after them.
+     *
+     * @return the number of bytes read or -1 if the stream has ended.
+     */
+    private int fill() throws IOException {
+        final int remaining = this.limit - this.position;
+        System.arraycopy(this.buffer, this.position, this.buffer, 0, remaining);
+        this.position = 0;
+        this.limit = remaining;
+
+        final int read = this.inputStream.read(this.buffer, this.limit, this.buffer.length - this.limit);
+        if (read > 0) {
+            this.limit += read;
+        }
+
+        return read;
+    }
+}
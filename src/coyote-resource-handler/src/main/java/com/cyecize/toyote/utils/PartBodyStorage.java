@@ -0,0 +1,143 @@
+package com.cyecize.toyote.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Holds the body of a multipart part.
+ * The body is kept in memory until it grows bigger than the given threshold,
+ * after which it is written to a temporary file, so a body of any size takes a constant amount of heap.
+ */
+public class PartBodyStorage extends OutputStream {
+
+    private static final String TEMP_FILE_PREFIX = "upload-";
+
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private final int maxMemorySize;
+
+    private final Path tempDirectory;
+
+    private ByteArrayOutputStream memoryOutputStream;
+
+    private OutputStream fileOutputStream;
+
+    private Path file;
+
+    private boolean temporaryFile;
+
+    private long size;
+
+    public PartBodyStorage(int maxMemorySize, Path tempDirectory) {
+        this.maxMemorySize = maxMemorySize;
+        this.tempDirectory = tempDirectory;
+        this.memoryOutputStream = new ByteArrayOutputStream();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (this.memoryOutputStream != null && this.size + length > this.maxMemorySize) {
+            this.spill();
+        }
+
+        if (this.memoryOutputStream != null) {
+            this.memoryOutputStream.write(bytes, offset, length);
+        } else {
+            this.fileOutputStream.write(bytes, offset, length);
+        }
+
+        this.size += length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.fileOutputStream != null) {
+            this.fileOutputStream.close();
+        }
+    }
+
+    public long getSize() {
+        return this.size;
+    }
+
+    public boolean isInMemory() {
+        return this.memoryOutputStream != null;
+    }
+
+    /**
+     * Every call returns a new stream that starts from the beginning of the body.
+     */
+    public InputStream getInputStream() throws IOException {
+        if (this.isInMemory()) {
+            return new ByteArrayInputStream(this.memoryOutputStream.toByteArray());
+        }
+
+        return Files.newInputStream(this.file);
+    }
+
+    /**
+     * Writes the body to the given file, replacing it if it exists.
+     * A body stored in a temporary file is renamed, falling back to a copy when the destination is
+     * on another file system. After that the body is read from the destination file.
+     */
+    public void moveTo(Path destination) throws IOException {
+        if (this.isInMemory()) {
+            try (final OutputStream outputStream = Files.newOutputStream(destination)) {
+                this.memoryOutputStream.writeTo(outputStream);
+            }
+
+            return;
+        }
+
+        if (!this.temporaryFile) {
+            Files.copy(this.file, destination, StandardCopyOption.REPLACE_EXISTING);
+            return;
+        }
+
+        this.close();
+
+        try {
+            Files.move(this.file, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(this.file, destination, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        this.file = destination;
+        this.temporaryFile = false;
+    }
+
+    /**
+     * Deletes the temporary file, if the body has not been moved.
+     */
+    public void dispose() throws IOException {
+        this.close();
+
+        if (this.temporaryFile) {
+            this.temporaryFile = false;
+            Files.deleteIfExists(this.file);
+        }
+    }
+
+    private void spill() throws IOException {
+        Files.createDirectories(this.tempDirectory);
+
+        this.file = Files.createTempFile(this.tempDirectory, TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+        this.temporaryFile = true;
+        this.fileOutputStream = Files.newOutputStream(this.file);
+
+        this.memoryOutputStream.writeTo(this.fileOutputStream);
+        this.memoryOutputStream = null;
+    }
+}
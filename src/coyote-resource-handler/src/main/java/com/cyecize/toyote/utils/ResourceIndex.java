@@ -0,0 +1,272 @@
+package com.cyecize.toyote.utils;
+
+import com.cyecize.javache.services.LoggingService;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Paths of all files under the given root directories, kept up to date by a {@link WatchService}.
+ * Lets Toyote tell whether a URL points to a file without touching the file system.
+ * <p>
+ * Changes are picked up asynchronously, a file can be reported as missing for a moment after it has been created.
+ * Roots that are missing, cannot be fully walked or cannot be fully watched are marked as incomplete
+ * and the files under them must be looked up on the file system, see {@link #isComplete(Path)}.
+ */
+public class ResourceIndex {
+
+    private static final String WATCHER_THREAD_NAME = "toyote-resource-index";
+
+    private static final String MISSING_ROOT_FORMAT =
+            "Resource directory '%s' does not exist, its resources will be looked up on the file system.";
+
+    private static final String SYMLINK_LOOP_FORMAT =
+            "Symbolic link loop at '%s', resources of '%s' will be looked up on the file system.";
+
+    private static final String CANNOT_READ_FORMAT =
+            "Cannot read '%s' (%s), resources of '%s' will be looked up on the file system.";
+
+    private static final String CANNOT_WATCH_FORMAT =
+            "Cannot watch '%s' for changes (%s), resources of '%s' will be looked up on the file system.";
+
+    private final List<Path> roots;
+
+    private final LoggingService loggingService;
+
+    private final WatchService watchService;
+
+    private final Map<WatchKey, Path> watchedDirectories;
+
+    private volatile Set<Path> files;
+
+    private volatile Set<Path> incompleteRoots;
+
+    /**
+     * @param roots - absolute and normalized paths of the indexed directories.
+     */
+    public ResourceIndex(List<Path> roots, LoggingService loggingService) throws IOException {
+        this.roots = roots;
+        this.loggingService = loggingService;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.watchedDirectories = new ConcurrentHashMap<>();
+        this.files = ConcurrentHashMap.newKeySet();
+        this.incompleteRoots = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Indexes the roots and starts watching them for changes.
+     */
+    public void start() {
+        this.indexRoots(this.files, this.incompleteRoots);
+
+        final Thread watcherThread = new Thread(this::watch, WATCHER_THREAD_NAME);
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    /**
+     * @param file - absolute and normalized path.
+     */
+    public boolean contains(Path file) {
+        return this.files.contains(file);
+    }
+
+    /**
+     * @param file - absolute and normalized path.
+     * @return false if the file is under a root that is not fully indexed,
+     * in which case a file that is not in the index may still exist.
+     */
+    public boolean isComplete(Path file) {
+        final Path root = this.findRoot(file);
+        return root == null || !this.incompleteRoots.contains(root);
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                final WatchKey key = this.watchService.take();
+                final Path directory = this.watchedDirectories.get(key);
+
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        this.rebuild();
+                    } else if (directory != null) {
+                        this.handleEvent(event.kind(), directory.resolve((Path) event.context()));
+                    }
+                }
+
+                if (!key.reset()) {
+                    this.watchedDirectories.remove(key);
+
+                    // a root that is created again would not be watched
+                    if (directory != null && this.roots.contains(directory)) {
+                        this.incompleteRoots.add(directory);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+        }
+    }
+
+    private void handleEvent(WatchEvent.Kind<?> kind, Path path) {
+        if (kind == StandardWatchEventKinds.ENTRY_DELETE) {
+            // a deleted directory is not in the index, but the files under it are
+            if (!this.files.remove(path)) {
+                this.files.removeIf(file -> file.startsWith(path));
+            }
+
+            return;
+        }
+
+        if (Files.isDirectory(path)) {
+            this.addDirectory(path, this.files, this.incompleteRoots);
+        } else if (Files.isRegularFile(path)) {
+            this.files.add(path);
+        }
+    }
+
+    /**
+     * Called when events have been lost, the new index replaces the old one only once it is complete,
+     * so that existing files are never reported as missing.
+     * Roots found incomplete are marked before the files are replaced, so that they are never trusted too early.
+     */
+    private void rebuild() {
+        final Set<Path> files = ConcurrentHashMap.newKeySet();
+        final Set<Path> incompleteRoots = ConcurrentHashMap.newKeySet();
+        this.indexRoots(files, incompleteRoots);
+
+        this.incompleteRoots.addAll(incompleteRoots);
+        this.files = files;
+        this.incompleteRoots = incompleteRoots;
+    }
+
+    private void indexRoots(Set<Path> files, Set<Path> incompleteRoots) {
+        for (Path root : this.roots) {
+            if (Files.isDirectory(root)) {
+                this.addDirectory(root, files, incompleteRoots);
+            } else {
+                incompleteRoots.add(root);
+                this.loggingService.warning(String.format(MISSING_ROOT_FORMAT, root));
+            }
+        }
+    }
+
+    /**
+     * Directories are registered before their content is listed,
+     * so that files created in the meantime are either listed or reported by an event.
+     * Symbolic links are followed, a link that points back to one of its parent directories is skipped.
+     */
+    private void addDirectory(Path directory, Set<Path> files, Set<Path> incompleteRoots) {
+        final Set<FileVisitOption> options = EnumSet.of(FileVisitOption.FOLLOW_LINKS);
+
+        try {
+            Files.walkFileTree(directory, options, Integer.MAX_VALUE, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    register(dir, incompleteRoots);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile()) {
+                        files.add(file);
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException ex) {
+                    handleWalkFailure(file, ex, incompleteRoots);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException ex) {
+            this.handleWalkFailure(directory, ex, incompleteRoots);
+        }
+    }
+
+    /**
+     * Paths removed while being walked are ignored, their removal is handled by the delete event.
+     */
+    private void handleWalkFailure(Path path, IOException ex, Set<Path> incompleteRoots) {
+        if (ex instanceof NoSuchFileException) {
+            return;
+        }
+
+        final Path root = this.markIncomplete(path, incompleteRoots);
+        if (root == null) {
+            return;
+        }
+
+        if (ex instanceof FileSystemLoopException) {
+            this.loggingService.warning(String.format(SYMLINK_LOOP_FORMAT, path, root));
+        } else {
+            this.loggingService.warning(String.format(CANNOT_READ_FORMAT, path, ex, root));
+        }
+    }
+
+    /**
+     * Directories removed before they could be registered are ignored, their removal is handled by the delete event.
+     * A directory that cannot be registered, e.g. because of the OS limit of watched directories,
+     * makes its root incomplete, since changes under it would be missed.
+     */
+    private void register(Path directory, Set<Path> incompleteRoots) {
+        try {
+            this.watchedDirectories.put(directory.register(
+                    this.watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_MODIFY
+            ), directory);
+        } catch (NoSuchFileException ignored) {
+        } catch (IOException ex) {
+            final Path root = this.markIncomplete(directory, incompleteRoots);
+            if (root != null) {
+                this.loggingService.warning(String.format(CANNOT_WATCH_FORMAT, directory, ex, root));
+            }
+        }
+    }
+
+    /**
+     * @return the root of the path if it has just been marked as incomplete, null if it already was,
+     * so that a root with many failing directories is reported once.
+     */
+    private Path markIncomplete(Path path, Set<Path> incompleteRoots) {
+        final Path root = this.findRoot(path);
+        if (root == null || !incompleteRoots.add(root)) {
+            return null;
+        }
+
+        return root;
+    }
+
+    private Path findRoot(Path path) {
+        for (Path root : this.roots) {
+            if (path.startsWith(root)) {
+                return root;
+            }
+        }
+
+        return null;
+    }
+}
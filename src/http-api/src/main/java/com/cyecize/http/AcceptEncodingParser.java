@@ -0,0 +1,71 @@
+package com.cyecize.http;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class AcceptEncodingParser {
+
+    private static final String ANY_CODING = "*";
+
+    private static final String QUALITY_PARAM = "q=";
+
+    /**
+     * Filters the given content codings by the value of an Accept-Encoding header,
+     * e.g. "gzip, deflate;q=0.5, br;q=0" accepts gzip and deflate, but not br.
+     * <p>
+     * The client's quality values are only used to exclude codings,
+     * the result keeps the order of the supported codings, which is the server's preference.
+     *
+     * @param acceptEncodingHeader - Accept-Encoding header value or null.
+     * @param supportedCodings     - codings that the server can send, by preference.
+     * @return the supported codings accepted by the client.
+     */
+    public static List<String> parseAcceptedCodings(String acceptEncodingHeader, List<String> supportedCodings) {
+        final List<String> acceptedCodings = new ArrayList<>();
+        if (acceptEncodingHeader == null || acceptEncodingHeader.isEmpty()) {
+            return acceptedCodings;
+        }
+
+        final String[] codings = acceptEncodingHeader.split(",");
+
+        for (String supportedCoding : supportedCodings) {
+            Boolean accepted = null;
+            boolean acceptedByWildcard = false;
+
+            for (String coding : codings) {
+                final int paramsIndex = coding.indexOf(';');
+                final String name = (paramsIndex < 0 ? coding : coding.substring(0, paramsIndex)).trim();
+                final boolean acceptable = paramsIndex < 0 || !isZeroQuality(coding.substring(paramsIndex + 1));
+
+                if (name.equalsIgnoreCase(supportedCoding)) {
+                    accepted = acceptable;
+                } else if (name.equals(ANY_CODING)) {
+                    acceptedByWildcard = acceptable;
+                }
+            }
+
+            if (accepted == null ? acceptedByWildcard : accepted) {
+                acceptedCodings.add(supportedCoding);
+            }
+        }
+
+        return acceptedCodings;
+    }
+
+    private static boolean isZeroQuality(String params) {
+        for (String param : params.split(";")) {
+            param = param.trim();
+            if (!param.startsWith(QUALITY_PARAM)) {
+                continue;
+            }
+
+            try {
+                return Double.parseDouble(param.substring(QUALITY_PARAM.length())) <= 0;
+            } catch (NumberFormatException ex) {
+                return false;
+            }
+        }
+
+        return false;
+    }
+}
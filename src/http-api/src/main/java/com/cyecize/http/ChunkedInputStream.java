@@ -0,0 +1,171 @@
+package com.cyecize.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decodes a request body sent with "Transfer-Encoding: chunked".
+ * Returns -1 after the last chunk and its trailer section have been consumed,
+ * leaving the connection stream at the beginning of the next request.
+ * Chunk extensions and trailer headers are ignored.
+ */
+public class ChunkedInputStream extends InputStream {
+
+    private static final int MAX_CHUNK_SIZE_LINE_LENGTH = 1024;
+
+    private static final String INVALID_CHUNK_SIZE_MSG = "Invalid chunk size.";
+
+    private static final String MISSING_CHUNK_END_MSG = "Chunk is not terminated with CRLF.";
+
+    private static final String UNEXPECTED_END_MSG = "Connection closed before the last chunk.";
+
+    private static final String BODY_TOO_BIG_MSG_FORMAT = "Chunked request body exceeds %d bytes.";
+
+    private final InputStream inputStream;
+
+    private final long maxBodySize;
+
+    private long chunkRemaining;
+
+    private long totalRead;
+
+    private boolean eof;
+
+    public ChunkedInputStream(InputStream inputStream, long maxBodySize) {
+        this.inputStream = inputStream;
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!this.prepareChunk()) {
+            return -1;
+        }
+
+        final int b = this.inputStream.read();
+        if (b < 0) {
+            throw new IOException(UNEXPECTED_END_MSG);
+        }
+
+        this.chunkRemaining--;
+        return b;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        if (!this.prepareChunk()) {
+            return -1;
+        }
+
+        final int read = this.inputStream.read(bytes, offset, (int) Math.min(length, this.chunkRemaining));
+        if (read < 0) {
+            throw new IOException(UNEXPECTED_END_MSG);
+        }
+
+        this.chunkRemaining -= read;
+        return read;
+    }
+
+    @Override
+    public int available() throws IOException {
+        if (this.eof) {
+            return 0;
+        }
+
+        return (int) Math.min(this.inputStream.available(), this.chunkRemaining);
+    }
+
+    @Override
+    public void close() {
+
+    }
+
+    /**
+     * Moves to the next chunk if the current one has been fully read.
+     *
+     * @return false if the last chunk has been reached.
+     */
+    private boolean prepareChunk() throws IOException {
+        if (this.eof) {
+            return false;
+        }
+
+        if (this.chunkRemaining > 0) {
+            return true;
+        }
+
+        if (this.totalRead > 0) {
+            this.readChunkEnd();
+        }
+
+        this.chunkRemaining = this.readChunkSize();
+        this.totalRead += this.chunkRemaining;
+
+        if (this.totalRead > this.maxBodySize) {
+            throw new IOException(String.format(BODY_TOO_BIG_MSG_FORMAT, this.maxBodySize));
+        }
+
+        if (this.chunkRemaining == 0) {
+            this.readTrailers();
+            this.eof = true;
+            return false;
+        }
+
+        return true;
+    }
+
+    private long readChunkSize() throws IOException {
+        final String line = this.readLine();
+
+        final int extensionIndex = line.indexOf(';');
+        final String size = (extensionIndex < 0 ? line : line.substring(0, extensionIndex)).trim();
+
+        try {
+            final long chunkSize = Long.parseLong(size, 16);
+            if (chunkSize < 0) {
+                throw new IOException(INVALID_CHUNK_SIZE_MSG);
+            }
+
+            return chunkSize;
+        } catch (NumberFormatException ex) {
+            throw new IOException(INVALID_CHUNK_SIZE_MSG, ex);
+        }
+    }
+
+    private void readChunkEnd() throws IOException {
+        if (this.inputStream.read() != '\r' || this.inputStream.read() != '\n') {
+            throw new IOException(MISSING_CHUNK_END_MSG);
+        }
+    }
+
+    private void readTrailers() throws IOException {
+        while (!this.readLine().isEmpty()) {
+            // trailer headers are not supported and are skipped
+        }
+    }
+
+    private String readLine() throws IOException {
+        final StringBuilder line = new StringBuilder();
+
+        int b;
+        while ((b = this.inputStream.read()) != '\n') {
+            if (b < 0) {
+                throw new IOException(UNEXPECTED_END_MSG);
+            }
+
+            if (b != '\r') {
+                line.append((char) b);
+            }
+
+            if (line.length() > MAX_CHUNK_SIZE_LINE_LENGTH) {
+                throw new IOException(INVALID_CHUNK_SIZE_MSG);
+            }
+        }
+
+        return line.toString();
+    }
+}
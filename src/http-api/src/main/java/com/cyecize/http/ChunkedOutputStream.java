@@ -0,0 +1,63 @@
+package com.cyecize.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes a response body with "Transfer-Encoding: chunked" so that it can be sent
+ * before its total size is known.
+ * Every write is sent as a separate chunk, wrap the stream in a buffer to send fewer, bigger chunks.
+ * Closing the stream writes the last chunk, but does not close the connection.
+ */
+public class ChunkedOutputStream extends OutputStream {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private static final byte[] LAST_CHUNK = {'0', '\r', '\n', '\r', '\n'};
+
+    private final OutputStream outputStream;
+
+    private boolean closed;
+
+    public ChunkedOutputStream(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        }
+
+        if (length == 0) {
+            return;
+        }
+
+        this.outputStream.write(Integer.toHexString(length).getBytes(StandardCharsets.US_ASCII));
+        this.outputStream.write(CRLF);
+        this.outputStream.write(bytes, offset, length);
+        this.outputStream.write(CRLF);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+        this.outputStream.write(LAST_CHUNK);
+        this.outputStream.flush();
+    }
+}
@@ -1,5 +1,6 @@
 package com.cyecize.http;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -9,6 +10,8 @@ public interface HttpRequest {
 
     void setRequestURL(String requestUrl);
 
+    void setProtocol(String protocol);
+
     void setContentLength(int contentLength);
 
     void setSession(HttpSession session);
@@ -19,6 +22,14 @@ public interface HttpRequest {
 
     void addMultipartFile(MultipartFile multipartFile);
 
+    void setInputStream(InputStream inputStream);
+
+    /**
+     * @param bodyParametersLoader - reads the body and adds the body parameters, called once
+     *                             the first time body parameters are requested.
+     */
+    void setBodyParametersLoader(Runnable bodyParametersLoader);
+
     boolean isResource();
 
     int getContentLength();
@@ -27,6 +38,8 @@ public interface HttpRequest {
 
     String getRequestURL();
 
+    String getProtocol();
+
     String getHost();
 
     String getRequestURI();
@@ -41,6 +54,12 @@ public interface HttpRequest {
 
     String getHeader(String headerName);
 
+    /**
+     * @return the request body, limited to Content-Length bytes.
+     * Reading it before body parameters are requested leaves the body parameters empty.
+     */
+    InputStream getInputStream();
+
     HttpSession getSession();
 
     HttpCookie getCookie(String cookieName);
@@ -0,0 +1,101 @@
+package com.cyecize.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Request body view of the connection input stream.
+ * Reading stops after Content-Length bytes or at the end of the wrapped stream,
+ * so that a following request on the same connection is never consumed.
+ * Closing the stream does not close the connection.
+ */
+public class HttpRequestBodyInputStream extends InputStream {
+
+    private static final int SKIP_BUFFER_SIZE = 8192;
+
+    private final InputStream inputStream;
+
+    private long remaining;
+
+    /**
+     * For bodies whose end is detected by the given stream, e.g. {@link ChunkedInputStream}.
+     */
+    public HttpRequestBodyInputStream(InputStream inputStream) {
+        this(inputStream, Long.MAX_VALUE);
+    }
+
+    public HttpRequestBodyInputStream(InputStream inputStream, long contentLength) {
+        this.inputStream = inputStream;
+        this.remaining = Math.max(0, contentLength);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (this.remaining <= 0) {
+            return -1;
+        }
+
+        final int b = this.inputStream.read();
+        if (b >= 0) {
+            this.remaining--;
+        }
+
+        return b;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        if (this.remaining <= 0) {
+            return -1;
+        }
+
+        final int read = this.inputStream.read(bytes, offset, (int) Math.min(length, this.remaining));
+        if (read > 0) {
+            this.remaining -= read;
+        }
+
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        final long skipped = this.inputStream.skip(Math.min(n, this.remaining));
+        if (skipped > 0) {
+            this.remaining -= skipped;
+        }
+
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(this.inputStream.available(), this.remaining);
+    }
+
+    /**
+     * Reads and discards whatever is left from the body.
+     * Needed before the connection can be used for another request.
+     */
+    public void drain() throws IOException {
+        final byte[] buffer = new byte[(int) Math.min(SKIP_BUFFER_SIZE, Math.max(1, this.remaining))];
+
+        while (this.remaining > 0) {
+            if (this.read(buffer, 0, buffer.length) < 0) {
+                return;
+            }
+        }
+    }
+
+    public long getRemaining() {
+        return this.remaining;
+    }
+
+    @Override
+    public void close() {
+
+    }
+}
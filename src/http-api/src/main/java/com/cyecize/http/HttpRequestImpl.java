@@ -1,9 +1,11 @@
 package com.cyecize.http;
 
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 public class HttpRequestImpl implements HttpRequest {
 
@@ -11,10 +13,16 @@ public class HttpRequestImpl implements HttpRequest {
 
     private String requestURL;
 
+    private String protocol;
+
     private HttpSession session;
 
     private int contentLength;
 
+    private InputStream inputStream;
+
+    private Runnable bodyParametersLoader;
+
     private final List<MultipartFile> multipartFiles;
 
     private final Map<String, String> headers;
@@ -29,7 +37,7 @@ public class HttpRequestImpl implements HttpRequest {
 
     public HttpRequestImpl() {
         this.multipartFiles = new ArrayList<>();
-        this.headers = new HashMap<>();
+        this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
         this.queryParameters = new HashMap<>();
         this.bodyParameters = new HashMap<>();
         this.bodyParametersAsList = new HashMap<>();
@@ -46,6 +54,11 @@ public class HttpRequestImpl implements HttpRequest {
         this.requestURL = requestUrl;
     }
 
+    @Override
+    public void setProtocol(String protocol) {
+        this.protocol = protocol;
+    }
+
     @Override
     public void setContentLength(int contentLength) {
         this.contentLength = contentLength;
@@ -77,6 +90,16 @@ public class HttpRequestImpl implements HttpRequest {
         this.multipartFiles.add(multipartFile);
     }
 
+    @Override
+    public void setInputStream(InputStream inputStream) {
+        this.inputStream = inputStream;
+    }
+
+    @Override
+    public void setBodyParametersLoader(Runnable bodyParametersLoader) {
+        this.bodyParametersLoader = bodyParametersLoader;
+    }
+
     @Override
     public boolean isResource() {
         return this.getRequestURL().contains(".");
@@ -97,6 +120,11 @@ public class HttpRequestImpl implements HttpRequest {
         return this.requestURL;
     }
 
+    @Override
+    public String getProtocol() {
+        return this.protocol;
+    }
+
     @Override
     public String getHost() {
         return this.getHeaders().getOrDefault("Host", "");
@@ -119,6 +147,7 @@ public class HttpRequestImpl implements HttpRequest {
 
     @Override
     public String getBodyParam(String paramName) {
+        this.loadBodyParameters();
         return this.bodyParameters.get(paramName);
     }
 
@@ -138,6 +167,11 @@ public class HttpRequestImpl implements HttpRequest {
         return this.headers.get(headerName);
     }
 
+    @Override
+    public InputStream getInputStream() {
+        return this.inputStream;
+    }
+
     @Override
     public HttpSession getSession() {
         return this.session;
@@ -165,11 +199,13 @@ public class HttpRequestImpl implements HttpRequest {
 
     @Override
     public Map<String, String> getBodyParameters() {
+        this.loadBodyParameters();
         return this.bodyParameters;
     }
 
     @Override
     public Map<String, List<String>> getBodyParametersAsList() {
+        this.loadBodyParameters();
         return this.bodyParametersAsList;
     }
 
@@ -177,4 +213,14 @@ public class HttpRequestImpl implements HttpRequest {
     public Map<String, HttpCookie> getCookies() {
         return this.cookies;
     }
+
+    private void loadBodyParameters() {
+        if (this.bodyParametersLoader == null) {
+            return;
+        }
+
+        final Runnable loader = this.bodyParametersLoader;
+        this.bodyParametersLoader = null;
+        loader.run();
+    }
 }
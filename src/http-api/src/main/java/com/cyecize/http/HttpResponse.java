@@ -1,5 +1,6 @@
 package com.cyecize.http;
 
+import java.io.OutputStream;
 import java.util.Map;
 
 public interface HttpResponse {
@@ -16,6 +17,18 @@ public interface HttpResponse {
 
     void addCookie(HttpCookie cookie);
 
+    /**
+     * @param outputStream           - connection output stream to which {@link #getOutputStream()} writes.
+     * @param chunkedEncodingAllowed - false if the client does not understand chunked encoding (HTTP/1.0).
+     */
+    void setOutputStream(OutputStream outputStream, boolean chunkedEncodingAllowed);
+
+    /**
+     * @param commitListener - called right before the headers are written by {@link #getOutputStream()},
+     *                       the last chance to add headers and cookies.
+     */
+    void setCommitListener(Runnable commitListener);
+
     String getResponse();
 
     HttpStatus getStatusCode();
@@ -24,5 +37,38 @@ public interface HttpResponse {
 
     byte[] getBytes();
 
+    /**
+     * @return the status line and headers without the content, for handlers that write the body themselves,
+     * e.g. with {@link ChunkedOutputStream}.
+     */
+    byte[] getHeaderBytes();
+
     Map<String, String> getHeaders();
+
+    /**
+     * Streams the body instead of keeping it in memory.
+     * Headers are sent on the first write and the content of the response is ignored from then on.
+     *
+     * @return a stream which has to be closed once the body is written.
+     */
+    OutputStream getOutputStream();
+
+    /**
+     * @return true if {@link #getOutputStream()} has been called, in which case the response
+     * must be finished by closing the stream instead of writing {@link #getBytes()}.
+     */
+    boolean isStreaming();
+
+    /**
+     * A response to a HEAD request has the headers of the GET response, including its Content-Length, but no body.
+     *
+     * @param headResponse - if true, {@link #getBytes()} and {@link #getOutputStream()} send only the headers.
+     */
+    default void setHeadResponse(boolean headResponse) {
+
+    }
+
+    default boolean isHeadResponse() {
+        return false;
+    }
 }
@@ -1,13 +1,28 @@
 package com.cyecize.http;
 
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 public class HttpResponseImpl implements HttpResponse {
 
     private static final String CONTENT_TYPE = "Content-Type";
 
+    private static final String CONTENT_LENGTH = "Content-Length";
+
+    private static final String TRANSFER_ENCODING = "Transfer-Encoding";
+
+    /**
+     * Endings of application types that are text, e.g. application/json or application/xhtml+xml.
+     */
+    private static final String[] TEXTUAL_APPLICATION_TYPES = {"json", "xml", "javascript"};
+
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    private static final String NO_OUTPUT_STREAM_MSG = "Response is not bound to a connection output stream.";
+
     private HttpStatus statusCode;
 
     private byte[] content;
@@ -16,9 +31,19 @@ public class HttpResponseImpl implements HttpResponse {
 
     private final Map<String, HttpCookie> cookies;
 
+    private OutputStream connectionOutputStream;
+
+    private boolean chunkedEncodingAllowed;
+
+    private Runnable commitListener;
+
+    private HttpResponseOutputStream outputStream;
+
+    private boolean headResponse;
+
     public HttpResponseImpl() {
         this.setContent(new byte[0]);
-        this.headers = new HashMap<>();
+        this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
         this.cookies = new HashMap<>();
     }
 
@@ -52,8 +77,23 @@ public class HttpResponseImpl implements HttpResponse {
         this.cookies.put(cookie.getName(), cookie);
     }
 
+    @Override
+    public void setOutputStream(OutputStream outputStream, boolean chunkedEncodingAllowed) {
+        this.connectionOutputStream = outputStream;
+        this.chunkedEncodingAllowed = chunkedEncodingAllowed;
+    }
+
+    @Override
+    public void setCommitListener(Runnable commitListener) {
+        this.commitListener = commitListener;
+    }
+
     @Override
     public String getResponse() {
+        if (this.headResponse) {
+            return this.getHeaderString();
+        }
+
         return this.getHeaderString() + new String(this.getContent(), StandardCharsets.UTF_8);
     }
 
@@ -70,6 +110,10 @@ public class HttpResponseImpl implements HttpResponse {
     @Override
     public byte[] getBytes() {
         final byte[] headers = this.getHeaderString().getBytes();
+        if (this.headResponse) {
+            return headers;
+        }
+
         final byte[] result = new byte[headers.length + this.getContent().length];
 
         System.arraycopy(headers, 0, result, 0, headers.length);
@@ -78,42 +122,108 @@ public class HttpResponseImpl implements HttpResponse {
         return result;
     }
 
+    @Override
+    public byte[] getHeaderBytes() {
+        return this.getHeaderString().getBytes();
+    }
+
     @Override
     public Map<String, String> getHeaders() {
         return this.headers;
     }
 
+    @Override
+    public OutputStream getOutputStream() {
+        if (this.outputStream == null) {
+            if (this.connectionOutputStream == null) {
+                throw new IllegalStateException(NO_OUTPUT_STREAM_MSG);
+            }
+
+            this.outputStream = new HttpResponseOutputStream(
+                    this, this.connectionOutputStream, this.chunkedEncodingAllowed, this.commitListener
+            );
+        }
+
+        return this.outputStream;
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return this.outputStream != null;
+    }
+
+    @Override
+    public void setHeadResponse(boolean headResponse) {
+        this.headResponse = headResponse;
+    }
+
+    @Override
+    public boolean isHeadResponse() {
+        return this.headResponse;
+    }
+
     /**
      * Appends all headers to form a valid HTTP header section.
+     * Content-Length is set to the size of the content unless the header was already specified,
+     * which is the case when the body is written separately (e.g. static resources),
+     * or the body is sent with Transfer-Encoding.
+     * Neither header is added to a 304 response since it has no body and its headers update the client's cached copy.
      *
      * @return headers.
      */
     private String getHeaderString() {
         final StringBuilder result = new StringBuilder()
                 .append(HttpStatus.getResponseLine(this.getStatusCode().getStatusCode()))
-                .append(System.lineSeparator());
+                .append(LINE_SEPARATOR);
 
-        this.headers.put(CONTENT_TYPE, this.resolveCharset(this.headers.getOrDefault(CONTENT_TYPE, "text/html")));
+        if (this.getStatusCode() != HttpStatus.NOT_MODIFIED) {
+            this.headers.put(CONTENT_TYPE, this.resolveCharset(this.headers.getOrDefault(CONTENT_TYPE, "text/html")));
+            if (!this.headers.containsKey(TRANSFER_ENCODING)) {
+                this.headers.putIfAbsent(CONTENT_LENGTH, String.valueOf(this.getContent().length));
+            }
+        }
 
         for (Map.Entry<String, String> header : this.getHeaders().entrySet()) {
-            result.append(header.getKey()).append(": ").append(header.getValue()).append(System.lineSeparator());
+            result.append(header.getKey()).append(": ").append(header.getValue()).append(LINE_SEPARATOR);
         }
 
         if (!this.cookies.isEmpty()) {
             for (HttpCookie cookie : this.cookies.values()) {
-                result.append("Set-Cookie: ").append(cookie.toRFCString()).append(System.lineSeparator());
+                result.append("Set-Cookie: ").append(cookie.toRFCString()).append(LINE_SEPARATOR);
             }
         }
 
-        result.append(System.lineSeparator());
+        result.append(LINE_SEPARATOR);
         return result.toString();
     }
 
+    /**
+     * Only textual types get a charset, binary and multipart types, e.g. multipart/byteranges, are left as they are.
+     */
     private String resolveCharset(String contentType) {
-        if (contentType == null || contentType.contains("charset")) {
+        if (contentType == null || contentType.contains("charset") || !this.isTextual(contentType)) {
             return contentType;
         } else {
             return contentType + "; charset=utf8";
         }
     }
+
+    private boolean isTextual(String contentType) {
+        final String mediaType = contentType.split(";", 2)[0].trim().toLowerCase();
+        if (mediaType.startsWith("text/")) {
+            return true;
+        }
+
+        if (!mediaType.startsWith("application/")) {
+            return false;
+        }
+
+        for (String suffix : TEXTUAL_APPLICATION_TYPES) {
+            if (mediaType.endsWith(suffix)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
 }
@@ -0,0 +1,207 @@
+package com.cyecize.http;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Body stream returned by {@link HttpResponse#getOutputStream()}.
+ * The status line and headers are written on the first write or flush, after which they can no longer be changed.
+ * <p>
+ * If Content-Length is set, the body is written as is, otherwise it is sent with "Transfer-Encoding: chunked".
+ * A body that does not match the Content-Length would make the client read the next response as part of it,
+ * so writing past the Content-Length fails and so does closing the stream before the Content-Length is reached.
+ * For clients that do not support chunked encoding the body is buffered and sent with Content-Length on close.
+ * The body of a response to a HEAD request is discarded, only the headers are sent.
+ * Closing the stream finishes the response, but does not close the connection.
+ */
+public class HttpResponseOutputStream extends OutputStream {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private static final String CONTENT_LENGTH = "Content-Length";
+
+    private static final String TRANSFER_ENCODING = "Transfer-Encoding";
+
+    private static final String TRANSFER_ENCODING_CHUNKED = "chunked";
+
+    private static final String INVALID_CONTENT_LENGTH_MSG_FORMAT = "Invalid Content-Length '%s'.";
+
+    private static final String BODY_TOO_LONG_MSG_FORMAT = "Content-Length is %d, cannot write %d more bytes.";
+
+    private static final String BODY_TOO_SHORT_MSG_FORMAT = "Content-Length is %d, but %d bytes are missing.";
+
+    private final HttpResponse response;
+
+    private final OutputStream connectionOutputStream;
+
+    private final boolean chunkedEncodingAllowed;
+
+    private final Runnable commitListener;
+
+    private OutputStream bodyOutputStream;
+
+    private ByteArrayOutputStream bufferedBody;
+
+    private long contentLength = -1;
+
+    /**
+     * Bytes left until the Content-Length is reached, -1 if the body is not sent with Content-Length.
+     */
+    private long remainingLength = -1;
+
+    private boolean closed;
+
+    public HttpResponseOutputStream(HttpResponse response, OutputStream connectionOutputStream,
+                                    boolean chunkedEncodingAllowed, Runnable commitListener) {
+        this.response = response;
+        this.connectionOutputStream = connectionOutputStream;
+        this.chunkedEncodingAllowed = chunkedEncodingAllowed;
+        this.commitListener = commitListener;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.commit();
+        this.countBytes(1);
+        this.bodyOutputStream.write(b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        this.commit();
+        this.countBytes(length);
+        this.bodyOutputStream.write(bytes, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.commit();
+        this.bodyOutputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+
+        this.commit();
+        if (this.remainingLength > 0) {
+            throw new IOException(String.format(BODY_TOO_SHORT_MSG_FORMAT, this.contentLength, this.remainingLength));
+        }
+
+        this.closed = true;
+        this.bodyOutputStream.close();
+
+        if (this.bufferedBody != null) {
+            this.response.setContent(this.bufferedBody.toByteArray());
+            this.connectionOutputStream.write(this.response.getBytes());
+            this.connectionOutputStream.flush();
+        }
+    }
+
+    public boolean isCommitted() {
+        return this.bodyOutputStream != null;
+    }
+
+    private void commit() throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        }
+
+        if (this.isCommitted()) {
+            return;
+        }
+
+        if (this.commitListener != null) {
+            this.commitListener.run();
+        }
+
+        if (this.response.getStatusCode() == null) {
+            this.response.setStatusCode(HttpStatus.OK);
+        }
+
+        if (this.response.getHeaders().containsKey(CONTENT_LENGTH)) {
+            this.contentLength = this.parseContentLength(this.response.getHeaders().get(CONTENT_LENGTH));
+            this.connectionOutputStream.write(this.response.getHeaderBytes());
+            this.bodyOutputStream = new NonClosingOutputStream(this.connectionOutputStream);
+        } else if (this.chunkedEncodingAllowed) {
+            this.response.addHeader(TRANSFER_ENCODING, TRANSFER_ENCODING_CHUNKED);
+            this.connectionOutputStream.write(this.response.getHeaderBytes());
+            this.bodyOutputStream = new BufferedOutputStream(new ChunkedOutputStream(this.connectionOutputStream), CHUNK_SIZE);
+        } else {
+            this.bufferedBody = new ByteArrayOutputStream();
+            this.bodyOutputStream = this.bufferedBody;
+        }
+
+        if (this.response.isHeadResponse() && this.bufferedBody == null) {
+            this.bodyOutputStream = new DiscardingOutputStream(this.connectionOutputStream);
+        } else {
+            this.remainingLength = this.contentLength;
+        }
+    }
+
+    /**
+     * Nothing is written if the bytes do not fit in the Content-Length, so the body already sent stays valid.
+     */
+    private void countBytes(int length) throws IOException {
+        if (this.remainingLength < 0) {
+            return;
+        }
+
+        if (length > this.remainingLength) {
+            throw new IOException(String.format(BODY_TOO_LONG_MSG_FORMAT, this.contentLength, length));
+        }
+
+        this.remainingLength -= length;
+    }
+
+    private long parseContentLength(String contentLength) throws IOException {
+        try {
+            final long length = Long.parseLong(contentLength.trim());
+            if (length >= 0) {
+                return length;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+
+        throw new IOException(String.format(INVALID_CONTENT_LENGTH_MSG_FORMAT, contentLength));
+    }
+
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        private NonClosingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            super.out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.out.flush();
+        }
+    }
+
+    private static class DiscardingOutputStream extends NonClosingOutputStream {
+
+        private DiscardingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(int b) {
+
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+
+        }
+    }
+}
@@ -15,4 +15,19 @@ public interface HttpSession {
     Object getAttribute(String key);
 
     Map<String, Object> getAttributes();
+
+    /**
+     * @return the time at which the session was created in milliseconds.
+     */
+    long getCreationTime();
+
+    /**
+     * @return the time at which the session was last used by a request in milliseconds.
+     */
+    long getLastAccessedTime();
+
+    /**
+     * Marks the session as used by a request at the current time.
+     */
+    void access();
 }
@@ -1,21 +1,31 @@
 package com.cyecize.http;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Session that can be used by several requests at the same time.
+ * Since attributes are kept in a {@link ConcurrentHashMap}, adding a null attribute removes it.
+ */
 public class HttpSessionImpl implements HttpSession {
 
     private final Map<String, Object> sessionAttributes;
 
     private final String sessionId;
 
-    private boolean isSessionValid;
+    private final long creationTime;
+
+    private volatile long lastAccessedTime;
+
+    private volatile boolean isSessionValid;
 
     public HttpSessionImpl(){
         this.isSessionValid = true;
         this.sessionId = UUID.randomUUID().toString();
-        this.sessionAttributes = new HashMap<>();
+        this.sessionAttributes = new ConcurrentHashMap<>();
+        this.creationTime = System.currentTimeMillis();
+        this.lastAccessedTime = this.creationTime;
     }
 
     @Override
@@ -26,6 +36,11 @@ public class HttpSessionImpl implements HttpSession {
 
     @Override
     public void addAttribute(String name, Object attribute) {
+        if (attribute == null) {
+            this.sessionAttributes.remove(name);
+            return;
+        }
+
         this.sessionAttributes.put(name, attribute);
     }
 
@@ -48,4 +63,19 @@ public class HttpSessionImpl implements HttpSession {
     public Map<String, Object> getAttributes() {
         return this.sessionAttributes;
     }
+
+    @Override
+    public long getCreationTime() {
+        return this.creationTime;
+    }
+
+    @Override
+    public long getLastAccessedTime() {
+        return this.lastAccessedTime;
+    }
+
+    @Override
+    public void access() {
+        this.lastAccessedTime = System.currentTimeMillis();
+    }
 }
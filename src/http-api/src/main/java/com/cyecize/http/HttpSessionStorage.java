@@ -6,8 +6,16 @@ public interface HttpSessionStorage {
 
     void addSession(HttpSession session);
 
+    void removeSession(String sessionId);
+
+    /**
+     * Removes the sessions that are invalid or expired.
+     */
     void refreshSessions();
 
+    /**
+     * @return null if there is no such session or it has expired.
+     */
     HttpSession getSession(String sessionId);
 
     Map<String, HttpSession> getAllSessions();
@@ -1,16 +1,38 @@
 package com.cyecize.http;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Thread safe session storage.
+ * A session expires when it has not been used for the idle timeout or when it is older than the max age.
+ * Expired sessions are not returned by {@link #getSession(String)} and are removed on lookup,
+ * the rest are removed by calling {@link #refreshSessions()} periodically.
+ */
 public class HttpSessionStorageImpl implements HttpSessionStorage {
 
-    private Map<String, HttpSession> sessions;
+    private final Map<String, HttpSession> sessions;
 
+    private final long idleTimeoutMillis;
+
+    private final long maxAgeMillis;
+
+    /**
+     * Creates a storage whose sessions only expire when invalidated.
+     */
     public HttpSessionStorageImpl() {
-        this.sessions = new HashMap<>();
+        this(0, 0);
+    }
+
+    /**
+     * @param idleTimeoutMillis - 0 or less disables the idle timeout.
+     * @param maxAgeMillis      - 0 or less disables the max age.
+     */
+    public HttpSessionStorageImpl(long idleTimeoutMillis, long maxAgeMillis) {
+        this.sessions = new ConcurrentHashMap<>();
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxAgeMillis = maxAgeMillis;
     }
 
     @Override
@@ -18,20 +40,46 @@ public class HttpSessionStorageImpl implements HttpSessionStorage {
         this.sessions.putIfAbsent(session.getId(), session);
     }
 
+    @Override
+    public void removeSession(String sessionId) {
+        this.sessions.remove(sessionId);
+    }
+
     @Override
     public void refreshSessions() {
-        this.sessions = this.sessions.entrySet().stream()
-                .filter(kvp -> kvp.getValue().isValid())
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        final long now = System.currentTimeMillis();
+        this.sessions.values().removeIf(session -> !this.isAlive(session, now));
     }
 
     @Override
     public HttpSession getSession(String sessionId) {
-        return this.sessions.get(sessionId);
+        final HttpSession session = this.sessions.get(sessionId);
+        if (session == null) {
+            return null;
+        }
+
+        if (!this.isAlive(session, System.currentTimeMillis())) {
+            this.sessions.remove(sessionId, session);
+            return null;
+        }
+
+        return session;
     }
 
     @Override
     public Map<String, HttpSession> getAllSessions() {
         return Collections.unmodifiableMap(this.sessions);
     }
+
+    private boolean isAlive(HttpSession session, long now) {
+        if (!session.isValid()) {
+            return false;
+        }
+
+        if (this.idleTimeoutMillis > 0 && now - session.getLastAccessedTime() > this.idleTimeoutMillis) {
+            return false;
+        }
+
+        return this.maxAgeMillis <= 0 || now - session.getCreationTime() <= this.maxAgeMillis;
+    }
 }
@@ -11,12 +11,16 @@ public enum HttpStatus {
 
     NO_CONTENT(204, "No Content"),
 
+    PARTIAL_CONTENT(206, "Partial Content"),
+
     MOVED_PERMANENTLY(301, "Moved Permanently"),
 
     FOUND(302, "Found"),
 
     SEE_OTHER(303, "See Other"),
 
+    NOT_MODIFIED(304, "Not Modified"),
+
     BAD_REQUEST(400, "Bad Request"),
 
     UNAUTHORIZED(401, "Unauthorized"),
@@ -31,6 +35,8 @@ public enum HttpStatus {
 
     UNSUPPORTED_MEDIA_TYPE(415, "Unsupported Media Type"),
 
+    RANGE_NOT_SATISFIABLE(416, "Range Not Satisfiable"),
+
     INTERNAL_SERVER_ERROR(500, "Internal Server Error"),
 
     NOT_IMPLEMENTED(501, "Not Implemented");
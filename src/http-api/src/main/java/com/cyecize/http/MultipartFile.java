@@ -1,6 +1,10 @@
 package com.cyecize.http;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 public interface MultipartFile {
 
@@ -15,4 +19,26 @@ public interface MultipartFile {
     InputStream getInputStream();
 
     byte[] getBytes();
+
+    /**
+     * Writes the content to the given file, replacing it if it exists.
+     * Content that is stored in a temporary file is moved with a rename when possible instead of being copied.
+     * By default the content stream is copied to the file.
+     */
+    default void transferTo(File destination) throws IOException {
+        try (final InputStream inputStream = this.getInputStream()) {
+            Files.copy(inputStream, destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Closes the content stream and deletes the temporary file that holds the content, if there is one.
+     * By default only the content stream is closed.
+     */
+    default void dispose() throws IOException {
+        final InputStream inputStream = this.getInputStream();
+        if (inputStream != null) {
+            inputStream.close();
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package com.cyecize.javache;
+
+/**
+ * Enum that contains the formats in which Javache can write the access log.
+ * Specified with {@link JavacheConfigValue#ACCESS_LOG_FORMAT}.
+ */
+public enum AccessLogFormat {
+
+    /**
+     * One JSON object per line.
+     */
+    JSON,
+
+    /**
+     * The combined log format followed by the name of the request handler and the timings.
+     */
+    COMBINED,
+}
@@ -12,6 +12,11 @@ public enum JavacheConfigValue {
      */
     MAX_REQUEST_SIZE,
 
+    /**
+     * Specify the max size in bytes of the request line and headers, defaults to 8192.
+     */
+    MAX_REQUEST_HEADER_SIZE,
+
     /**
      * If true, request content will be logged.
      */
@@ -42,6 +47,46 @@ public enum JavacheConfigValue {
      */
     LOGS_DIR_NAME,
 
+    /**
+     * Specify how many log messages can wait to be written, defaults to 8192.
+     */
+    LOGS_QUEUE_SIZE,
+
+    /**
+     * Specify what happens to a log message when the queue is full, one of {@link LogOverflowPolicy}, defaults to BLOCK.
+     */
+    LOGS_OVERFLOW_POLICY,
+
+    /**
+     * Specify the size in bytes after which the log file is rotated, defaults to 10485760 (10MB).
+     * Setting to 0 disables size based rotation.
+     */
+    LOGS_MAX_FILE_SIZE,
+
+    /**
+     * Specify the number of minutes after which the log file is rotated, defaults to 1440 (one day).
+     * Setting to 0 disables time based rotation.
+     */
+    LOGS_ROTATION_INTERVAL,
+
+    /**
+     * Specify how many rotated log files are kept, defaults to 10.
+     * Setting to 0 keeps all of them.
+     */
+    LOGS_MAX_ROTATED_FILES,
+
+    /**
+     * Setting to true will result in one record per request being written to access.log in the logs folder,
+     * defaults to false.
+     * Records are dropped rather than slowing down requests if the log queue is full.
+     */
+    ACCESS_LOG_ENABLED,
+
+    /**
+     * Specify the format of the access log, one of {@link AccessLogFormat}, defaults to JSON.
+     */
+    ACCESS_LOG_FORMAT,
+
     /**
      * Specify the folder name within a web app JAR in which the compile output will be located, defaults to classes.
      */
@@ -80,6 +125,58 @@ public enum JavacheConfigValue {
      */
     BROCCOLINA_TRACK_RESOURCES,
 
+    /**
+     * Setting to true will result in broccolina creating a gzip compressed copy (style.css.gz) of every
+     * compressible resource of an app after extracting its JAR, defaults to false.
+     */
+    BROCCOLINA_PRECOMPRESS_RESOURCES,
+
+    /**
+     * Specify the comma separated extensions of resources that broccolina compresses,
+     * defaults to css, js, mjs, html, htm, svg, json, xml, txt, map.
+     */
+    BROCCOLINA_PRECOMPRESS_EXTENSIONS,
+
+    /**
+     * Setting to true will result in broccolina compressing solet responses with gzip or deflate
+     * for clients that accept it, defaults to false.
+     * Pages that reflect user input next to secrets (e.g. CSRF tokens) should not be compressed (BREACH).
+     */
+    BROCCOLINA_COMPRESS_RESPONSES,
+
+    /**
+     * Specify the min size in bytes of a solet response that gets compressed, defaults to 1024.
+     */
+    BROCCOLINA_COMPRESSION_MIN_SIZE,
+
+    /**
+     * Specify the compression level from 1 (fastest) to 9 (smallest), defaults to 6.
+     */
+    BROCCOLINA_COMPRESSION_LEVEL,
+
+    /**
+     * Specify the comma separated media types that are not compressed since they are already compressed,
+     * a value ending with "/" excludes all media types starting with it, e.g. image/.
+     */
+    BROCCOLINA_COMPRESSION_EXCLUDED_MEDIA_TYPES,
+
+    /**
+     * Specify how many minutes a session can go unused before it expires, defaults to 30.
+     * Setting to 0 disables the idle timeout.
+     */
+    BROCCOLINA_SESSION_IDLE_TIMEOUT,
+
+    /**
+     * Specify how many minutes a session can live regardless of its use, defaults to 1440 (one day).
+     * Setting to 0 disables the max age.
+     */
+    BROCCOLINA_SESSION_MAX_AGE,
+
+    /**
+     * Specify how often in seconds invalid and expired sessions are removed in the background, defaults to 60.
+     */
+    BROCCOLINA_SESSION_SWEEP_INTERVAL,
+
     /**
      * Specify the server port, defaults to 8000
      */
@@ -90,6 +187,56 @@ public enum JavacheConfigValue {
      */
     SERVER_STARTUP_ARGS,
 
+    /**
+     * Specify how accepted connections are executed, one of {@link ServerThreadingMode}, defaults to POOL.
+     */
+    SERVER_THREADING_MODE,
+
+    /**
+     * Specify the number of threads that are always kept alive for handling connections, defaults to 10.
+     */
+    SERVER_MIN_THREADS,
+
+    /**
+     * Specify the max number of threads that can handle connections at the same time, defaults to 200.
+     * Additional threads are only created when the accept queue is full.
+     */
+    SERVER_MAX_THREADS,
+
+    /**
+     * Specify the number of accepted connections that can wait for a free thread, defaults to 100.
+     * Connections that do not fit in the queue are answered with 503 Service Unavailable.
+     */
+    SERVER_ACCEPT_QUEUE_SIZE,
+
+    /**
+     * Specify how long in milliseconds an idle persistent connection waits for its next request, defaults to 5000.
+     */
+    SERVER_KEEP_ALIVE_TIMEOUT,
+
+    /**
+     * Specify the max number of requests that can be served over one connection, defaults to 100.
+     * Setting to 1 disables persistent connections.
+     */
+    SERVER_MAX_KEEP_ALIVE_REQUESTS,
+
+    /**
+     * Setting to true will result in connections being multiplexed by selector threads and
+     * only passed to a worker thread once a request head has been received, defaults to false.
+     */
+    SERVER_USE_NIO,
+
+    /**
+     * Specify the number of selector threads when SERVER_USE_NIO is enabled, defaults to the number of processors.
+     */
+    SERVER_NIO_REACTOR_THREADS,
+
+    /**
+     * Specify the max size in bytes of a request head (request line and headers) when SERVER_USE_NIO is enabled,
+     * defaults to 16384.
+     */
+    SERVER_NIO_HEAD_BUFFER_SIZE,
+
     /**
      * The context directory of Javache.
      */
@@ -115,6 +262,64 @@ public enum JavacheConfigValue {
      */
     ENABLE_RESOURCE_CACHING,
 
+    /**
+     * Setting to false will result in static resources being copied through a buffer instead of being
+     * sent to the socket directly by the OS (FileChannel.transferTo), defaults to true.
+     */
+    ENABLE_RESOURCE_ZERO_COPY,
+
+    /**
+     * Specify the size in bytes of the buffer used for sending static resources when zero copy is not possible,
+     * defaults to 65536.
+     */
+    RESOURCE_TRANSFER_BUFFER_SIZE,
+
+    /**
+     * Specify the max total size in bytes of static resources kept in memory, defaults to 33554432 (32MB).
+     * Setting to 0 disables the in-memory resource cache.
+     */
+    RESOURCE_CACHE_MAX_SIZE,
+
+    /**
+     * Specify the max size in bytes of a static resource that can be kept in memory, defaults to 262144 (256KB).
+     */
+    RESOURCE_CACHE_MAX_FILE_SIZE,
+
+    /**
+     * Setting to true will result in cached static resources being stored outside of the heap, defaults to false.
+     */
+    RESOURCE_CACHE_OFF_HEAP,
+
+    /**
+     * Setting to false will result in pre-compressed copies of static resources (style.css.br, style.css.gz)
+     * not being served to clients that accept them, defaults to true.
+     */
+    ENABLE_PRECOMPRESSED_RESOURCES,
+
+    /**
+     * Setting to false will result in Toyote looking up static resources on the file system on every request
+     * instead of keeping an index of the resource files, defaults to true.
+     */
+    ENABLE_RESOURCE_INDEX,
+
+    /**
+     * Specify the size in bytes of the buffer used for reading multipart request bodies, defaults to 65536.
+     */
+    MULTIPART_BUFFER_SIZE,
+
+    /**
+     * Specify the max size in bytes of a multipart part that is kept in memory, defaults to 65536.
+     * Bigger parts are written to a temporary file.
+     */
+    MULTIPART_MAX_MEMORY_PER_PART,
+
+    /**
+     * Specify the folder name in which uploaded files bigger than MULTIPART_MAX_MEMORY_PER_PART
+     * will be temporarily stored, defaults to temp.
+     * The folder should be on the same file system as the assets folder so that saved files can be renamed.
+     */
+    MULTIPART_TEMP_DIR_NAME,
+
     /**
      * Specify an expression for the caching type for each resource media type.
      * Format - media/type1, media/type2 @ header-value & media/type3 @ header-value
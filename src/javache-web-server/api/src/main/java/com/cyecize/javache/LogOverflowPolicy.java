@@ -0,0 +1,18 @@
+package com.cyecize.javache;
+
+/**
+ * Enum that contains what Javache does with a log message when the log queue is full.
+ * Specified with {@link JavacheConfigValue#LOGS_OVERFLOW_POLICY}.
+ */
+public enum LogOverflowPolicy {
+
+    /**
+     * The logging thread waits until the message can be queued.
+     */
+    BLOCK,
+
+    /**
+     * The message is dropped and the number of dropped messages is logged later.
+     */
+    DROP,
+}
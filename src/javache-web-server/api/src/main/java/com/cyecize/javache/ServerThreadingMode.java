@@ -0,0 +1,19 @@
+package com.cyecize.javache;
+
+/**
+ * Enum that contains the ways in which Javache can execute accepted connections.
+ * Specified with {@link JavacheConfigValue#SERVER_THREADING_MODE}.
+ */
+public enum ServerThreadingMode {
+
+    /**
+     * Connections are handled by a bounded pool of platform threads.
+     */
+    POOL,
+
+    /**
+     * Every connection is handled by its own virtual thread.
+     * Requires Java 21 or newer, older runtimes fall back to {@link #POOL}.
+     */
+    VIRTUAL
+}
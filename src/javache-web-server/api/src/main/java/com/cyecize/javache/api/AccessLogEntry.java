@@ -0,0 +1,168 @@
+package com.cyecize.javache.api;
+
+import java.net.InetAddress;
+
+/**
+ * Access log record of a single request.
+ * Javache adds a new instance to every {@link RequestHandlerSharedData} under
+ * {@link SharedDataPropertyNames#ACCESS_LOG_ENTRY} when the access log is enabled,
+ * request handlers fill in what they know about the request and Javache fills in the timings.
+ * Timings are in nanoseconds.
+ */
+public class AccessLogEntry {
+
+    private final long time;
+
+    private final InetAddress remoteAddress;
+
+    private String method;
+
+    private String path;
+
+    private String protocol;
+
+    private int status;
+
+    private String referer;
+
+    private String userAgent;
+
+    private String handlerName;
+
+    private long bytesWritten;
+
+    private long parseNanos;
+
+    private long handlerNanos;
+
+    private long writeNanos;
+
+    private long totalNanos;
+
+    public AccessLogEntry(long time, InetAddress remoteAddress) {
+        this.time = time;
+        this.remoteAddress = remoteAddress;
+    }
+
+    /**
+     * @return the time at which the request processing started in milliseconds.
+     */
+    public long getTime() {
+        return this.time;
+    }
+
+    public InetAddress getRemoteAddress() {
+        return this.remoteAddress;
+    }
+
+    public String getMethod() {
+        return this.method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getPath() {
+        return this.path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public String getProtocol() {
+        return this.protocol;
+    }
+
+    public void setProtocol(String protocol) {
+        this.protocol = protocol;
+    }
+
+    /**
+     * @return the response status code or 0 if it is not known.
+     */
+    public int getStatus() {
+        return this.status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getReferer() {
+        return this.referer;
+    }
+
+    public void setReferer(String referer) {
+        this.referer = referer;
+    }
+
+    public String getUserAgent() {
+        return this.userAgent;
+    }
+
+    public void setUserAgent(String userAgent) {
+        this.userAgent = userAgent;
+    }
+
+    /**
+     * @return the simple class name of the request handler that intercepted the request or null if none did.
+     */
+    public String getHandlerName() {
+        return this.handlerName;
+    }
+
+    public void setHandlerName(String handlerName) {
+        this.handlerName = handlerName;
+    }
+
+    public long getBytesWritten() {
+        return this.bytesWritten;
+    }
+
+    public void setBytesWritten(long bytesWritten) {
+        this.bytesWritten = bytesWritten;
+    }
+
+    /**
+     * @return the time spent in the request handlers that ran before the intercepting one, e.g. parsing the request.
+     */
+    public long getParseNanos() {
+        return this.parseNanos;
+    }
+
+    public void setParseNanos(long parseNanos) {
+        this.parseNanos = parseNanos;
+    }
+
+    /**
+     * @return the time spent in the intercepting request handler, without the time spent writing to the connection.
+     */
+    public long getHandlerNanos() {
+        return this.handlerNanos;
+    }
+
+    public void setHandlerNanos(long handlerNanos) {
+        this.handlerNanos = handlerNanos;
+    }
+
+    public long getWriteNanos() {
+        return this.writeNanos;
+    }
+
+    public void setWriteNanos(long writeNanos) {
+        this.writeNanos = writeNanos;
+    }
+
+    /**
+     * @return the time spent processing the request, including the request destroy handlers.
+     */
+    public long getTotalNanos() {
+        return this.totalNanos;
+    }
+
+    public void setTotalNanos(long totalNanos) {
+        this.totalNanos = totalNanos;
+    }
+}
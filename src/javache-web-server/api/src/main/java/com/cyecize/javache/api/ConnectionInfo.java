@@ -0,0 +1,39 @@
+package com.cyecize.javache.api;
+
+/**
+ * Describes the connection on which the current request was received.
+ * Javache adds a new instance to every {@link RequestHandlerSharedData}
+ * under {@link SharedDataPropertyNames#CONNECTION_INFO}.
+ */
+public class ConnectionInfo {
+
+    private final boolean keepAliveAllowed;
+
+    private boolean keepAlive;
+
+    public ConnectionInfo(boolean keepAliveAllowed) {
+        this.keepAliveAllowed = keepAliveAllowed;
+        this.keepAlive = false;
+    }
+
+    /**
+     * @return false if the connection has reached its max number of requests and will be closed
+     * after the current request regardless of what the client asks for.
+     */
+    public boolean isKeepAliveAllowed() {
+        return this.keepAliveAllowed;
+    }
+
+    /**
+     * Request handlers set this to true once they know the client wants a persistent connection
+     * and the response is framed with Content-Length or chunked encoding.
+     * Has no effect if keep alive is not allowed.
+     */
+    public void setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive && this.keepAliveAllowed;
+    }
+
+    public boolean isKeepAlive() {
+        return this.keepAlive;
+    }
+}
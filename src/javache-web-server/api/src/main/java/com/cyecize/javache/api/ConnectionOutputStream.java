@@ -0,0 +1,63 @@
+package com.cyecize.javache.api;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Buffered connection output stream that counts the bytes written to the connection and the time spent writing them.
+ * The counters are never reset, take their difference to measure a single request.
+ */
+public class ConnectionOutputStream extends BufferedOutputStream {
+
+    private long bytesWritten;
+
+    private long writeNanos;
+
+    public ConnectionOutputStream(OutputStream socketOutputStream) {
+        super(socketOutputStream);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        final long startTime = System.nanoTime();
+        super.write(b);
+
+        this.bytesWritten++;
+        this.writeNanos += System.nanoTime() - startTime;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        final long startTime = System.nanoTime();
+        super.write(bytes, offset, length);
+
+        this.bytesWritten += length;
+        this.writeNanos += System.nanoTime() - startTime;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        final long startTime = System.nanoTime();
+        super.flush();
+
+        this.writeNanos += System.nanoTime() - startTime;
+    }
+
+    /**
+     * Request handlers that write to the connection without this stream
+     * (e.g. through {@link SocketChannelOutputStream#getChannel()}) report what they wrote here.
+     */
+    public void recordDirectWrite(long bytes, long nanos) {
+        this.bytesWritten += bytes;
+        this.writeNanos += nanos;
+    }
+
+    public long getBytesWritten() {
+        return this.bytesWritten;
+    }
+
+    public long getWriteNanos() {
+        return this.writeNanos;
+    }
+}
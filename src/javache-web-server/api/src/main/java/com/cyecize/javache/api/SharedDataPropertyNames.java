@@ -8,4 +8,11 @@ public final class SharedDataPropertyNames {
   public static final String HTTP_REQUEST = "HTTP_REQUEST";
 
   public static final String HTTP_RESPONSE = "HTTP_RESPONSE";
+
+  public static final String CONNECTION_INFO = "CONNECTION_INFO";
+
+  /**
+   * Only present if the access log is enabled.
+   */
+  public static final String ACCESS_LOG_ENTRY = "ACCESS_LOG_ENTRY";
 }
@@ -0,0 +1,25 @@
+package com.cyecize.javache.api;
+
+import java.io.OutputStream;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Buffered connection output stream which gives request handlers access to the underlying channel.
+ * Request handlers can use the channel to write data without copying it through the heap
+ * (e.g. with FileChannel.transferTo), but have to flush the stream first.
+ * The channel is always in blocking mode while request handlers are running.
+ * Whatever is written to the channel should be reported with {@link #recordDirectWrite(long, long)}.
+ */
+public class SocketChannelOutputStream extends ConnectionOutputStream {
+
+    private final SocketChannel channel;
+
+    public SocketChannelOutputStream(OutputStream socketOutputStream, SocketChannel channel) {
+        super(socketOutputStream);
+        this.channel = channel;
+    }
+
+    public SocketChannel getChannel() {
+        return this.channel;
+    }
+}
@@ -4,9 +4,10 @@ import com.cyecize.ioc.MagicInjector;
 import com.cyecize.ioc.config.MagicConfiguration;
 import com.cyecize.ioc.services.DependencyContainer;
 import com.cyecize.javache.JavacheConfigValue;
+import com.cyecize.javache.ServerThreadingMode;
 import com.cyecize.javache.api.IoC;
 import com.cyecize.javache.core.Server;
-import com.cyecize.javache.core.ServerImpl;
+import com.cyecize.javache.core.ServerFactory;
 import com.cyecize.javache.embedded.internal.JavacheConfigBeanCreator;
 import com.cyecize.javache.embedded.internal.JavacheEmbeddedComponent;
 import com.cyecize.javache.services.JavacheConfigService;
@@ -27,10 +28,22 @@ public class JavacheEmbedded {
         startServer(port, new HashMap<>(), mainClass);
     }
 
+    public static void startServer(Integer port, ServerThreadingMode threadingMode, Class<?> mainClass) {
+        startServer(port, new HashMap<>(), mainClass, threadingMode, null);
+    }
+
     public static void startServer(Integer port, Map<String, Object> config, Class<?> mainClass, Runnable onServerLoadedEvent) {
+        startServer(port, config, mainClass, null, onServerLoadedEvent);
+    }
+
+    public static void startServer(Integer port, Map<String, Object> config, Class<?> mainClass,
+                                   ServerThreadingMode threadingMode, Runnable onServerLoadedEvent) {
         LoggingService loggingService = null;
 
         try {
+            if (threadingMode != null) {
+                config.put(JavacheConfigValue.SERVER_THREADING_MODE.name(), threadingMode.name());
+            }
 
             final MagicConfiguration magicConfiguration = new MagicConfiguration()
                     .scanning().addCustomServiceAnnotation(JavacheEmbeddedComponent.class)
@@ -51,11 +64,13 @@ public class JavacheEmbedded {
                     new ArrayList<>(), null, null
             );
 
-            final Server server = new ServerImpl(
-                    dependencyContainer.getService(JavacheConfigService.class).getConfigParam(JavacheConfigValue.SERVER_PORT, int.class),
+            final JavacheConfigService configService = dependencyContainer.getService(JavacheConfigService.class);
+
+            final Server server = new ServerFactory(
                     dependencyContainer.getService(LoggingService.class),
-                    dependencyContainer.getService(RequestHandlerLoadingService.class)
-            );
+                    dependencyContainer.getService(RequestHandlerLoadingService.class),
+                    configService
+            ).createServer(configService.getConfigParam(JavacheConfigValue.SERVER_PORT, int.class));
 
             if (onServerLoadedEvent != null) {
                 onServerLoadedEvent.run();
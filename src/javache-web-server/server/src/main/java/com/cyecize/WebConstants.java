@@ -16,6 +16,48 @@ public final class WebConstants {
 
     public static final int JAVACHE_CONFIG_EMPTY_PORT = -1;
 
+    public static final int DEFAULT_MAX_REQUEST_HEADER_SIZE = 8192;
+
+    public static final int DEFAULT_RESOURCE_TRANSFER_BUFFER_SIZE = 65536;
+
+    public static final int DEFAULT_RESOURCE_CACHE_MAX_SIZE = 32 * 1024 * 1024;
+
+    public static final int DEFAULT_RESOURCE_CACHE_MAX_FILE_SIZE = 256 * 1024;
+
+    public static final int DEFAULT_LOGS_QUEUE_SIZE = 8192;
+
+    public static final int DEFAULT_LOGS_MAX_FILE_SIZE = 10 * 1024 * 1024;
+
+    public static final int DEFAULT_LOGS_ROTATION_INTERVAL = 24 * 60;
+
+    public static final int DEFAULT_LOGS_MAX_ROTATED_FILES = 10;
+
+    public static final int DEFAULT_MULTIPART_BUFFER_SIZE = 65536;
+
+    public static final int DEFAULT_MULTIPART_MAX_MEMORY_PER_PART = 65536;
+
+    public static final int DEFAULT_COMPRESSION_MIN_SIZE = 1024;
+
+    public static final int DEFAULT_COMPRESSION_LEVEL = 6;
+
+    public static final int DEFAULT_SESSION_IDLE_TIMEOUT = 30;
+
+    public static final int DEFAULT_SESSION_MAX_AGE = 24 * 60;
+
+    public static final int DEFAULT_SESSION_SWEEP_INTERVAL = 60;
+
+    public static final int DEFAULT_SERVER_MIN_THREADS = 10;
+
+    public static final int DEFAULT_SERVER_MAX_THREADS = 200;
+
+    public static final int DEFAULT_SERVER_ACCEPT_QUEUE_SIZE = 100;
+
+    public static final int DEFAULT_SERVER_KEEP_ALIVE_TIMEOUT = 5000;
+
+    public static final int DEFAULT_SERVER_MAX_KEEP_ALIVE_REQUESTS = 100;
+
+    public static final int DEFAULT_SERVER_NIO_HEAD_BUFFER_SIZE = 16384;
+
     public static final String WORKING_DIRECTORY = URLDecoder.decode(StartUp.class.getResource("").toString()
             .replace("file:/", "")
             .replace(START_UP_PACKAGE_PATH, ""), StandardCharsets.UTF_8)
@@ -26,6 +68,12 @@ public final class WebConstants {
             .and()
             .build();
 
+    public static final String DEFAULT_PRECOMPRESS_EXTENSIONS = "css, js, mjs, html, htm, svg, json, xml, txt, map";
+
+    public static final String DEFAULT_COMPRESSION_EXCLUDED_MEDIA_TYPES = "image/, video/, audio/, font/woff, font/woff2, " +
+            "application/zip, application/gzip, application/x-gzip, application/x-7z-compressed, " +
+            "application/x-rar-compressed, application/pdf, application/octet-stream";
+
     public static final String DEFAULT_CACHING_EXPRESSION = "image/png, image/gif, image/jpeg @ max-age=120 " +
             "& text/css @ max-age=84600, public " +
             "& application/javascript @ max-age=7200";
@@ -0,0 +1,152 @@
+package com.cyecize.javache.core;
+
+import com.cyecize.javache.AccessLogFormat;
+import com.cyecize.javache.JavacheConfigValue;
+import com.cyecize.javache.LogOverflowPolicy;
+import com.cyecize.javache.api.AccessLogEntry;
+import com.cyecize.javache.services.JavacheConfigService;
+import com.cyecize.javache.services.LoggingService;
+import com.cyecize.javache.utils.AsyncLogAppender;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Writes one record per request to the access log.
+ * Records are formatted by the {@link AsyncLogAppender} writer thread and are dropped if the queue is full,
+ * so that writing the access log never slows down requests.
+ */
+public class AccessLogger {
+
+    private static final String ACCESS_LOG_FILE_NAME = "access.log";
+
+    private static final String DROPPED_RECORDS_FORMAT = "%d access log records were dropped.";
+
+    private static final String EMPTY_VALUE = "-";
+
+    private static final DateTimeFormatter COMBINED_DATE_FORMAT =
+            DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH).withZone(ZoneOffset.UTC);
+
+    private final AccessLogFormat format;
+
+    private final AsyncLogAppender appender;
+
+    public AccessLogger(JavacheConfigService configService, LoggingService loggingService) {
+        this.format = AccessLogFormat.valueOf(
+                configService.getConfigParamString(JavacheConfigValue.ACCESS_LOG_FORMAT).trim().toUpperCase()
+        );
+
+        this.appender = new AsyncLogAppender(
+                configService,
+                ACCESS_LOG_FILE_NAME,
+                false,
+                LogOverflowPolicy.DROP,
+                dropped -> {
+                    loggingService.warning(String.format(DROPPED_RECORDS_FORMAT, dropped));
+                    return null;
+                }
+        );
+    }
+
+    /**
+     * @return null if the access log is disabled.
+     */
+    public static AccessLogger createIfEnabled(JavacheConfigService configService, LoggingService loggingService) {
+        if (!configService.getConfigParam(JavacheConfigValue.ACCESS_LOG_ENABLED, boolean.class)) {
+            return null;
+        }
+
+        return new AccessLogger(configService, loggingService);
+    }
+
+    public void log(AccessLogEntry entry) {
+        if (this.format == AccessLogFormat.COMBINED) {
+            this.appender.append(line -> this.appendCombined(entry, line));
+        } else {
+            this.appender.append(line -> this.appendJson(entry, line));
+        }
+    }
+
+    /**
+     * host - - [date] "method path protocol" status bytes "referer" "user-agent" handler parse handler write total
+     */
+    private void appendCombined(AccessLogEntry entry, StringBuilder line) {
+        line.append(this.getRemoteAddress(entry)).append(" - - [")
+                .append(COMBINED_DATE_FORMAT.format(Instant.ofEpochMilli(entry.getTime()))).append("] \"")
+                .append(this.orEmpty(entry.getMethod())).append(' ')
+                .append(this.quoted(entry.getPath())).append(' ')
+                .append(this.orEmpty(entry.getProtocol())).append("\" ")
+                .append(entry.getStatus() == 0 ? EMPTY_VALUE : String.valueOf(entry.getStatus())).append(' ')
+                .append(entry.getBytesWritten()).append(" \"")
+                .append(this.quoted(entry.getReferer())).append("\" \"")
+                .append(this.quoted(entry.getUserAgent())).append("\" ")
+                .append(this.orEmpty(entry.getHandlerName())).append(' ')
+                .append(entry.getParseNanos()).append(' ')
+                .append(entry.getHandlerNanos()).append(' ')
+                .append(entry.getWriteNanos()).append(' ')
+                .append(entry.getTotalNanos());
+    }
+
+    private void appendJson(AccessLogEntry entry, StringBuilder line) {
+        line.append('{');
+        this.appendJsonField(line, "time", Instant.ofEpochMilli(entry.getTime()).toString()).append(',');
+        this.appendJsonField(line, "remoteAddress", this.getRemoteAddress(entry)).append(',');
+        this.appendJsonField(line, "method", entry.getMethod()).append(',');
+        this.appendJsonField(line, "path", entry.getPath()).append(',');
+        this.appendJsonField(line, "protocol", entry.getProtocol()).append(',');
+        line.append("\"status\":").append(entry.getStatus()).append(',');
+        line.append("\"bytes\":").append(entry.getBytesWritten()).append(',');
+        this.appendJsonField(line, "handler", entry.getHandlerName()).append(',');
+        line.append("\"parseNanos\":").append(entry.getParseNanos()).append(',');
+        line.append("\"handlerNanos\":").append(entry.getHandlerNanos()).append(',');
+        line.append("\"writeNanos\":").append(entry.getWriteNanos()).append(',');
+        line.append("\"totalNanos\":").append(entry.getTotalNanos()).append(',');
+        this.appendJsonField(line, "referer", entry.getReferer()).append(',');
+        this.appendJsonField(line, "userAgent", entry.getUserAgent());
+        line.append('}');
+    }
+
+    private StringBuilder appendJsonField(StringBuilder line, String name, String value) {
+        line.append('"').append(name).append("\":");
+
+        if (value == null) {
+            return line.append("null");
+        }
+
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char ch = value.charAt(i);
+
+            if (ch == '"' || ch == '\\') {
+                line.append('\\').append(ch);
+            } else if (ch < 0x20) {
+                line.append(String.format("\\u%04x", (int) ch));
+            } else {
+                line.append(ch);
+            }
+        }
+
+        return line.append('"');
+    }
+
+    private String getRemoteAddress(AccessLogEntry entry) {
+        if (entry.getRemoteAddress() == null) {
+            return EMPTY_VALUE;
+        }
+
+        return entry.getRemoteAddress().getHostAddress();
+    }
+
+    /**
+     * Escapes the quotes of a value that is written inside quotes.
+     */
+    private String quoted(String value) {
+        return this.orEmpty(value).replace("\"", "\\\"");
+    }
+
+    private String orEmpty(String value) {
+        return value == null ? EMPTY_VALUE : value;
+    }
+}
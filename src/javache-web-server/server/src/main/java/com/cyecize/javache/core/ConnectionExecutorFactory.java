@@ -0,0 +1,104 @@
+package com.cyecize.javache.core;
+
+import com.cyecize.javache.JavacheConfigValue;
+import com.cyecize.javache.ServerThreadingMode;
+import com.cyecize.javache.services.JavacheConfigService;
+import com.cyecize.javache.services.LoggingService;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the {@link ExecutorService} that {@link ServerImpl} uses for handling accepted connections.
+ */
+public class ConnectionExecutorFactory {
+
+    private static final long IDLE_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private static final String THREAD_NAME_FORMAT = "javache-connection-%d";
+
+    private static final String VIRTUAL_THREAD_EXECUTOR_METHOD_NAME = "newVirtualThreadPerTaskExecutor";
+
+    private static final String VIRTUAL_THREADS_NOT_SUPPORTED_MSG =
+            "Virtual threads are not supported by this Java runtime, falling back to thread pool.";
+
+    private final JavacheConfigService configService;
+
+    private final LoggingService loggingService;
+
+    public ConnectionExecutorFactory(JavacheConfigService configService, LoggingService loggingService) {
+        this.configService = configService;
+        this.loggingService = loggingService;
+    }
+
+    /**
+     * Creates an executor depending on the SERVER_THREADING_MODE config.
+     *
+     * @return executor for {@link ConnectionHandler} tasks.
+     */
+    public ExecutorService createExecutor() {
+        final ServerThreadingMode threadingMode = ServerThreadingMode.valueOf(
+                this.configService.getConfigParamString(JavacheConfigValue.SERVER_THREADING_MODE).trim().toUpperCase()
+        );
+
+        if (threadingMode == ServerThreadingMode.VIRTUAL) {
+            return this.createVirtualThreadExecutor();
+        }
+
+        return this.createThreadPoolExecutor();
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for every connection.
+     * The factory method is resolved reflectively since it is only present in Java 21 or newer.
+     *
+     * @return virtual thread executor or thread pool if the runtime does not support virtual threads.
+     */
+    private ExecutorService createVirtualThreadExecutor() {
+        try {
+            final Method factoryMethod = Executors.class.getMethod(VIRTUAL_THREAD_EXECUTOR_METHOD_NAME);
+
+            return (ExecutorService) factoryMethod.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException ex) {
+            this.loggingService.warning(VIRTUAL_THREADS_NOT_SUPPORTED_MSG);
+
+            return this.createThreadPoolExecutor();
+        }
+    }
+
+    /**
+     * Creates a thread pool which keeps SERVER_MIN_THREADS threads alive and grows up to SERVER_MAX_THREADS
+     * once SERVER_ACCEPT_QUEUE_SIZE connections are waiting.
+     * When both the pool and the queue are full, the connection is rejected with 503.
+     */
+    private ExecutorService createThreadPoolExecutor() {
+        final int maxThreads = Math.max(1, this.configService.getConfigParam(JavacheConfigValue.SERVER_MAX_THREADS, int.class));
+        final int minThreads = Math.min(
+                maxThreads,
+                Math.max(0, this.configService.getConfigParam(JavacheConfigValue.SERVER_MIN_THREADS, int.class))
+        );
+        final int queueSize = Math.max(1, this.configService.getConfigParam(JavacheConfigValue.SERVER_ACCEPT_QUEUE_SIZE, int.class));
+
+        return new ThreadPoolExecutor(
+                minThreads,
+                maxThreads,
+                IDLE_THREAD_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                this.createThreadFactory(),
+                new ServiceUnavailableRejectionHandler(this.loggingService)
+        );
+    }
+
+    private ThreadFactory createThreadFactory() {
+        final AtomicInteger threadCounter = new AtomicInteger();
+
+        return runnable -> new Thread(runnable, String.format(THREAD_NAME_FORMAT, threadCounter.incrementAndGet()));
+    }
+}
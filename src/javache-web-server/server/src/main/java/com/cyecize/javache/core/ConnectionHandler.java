@@ -0,0 +1,16 @@
+package com.cyecize.javache.core;
+
+import java.io.IOException;
+
+/**
+ * Task which handles all requests of a single client connection.
+ */
+public interface ConnectionHandler extends Runnable {
+
+    /**
+     * Called instead of {@link #run()} when there are no resources left to handle the connection.
+     *
+     * @param response - raw HTTP response that is sent before the connection is closed.
+     */
+    void reject(byte[] response) throws IOException;
+}
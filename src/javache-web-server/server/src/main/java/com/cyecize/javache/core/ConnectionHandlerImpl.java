@@ -1,64 +1,112 @@
 package com.cyecize.javache.core;
 
-import com.cyecize.javache.api.RequestDestroyHandler;
-import com.cyecize.javache.api.RequestHandler;
-import com.cyecize.javache.api.RequestHandlerSharedData;
+import com.cyecize.javache.api.ConnectionInfo;
+import com.cyecize.javache.api.ConnectionOutputStream;
+import com.cyecize.javache.api.SocketChannelOutputStream;
 import com.cyecize.javache.services.LoggingService;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
 import java.net.Socket;
-import java.util.List;
 
-public class ConnectionHandlerImpl implements Runnable {
+public class ConnectionHandlerImpl implements ConnectionHandler {
 
     private final Socket clientSocket;
 
-    private final List<RequestHandler> requestHandlers;
-
-    private final List<RequestDestroyHandler> requestDestroyHandlers;
+    private final RequestHandlerChain requestHandlerChain;
 
     private final LoggingService loggingService;
 
-    public ConnectionHandlerImpl(Socket clientSocket, List<RequestHandler> requestHandlers,
-                                 List<RequestDestroyHandler> requestDestroyHandlers,
-                                 LoggingService loggingService) {
+    private final int keepAliveTimeout;
+
+    private final int maxKeepAliveRequests;
+
+    public ConnectionHandlerImpl(Socket clientSocket, RequestHandlerChain requestHandlerChain,
+                                 LoggingService loggingService, int keepAliveTimeout, int maxKeepAliveRequests) {
         this.clientSocket = clientSocket;
-        this.requestHandlers = requestHandlers;
-        this.requestDestroyHandlers = requestDestroyHandlers;
+        this.requestHandlerChain = requestHandlerChain;
         this.loggingService = loggingService;
+        this.keepAliveTimeout = keepAliveTimeout;
+        this.maxKeepAliveRequests = maxKeepAliveRequests;
     }
 
     @Override
     public void run() {
-        try {
+        try (this.clientSocket) {
             this.processClientConnection();
-            this.clientSocket.close();
         } catch (Throwable e) {
             this.loggingService.printStackTrace(e);
         }
     }
 
+    @Override
+    public void reject(byte[] response) throws IOException {
+        try (this.clientSocket) {
+            final OutputStream outputStream = this.clientSocket.getOutputStream();
+            outputStream.write(response);
+            outputStream.flush();
+        }
+    }
+
     /**
-     * Iterates through all request handles and executes them until one intercepts.
-     * Request handlers are kept in order.
+     * Processes requests on the same connection for as long as the request handlers
+     * mark the connection as keep alive and the max number of requests is not reached.
+     * The streams are wrapped once per connection so that bytes buffered for the next request are not lost.
      */
     private void processClientConnection() throws IOException {
-        final RequestHandlerSharedData sharedData = new RequestHandlerSharedData();
+        final InputStream inputStream = new BufferedInputStream(this.clientSocket.getInputStream());
+        final OutputStream outputStream = this.createOutputStream();
+        final InetAddress remoteAddress = this.clientSocket.getInetAddress();
+
+        int requestCount = 0;
 
-        for (RequestHandler requestHandler : this.requestHandlers) {
-            boolean requestHandled = requestHandler.handleRequest(
-                    this.clientSocket.getInputStream(),
-                    this.clientSocket.getOutputStream(),
-                    sharedData
-            );
+        do {
+            requestCount++;
 
-            if (requestHandled) {
+            final ConnectionInfo connectionInfo = new ConnectionInfo(requestCount < this.maxKeepAliveRequests);
+            this.requestHandlerChain.processRequest(inputStream, outputStream, connectionInfo, remoteAddress);
+
+            if (!connectionInfo.isKeepAlive()) {
                 break;
             }
+        } while (this.awaitNextRequest(inputStream));
+    }
+
+    /**
+     * Sockets accepted by {@link ServerImpl} are backed by a channel, which is exposed to the request handlers.
+     */
+    private OutputStream createOutputStream() throws IOException {
+        if (this.clientSocket.getChannel() != null) {
+            return new SocketChannelOutputStream(this.clientSocket.getOutputStream(), this.clientSocket.getChannel());
         }
 
-        for (RequestDestroyHandler requestDestroyHandler : this.requestDestroyHandlers) {
-            requestDestroyHandler.destroy(sharedData);
+        return new ConnectionOutputStream(this.clientSocket.getOutputStream());
+    }
+
+    /**
+     * Waits up to the keep alive timeout for the first byte of the next request without consuming it.
+     *
+     * @return false if the client closed the connection or did not send anything in time.
+     */
+    private boolean awaitNextRequest(InputStream inputStream) {
+        try {
+            final int requestTimeout = this.clientSocket.getSoTimeout();
+            this.clientSocket.setSoTimeout(this.keepAliveTimeout);
+
+            inputStream.mark(1);
+            if (inputStream.read() < 0) {
+                return false;
+            }
+
+            inputStream.reset();
+            this.clientSocket.setSoTimeout(requestTimeout);
+
+            return true;
+        } catch (IOException ignored) {
+            return false;
         }
     }
 }
@@ -0,0 +1,131 @@
+package com.cyecize.javache.core;
+
+import com.cyecize.javache.api.AccessLogEntry;
+import com.cyecize.javache.api.ConnectionInfo;
+import com.cyecize.javache.api.ConnectionOutputStream;
+import com.cyecize.javache.api.RequestDestroyHandler;
+import com.cyecize.javache.api.RequestHandler;
+import com.cyecize.javache.api.RequestHandlerSharedData;
+import com.cyecize.javache.api.SharedDataPropertyNames;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.util.List;
+
+/**
+ * Runs the loaded request handlers for a single request.
+ * Shared between the different {@link ConnectionHandler} implementations.
+ */
+public class RequestHandlerChain {
+
+    private final List<RequestHandler> requestHandlers;
+
+    private final List<RequestDestroyHandler> requestDestroyHandlers;
+
+    private final AccessLogger accessLogger;
+
+    /**
+     * @param accessLogger - null if the access log is disabled.
+     */
+    public RequestHandlerChain(List<RequestHandler> requestHandlers, List<RequestDestroyHandler> requestDestroyHandlers,
+                               AccessLogger accessLogger) {
+        this.requestHandlers = requestHandlers;
+        this.requestDestroyHandlers = requestDestroyHandlers;
+        this.accessLogger = accessLogger;
+    }
+
+    /**
+     * Iterates through all request handles and executes them until one intercepts.
+     * Request handlers are kept in order.
+     * The output stream is flushed once a request handler intercepts.
+     * Destroy handlers are always called, even if a request handler throws.
+     *
+     * @param remoteAddress - address of the client, used for the access log.
+     */
+    public void processRequest(InputStream inputStream, OutputStream outputStream, ConnectionInfo connectionInfo,
+                               InetAddress remoteAddress) throws IOException {
+        final long startTime = System.nanoTime();
+
+        final RequestHandlerSharedData sharedData = new RequestHandlerSharedData();
+        sharedData.addObject(SharedDataPropertyNames.CONNECTION_INFO, connectionInfo);
+
+        final AccessLogEntry accessLogEntry = this.createAccessLogEntry(sharedData, remoteAddress);
+        final long bytesWritten = this.getBytesWritten(outputStream);
+        final long writeNanos = this.getWriteNanos(outputStream);
+
+        try {
+            for (RequestHandler requestHandler : this.requestHandlers) {
+                final long handlerStartTime = System.nanoTime();
+                final long handlerWriteNanos = this.getWriteNanos(outputStream);
+
+                boolean requestHandled = requestHandler.handleRequest(inputStream, outputStream, sharedData);
+
+                if (requestHandled) {
+                    if (accessLogEntry != null) {
+                        accessLogEntry.setHandlerName(this.getHandlerName(requestHandler));
+                        accessLogEntry.setParseNanos(handlerStartTime - startTime);
+                        accessLogEntry.setHandlerNanos(System.nanoTime() - handlerStartTime
+                                - (this.getWriteNanos(outputStream) - handlerWriteNanos));
+                    }
+
+                    break;
+                }
+            }
+
+            outputStream.flush();
+        } finally {
+            for (RequestDestroyHandler requestDestroyHandler : this.requestDestroyHandlers) {
+                requestDestroyHandler.destroy(sharedData);
+            }
+
+            if (accessLogEntry != null) {
+                accessLogEntry.setBytesWritten(this.getBytesWritten(outputStream) - bytesWritten);
+                accessLogEntry.setWriteNanos(this.getWriteNanos(outputStream) - writeNanos);
+                accessLogEntry.setTotalNanos(System.nanoTime() - startTime);
+
+                this.accessLogger.log(accessLogEntry);
+            }
+        }
+    }
+
+    private AccessLogEntry createAccessLogEntry(RequestHandlerSharedData sharedData, InetAddress remoteAddress) {
+        if (this.accessLogger == null) {
+            return null;
+        }
+
+        final AccessLogEntry accessLogEntry = new AccessLogEntry(System.currentTimeMillis(), remoteAddress);
+        sharedData.addObject(SharedDataPropertyNames.ACCESS_LOG_ENTRY, accessLogEntry);
+
+        return accessLogEntry;
+    }
+
+    /**
+     * Anonymous classes do not have a simple name.
+     */
+    private String getHandlerName(RequestHandler requestHandler) {
+        final String simpleName = requestHandler.getClass().getSimpleName();
+        if (simpleName.isEmpty()) {
+            return requestHandler.getClass().getName();
+        }
+
+        return simpleName;
+    }
+
+    private long getBytesWritten(OutputStream outputStream) {
+        if (outputStream instanceof ConnectionOutputStream) {
+            return ((ConnectionOutputStream) outputStream).getBytesWritten();
+        }
+
+        return 0;
+    }
+
+    private long getWriteNanos(OutputStream outputStream) {
+        if (outputStream instanceof ConnectionOutputStream) {
+            return ((ConnectionOutputStream) outputStream).getWriteNanos();
+        }
+
+        return 0;
+    }
+}
@@ -0,0 +1,34 @@
+package com.cyecize.javache.core;
+
+import com.cyecize.javache.JavacheConfigValue;
+import com.cyecize.javache.core.nio.NioServerImpl;
+import com.cyecize.javache.services.JavacheConfigService;
+import com.cyecize.javache.services.LoggingService;
+import com.cyecize.javache.services.RequestHandlerLoadingService;
+
+/**
+ * Creates the {@link Server} implementation depending on the SERVER_USE_NIO config.
+ */
+public class ServerFactory {
+
+    private final LoggingService loggingService;
+
+    private final RequestHandlerLoadingService requestHandlerLoadingService;
+
+    private final JavacheConfigService configService;
+
+    public ServerFactory(LoggingService loggingService, RequestHandlerLoadingService requestHandlerLoadingService,
+                         JavacheConfigService configService) {
+        this.loggingService = loggingService;
+        this.requestHandlerLoadingService = requestHandlerLoadingService;
+        this.configService = configService;
+    }
+
+    public Server createServer(int port) {
+        if (this.configService.getConfigParam(JavacheConfigValue.SERVER_USE_NIO, boolean.class)) {
+            return new NioServerImpl(port, this.loggingService, this.requestHandlerLoadingService, this.configService);
+        }
+
+        return new ServerImpl(port, this.loggingService, this.requestHandlerLoadingService, this.configService);
+    }
+}
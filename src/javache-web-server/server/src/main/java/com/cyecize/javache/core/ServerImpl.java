@@ -1,12 +1,18 @@
 package com.cyecize.javache.core;
 
+import com.cyecize.javache.JavacheConfigValue;
+import com.cyecize.javache.services.JavacheConfigService;
 import com.cyecize.javache.services.LoggingService;
 import com.cyecize.javache.services.RequestHandlerLoadingService;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ExecutorService;
 
 public class ServerImpl implements Server {
 
@@ -20,35 +26,56 @@ public class ServerImpl implements Server {
 
     private final RequestHandlerLoadingService requestHandlerLoadingService;
 
-    public ServerImpl(int port, LoggingService loggingService, RequestHandlerLoadingService requestHandlerLoadingService) {
+    private final ExecutorService connectionExecutor;
+
+    private final AccessLogger accessLogger;
+
+    private final int keepAliveTimeout;
+
+    private final int maxKeepAliveRequests;
+
+    public ServerImpl(int port, LoggingService loggingService, RequestHandlerLoadingService requestHandlerLoadingService,
+                      JavacheConfigService configService) {
         this.port = port;
         this.loggingService = loggingService;
         this.requestHandlerLoadingService = requestHandlerLoadingService;
+        this.connectionExecutor = new ConnectionExecutorFactory(configService, loggingService).createExecutor();
+        this.accessLogger = AccessLogger.createIfEnabled(configService, loggingService);
+        this.keepAliveTimeout = configService.getConfigParam(JavacheConfigValue.SERVER_KEEP_ALIVE_TIMEOUT, int.class);
+        this.maxKeepAliveRequests = configService.getConfigParam(JavacheConfigValue.SERVER_MAX_KEEP_ALIVE_REQUESTS, int.class);
     }
 
     /**
-     * Listens for connections and passes them to a new thread where the connection is handled.
+     * Listens for connections and passes them to the connection executor where the connection is handled.
+     * The server socket is opened through a channel so that accepted sockets are backed by a {@link SocketChannel}.
+     * If the executor is saturated, the connection is answered with 503 by {@link ServiceUnavailableRejectionHandler}.
      */
     @Override
     public void run() throws IOException {
-        final ServerSocket serverSocket = new ServerSocket(this.port);
+        final ServerSocket serverSocket = ServerSocketChannel.open().socket();
+        serverSocket.bind(new InetSocketAddress(this.port));
         serverSocket.setSoTimeout(SOCKET_TIMEOUT_MILLISECONDS);
 
         this.loggingService.info(String.format(LISTENING_MESSAGE_FORMAT, this.port));
 
+        final RequestHandlerChain requestHandlerChain = new RequestHandlerChain(
+                this.requestHandlerLoadingService.getRequestHandlers(),
+                this.requestHandlerLoadingService.getRequestDestroyHandlers(),
+                this.accessLogger
+        );
+
         while (true) {
             try {
                 final Socket clientSocket = serverSocket.accept();
                 clientSocket.setSoTimeout(SOCKET_TIMEOUT_MILLISECONDS);
 
-                final Thread thread = new Thread(new ConnectionHandlerImpl(
+                this.connectionExecutor.execute(new ConnectionHandlerImpl(
                         clientSocket,
-                        this.requestHandlerLoadingService.getRequestHandlers(),
-                        this.requestHandlerLoadingService.getRequestDestroyHandlers(),
-                        this.loggingService
+                        requestHandlerChain,
+                        this.loggingService,
+                        this.keepAliveTimeout,
+                        this.maxKeepAliveRequests
                 ));
-
-                thread.start();
             } catch (SocketTimeoutException ignored) {
             }
         }
@@ -55,11 +55,8 @@ public class ServerInitializerImpl implements ServerInitializer {
             this.configService.addConfigParam(JavacheConfigValue.SERVER_PORT, port);
         }
 
-        final Server server = new ServerImpl(
-                this.configService.getConfigParam(JavacheConfigValue.SERVER_PORT, int.class),
-                this.loggingService,
-                this.requestHandlerLoadingService
-        );
+        final Server server = new ServerFactory(this.loggingService, this.requestHandlerLoadingService, this.configService)
+                .createServer(this.configService.getConfigParam(JavacheConfigValue.SERVER_PORT, int.class));
 
         try {
             server.run();
@@ -0,0 +1,41 @@
+package com.cyecize.javache.core;
+
+import com.cyecize.javache.services.LoggingService;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Called when the connection thread pool and its accept queue are full.
+ * Answers the client with 503 Service Unavailable and closes the connection instead of creating more threads.
+ */
+public class ServiceUnavailableRejectionHandler implements RejectedExecutionHandler {
+
+    private static final byte[] SERVICE_UNAVAILABLE_RESPONSE = ("HTTP/1.1 503 Service Unavailable\r\n" +
+            "Content-Type: text/plain; charset=utf8\r\n" +
+            "Content-Length: 0\r\n" +
+            "Retry-After: 1\r\n" +
+            "Connection: close\r\n" +
+            "\r\n").getBytes(StandardCharsets.US_ASCII);
+
+    private final LoggingService loggingService;
+
+    public ServiceUnavailableRejectionHandler(LoggingService loggingService) {
+        this.loggingService = loggingService;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+        if (!(runnable instanceof ConnectionHandler)) {
+            return;
+        }
+
+        try {
+            ((ConnectionHandler) runnable).reject(SERVICE_UNAVAILABLE_RESPONSE);
+        } catch (IOException ex) {
+            this.loggingService.printStackTrace(ex);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.cyecize.javache.core.nio;
+
+import com.cyecize.javache.api.SocketChannelOutputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * State of a single client connection handled by {@link NioServerImpl}.
+ * <p>
+ * The same buffer is used while the reactor is reading the request head without blocking and
+ * while a worker thread is reading the rest of the request in blocking mode,
+ * so bytes of a pipelined request are never lost between the two.
+ */
+public class NioConnection {
+
+    private static final byte[] HEAD_END = {'\r', '\n', '\r', '\n'};
+
+    private static final String INVALID_MARK_MSG = "Resetting to invalid mark";
+
+    private final SocketChannel channel;
+
+    private final byte[] buffer;
+
+    private int start;
+
+    private int end;
+
+    private int markPosition = -1;
+
+    private int markLimit;
+
+    private int requestCount;
+
+    private long lastActivityMillis;
+
+    /**
+     * Time at which the first bytes of the request head in the buffer were read,
+     * so that a client sending the head byte by byte cannot keep extending the request timeout.
+     */
+    private long headStartMillis;
+
+    private InputStream inputStream;
+
+    private OutputStream outputStream;
+
+    public NioConnection(SocketChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = new byte[bufferSize];
+        this.lastActivityMillis = System.currentTimeMillis();
+        this.headStartMillis = this.lastActivityMillis;
+    }
+
+    /**
+     * Reads whatever is available on the channel without blocking.
+     *
+     * @return number of bytes read or -1 if the client has closed the connection.
+     */
+    public int readAvailable() throws IOException {
+        this.compact();
+
+        final boolean headStarted = !this.isBufferEmpty();
+        final int read = this.channel.read(ByteBuffer.wrap(this.buffer, this.end, this.buffer.length - this.end));
+        if (read > 0) {
+            this.end += read;
+            this.lastActivityMillis = System.currentTimeMillis();
+            if (!headStarted) {
+                this.headStartMillis = this.lastActivityMillis;
+            }
+        }
+
+        return read;
+    }
+
+    /**
+     * @return true if the buffer contains a request line and all headers.
+     */
+    public boolean hasCompleteHead() {
+        final int lastPossibleStart = this.end - HEAD_END.length;
+
+        for (int i = this.start; i <= lastPossibleStart; i++) {
+            if (this.buffer[i] == HEAD_END[0] && this.buffer[i + 1] == HEAD_END[1]
+                    && this.buffer[i + 2] == HEAD_END[2] && this.buffer[i + 3] == HEAD_END[3]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return true if the request head does not fit in the buffer.
+     */
+    public boolean isBufferFull() {
+        return this.start == 0 && this.end == this.buffer.length;
+    }
+
+    public boolean isBufferEmpty() {
+        return this.start == this.end;
+    }
+
+    public int incrementRequestCount() {
+        return ++this.requestCount;
+    }
+
+    public long getLastActivityMillis() {
+        return this.lastActivityMillis;
+    }
+
+    public long getHeadStartMillis() {
+        return this.headStartMillis;
+    }
+
+    /**
+     * Called when the connection is handed back to the reactor, bytes of the next request that are already buffered
+     * are timed from here, since the server was busy with the previous request while they were arriving.
+     */
+    public void touch() {
+        this.lastActivityMillis = System.currentTimeMillis();
+        this.headStartMillis = this.lastActivityMillis;
+    }
+
+    public SocketChannel getChannel() {
+        return this.channel;
+    }
+
+    /**
+     * Stream for request handlers, only usable while the channel is in blocking mode.
+     */
+    public InputStream getInputStream() throws IOException {
+        if (this.inputStream == null) {
+            this.inputStream = new NioConnectionInputStream(this.channel.socket().getInputStream());
+        }
+
+        return this.inputStream;
+    }
+
+    /**
+     * Stream for request handlers, only usable while the channel is in blocking mode.
+     */
+    public OutputStream getOutputStream() throws IOException {
+        if (this.outputStream == null) {
+            this.outputStream = new SocketChannelOutputStream(this.channel.socket().getOutputStream(), this.channel);
+        }
+
+        return this.outputStream;
+    }
+
+    public void close() {
+        try {
+            this.channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void compact() {
+        this.markPosition = -1;
+
+        if (this.start == 0) {
+            return;
+        }
+
+        System.arraycopy(this.buffer, this.start, this.buffer, 0, this.end - this.start);
+        this.end -= this.start;
+        this.start = 0;
+    }
+
+    /**
+     * Serves the bytes that the reactor has already buffered and then continues reading from the socket.
+     * Reading from the socket refills the same buffer, so whatever is left after the request is
+     * processed stays available for the next request.
+     */
+    private class NioConnectionInputStream extends InputStream {
+
+        private final InputStream socketInputStream;
+
+        private NioConnectionInputStream(InputStream socketInputStream) {
+            this.socketInputStream = socketInputStream;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (isBufferEmpty() && this.fill() < 0) {
+                return -1;
+            }
+
+            return buffer[start++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+
+            if (isBufferEmpty() && this.fill() < 0) {
+                return -1;
+            }
+
+            final int count = Math.min(length, end - start);
+            System.arraycopy(buffer, start, bytes, offset, count);
+            start += count;
+
+            return count;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (end - start) + this.socketInputStream.available();
+        }
+
+        /**
+         * The mark is kept as long as the marked bytes fit in the connection buffer,
+         * which is always the case for a request head that the reactor has already buffered.
+         */
+        @Override
+        public void mark(int readLimit) {
+            markPosition = start;
+            markLimit = readLimit;
+        }
+
+        @Override
+        public void reset() throws IOException {
+            if (markPosition < 0) {
+                throw new IOException(INVALID_MARK_MSG);
+            }
+
+            start = markPosition;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        /**
+         * Streams are owned by the connection, request handlers cannot close them.
+         */
+        @Override
+        public void close() {
+
+        }
+
+        private int fill() throws IOException {
+            if (markPosition >= 0 && end - markPosition < markLimit && end - markPosition < buffer.length) {
+                System.arraycopy(buffer, markPosition, buffer, 0, end - markPosition);
+                end -= markPosition;
+                start = end;
+                markPosition = 0;
+            } else {
+                markPosition = -1;
+                start = 0;
+                end = 0;
+            }
+
+            final int read = this.socketInputStream.read(buffer, end, buffer.length - end);
+            if (read > 0) {
+                end += read;
+            }
+
+            return read;
+        }
+    }
+}
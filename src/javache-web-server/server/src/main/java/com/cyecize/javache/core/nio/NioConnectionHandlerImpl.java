@@ -0,0 +1,96 @@
+package com.cyecize.javache.core.nio;
+
+import com.cyecize.javache.api.ConnectionInfo;
+import com.cyecize.javache.core.ConnectionHandler;
+import com.cyecize.javache.core.RequestHandlerChain;
+import com.cyecize.javache.services.LoggingService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * Processes the requests of a connection whose request head has been fully buffered by a {@link NioReactor}.
+ * The channel is switched to blocking mode while the request handlers run and once there are no more
+ * buffered requests, the connection is returned to the reactor instead of blocking on the keep alive wait.
+ */
+public class NioConnectionHandlerImpl implements ConnectionHandler {
+
+    private static final int SOCKET_TIMEOUT_MILLISECONDS = 60000;
+
+    private final NioConnection connection;
+
+    private final NioReactor reactor;
+
+    private final RequestHandlerChain requestHandlerChain;
+
+    private final LoggingService loggingService;
+
+    private final int maxKeepAliveRequests;
+
+    public NioConnectionHandlerImpl(NioConnection connection, NioReactor reactor, RequestHandlerChain requestHandlerChain,
+                                    LoggingService loggingService, int maxKeepAliveRequests) {
+        this.connection = connection;
+        this.reactor = reactor;
+        this.requestHandlerChain = requestHandlerChain;
+        this.loggingService = loggingService;
+        this.maxKeepAliveRequests = maxKeepAliveRequests;
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (this.processBufferedRequests()) {
+                this.connection.getChannel().configureBlocking(false);
+                this.connection.touch();
+                this.reactor.register(this.connection);
+                return;
+            }
+        } catch (Throwable e) {
+            this.loggingService.printStackTrace(e);
+        }
+
+        this.connection.close();
+    }
+
+    /**
+     * The channel is still in non-blocking mode when the executor rejects the connection.
+     */
+    @Override
+    public void reject(byte[] response) throws IOException {
+        try {
+            this.connection.getChannel().write(ByteBuffer.wrap(response));
+        } finally {
+            this.connection.close();
+        }
+    }
+
+    /**
+     * Processes requests for as long as there is a complete request head in the buffer.
+     *
+     * @return true if the connection should be kept alive.
+     */
+    private boolean processBufferedRequests() throws IOException {
+        this.connection.getChannel().configureBlocking(true);
+        this.connection.getChannel().socket().setSoTimeout(SOCKET_TIMEOUT_MILLISECONDS);
+
+        final OutputStream outputStream = this.connection.getOutputStream();
+        final InetAddress remoteAddress = this.connection.getChannel().socket().getInetAddress();
+
+        do {
+            final int requestCount = this.connection.incrementRequestCount();
+
+            final ConnectionInfo connectionInfo = new ConnectionInfo(requestCount < this.maxKeepAliveRequests);
+            this.requestHandlerChain.processRequest(
+                    this.connection.getInputStream(), outputStream, connectionInfo, remoteAddress
+            );
+
+            if (!connectionInfo.isKeepAlive()) {
+                return false;
+            }
+        } while (this.connection.hasCompleteHead());
+
+        return true;
+    }
+}
@@ -0,0 +1,172 @@
+package com.cyecize.javache.core.nio;
+
+import com.cyecize.javache.services.LoggingService;
+
+import java.io.IOException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiFunction;
+
+/**
+ * Selector loop which owns a subset of the connections.
+ * While a connection is registered here, no thread is blocked on it.
+ * Once a complete request head is buffered, the connection is removed from the selector
+ * and passed to the worker executor.
+ */
+public class NioReactor implements Runnable {
+
+    private static final long SELECT_TIMEOUT_MILLISECONDS = 1000;
+
+    private final Selector selector;
+
+    private final Queue<NioConnection> pendingConnections;
+
+    private final List<NioConnection> readyConnections;
+
+    private final ExecutorService workerExecutor;
+
+    private final BiFunction<NioConnection, NioReactor, Runnable> connectionHandlerFactory;
+
+    private final LoggingService loggingService;
+
+    private final int keepAliveTimeout;
+
+    private final int requestTimeout;
+
+    private long lastTimeoutCheckMillis;
+
+    public NioReactor(ExecutorService workerExecutor, BiFunction<NioConnection, NioReactor, Runnable> connectionHandlerFactory,
+                      LoggingService loggingService, int keepAliveTimeout, int requestTimeout) throws IOException {
+        this.selector = Selector.open();
+        this.pendingConnections = new ConcurrentLinkedQueue<>();
+        this.readyConnections = new ArrayList<>();
+        this.workerExecutor = workerExecutor;
+        this.connectionHandlerFactory = connectionHandlerFactory;
+        this.loggingService = loggingService;
+        this.keepAliveTimeout = keepAliveTimeout;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Hands a non-blocking connection to this reactor. Can be called from any thread.
+     */
+    public void register(NioConnection connection) {
+        this.pendingConnections.add(connection);
+        this.selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        while (this.selector.isOpen()) {
+            try {
+                this.selector.select(SELECT_TIMEOUT_MILLISECONDS);
+
+                this.registerPendingConnections();
+                this.processSelectedKeys();
+                this.dispatchReadyConnections();
+                this.closeTimedOutConnections();
+            } catch (ClosedSelectorException ex) {
+                return;
+            } catch (Throwable th) {
+                this.loggingService.printStackTrace(th);
+            }
+        }
+    }
+
+    private void registerPendingConnections() {
+        NioConnection connection;
+        while ((connection = this.pendingConnections.poll()) != null) {
+            try {
+                connection.getChannel().register(this.selector, SelectionKey.OP_READ, connection);
+            } catch (IOException ex) {
+                connection.close();
+            }
+        }
+    }
+
+    private void processSelectedKeys() {
+        final Iterator<SelectionKey> selectedKeys = this.selector.selectedKeys().iterator();
+
+        while (selectedKeys.hasNext()) {
+            final SelectionKey key = selectedKeys.next();
+            selectedKeys.remove();
+
+            if (!key.isValid() || !key.isReadable()) {
+                continue;
+            }
+
+            final NioConnection connection = (NioConnection) key.attachment();
+
+            try {
+                if (connection.readAvailable() < 0) {
+                    this.closeConnection(key, connection);
+                } else if (connection.hasCompleteHead()) {
+                    key.cancel();
+                    this.readyConnections.add(connection);
+                } else if (connection.isBufferFull()) {
+                    this.closeConnection(key, connection);
+                }
+            } catch (IOException ex) {
+                this.closeConnection(key, connection);
+            }
+        }
+    }
+
+    /**
+     * Cancelled keys are only removed from the selector on the next selection operation
+     * and a channel cannot be switched to blocking mode before that, hence the selectNow call.
+     */
+    private void dispatchReadyConnections() throws IOException {
+        if (this.readyConnections.isEmpty()) {
+            return;
+        }
+
+        this.selector.selectNow();
+
+        for (NioConnection connection : this.readyConnections) {
+            this.workerExecutor.execute(this.connectionHandlerFactory.apply(connection, this));
+        }
+
+        this.readyConnections.clear();
+    }
+
+    /**
+     * Closes connections that have been idle for longer than the keep alive timeout
+     * or that have not completed their request head within the request timeout, counted from its first bytes.
+     */
+    private void closeTimedOutConnections() {
+        final long now = System.currentTimeMillis();
+        if (now - this.lastTimeoutCheckMillis < SELECT_TIMEOUT_MILLISECONDS) {
+            return;
+        }
+
+        this.lastTimeoutCheckMillis = now;
+
+        for (SelectionKey key : this.selector.keys()) {
+            if (!key.isValid()) {
+                continue;
+            }
+
+            final NioConnection connection = (NioConnection) key.attachment();
+            final boolean idle = connection.isBufferEmpty();
+            final long since = idle ? connection.getLastActivityMillis() : connection.getHeadStartMillis();
+            final int timeout = idle ? this.keepAliveTimeout : this.requestTimeout;
+
+            if (now - since > timeout) {
+                this.closeConnection(key, connection);
+            }
+        }
+    }
+
+    private void closeConnection(SelectionKey key, NioConnection connection) {
+        key.cancel();
+        connection.close();
+    }
+}
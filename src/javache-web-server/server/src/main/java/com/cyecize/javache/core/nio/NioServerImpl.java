@@ -0,0 +1,121 @@
+package com.cyecize.javache.core.nio;
+
+import com.cyecize.javache.JavacheConfigValue;
+import com.cyecize.javache.core.AccessLogger;
+import com.cyecize.javache.core.ConnectionExecutorFactory;
+import com.cyecize.javache.core.RequestHandlerChain;
+import com.cyecize.javache.core.Server;
+import com.cyecize.javache.services.JavacheConfigService;
+import com.cyecize.javache.services.LoggingService;
+import com.cyecize.javache.services.RequestHandlerLoadingService;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Server which does not dedicate a thread to idle connections.
+ * Accepted connections are distributed between a number of {@link NioReactor} threads
+ * and a worker thread is only occupied while a request is being processed.
+ */
+public class NioServerImpl implements Server {
+
+    private static final int REQUEST_TIMEOUT_MILLISECONDS = 60000;
+
+    private static final String LISTENING_MESSAGE_FORMAT = "http://localhost:%d (NIO, %d reactor threads)";
+
+    private static final String REACTOR_THREAD_NAME_FORMAT = "javache-reactor-%d";
+
+    private final int port;
+
+    private final LoggingService loggingService;
+
+    private final RequestHandlerLoadingService requestHandlerLoadingService;
+
+    private final ExecutorService connectionExecutor;
+
+    private final AccessLogger accessLogger;
+
+    private final int keepAliveTimeout;
+
+    private final int maxKeepAliveRequests;
+
+    private final int reactorThreads;
+
+    private final int headBufferSize;
+
+    public NioServerImpl(int port, LoggingService loggingService, RequestHandlerLoadingService requestHandlerLoadingService,
+                         JavacheConfigService configService) {
+        this.port = port;
+        this.loggingService = loggingService;
+        this.requestHandlerLoadingService = requestHandlerLoadingService;
+        this.connectionExecutor = new ConnectionExecutorFactory(configService, loggingService).createExecutor();
+        this.accessLogger = AccessLogger.createIfEnabled(configService, loggingService);
+        this.keepAliveTimeout = configService.getConfigParam(JavacheConfigValue.SERVER_KEEP_ALIVE_TIMEOUT, int.class);
+        this.maxKeepAliveRequests = configService.getConfigParam(JavacheConfigValue.SERVER_MAX_KEEP_ALIVE_REQUESTS, int.class);
+        this.reactorThreads = Math.max(1, configService.getConfigParam(JavacheConfigValue.SERVER_NIO_REACTOR_THREADS, int.class));
+        this.headBufferSize = configService.getConfigParam(JavacheConfigValue.SERVER_NIO_HEAD_BUFFER_SIZE, int.class);
+    }
+
+    /**
+     * Starts the reactor threads and accepts connections, assigning them to the reactors in round robin.
+     */
+    @Override
+    public void run() throws IOException {
+        final ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(this.port));
+
+        this.loggingService.info(String.format(LISTENING_MESSAGE_FORMAT, this.port, this.reactorThreads));
+
+        final RequestHandlerChain requestHandlerChain = new RequestHandlerChain(
+                this.requestHandlerLoadingService.getRequestHandlers(),
+                this.requestHandlerLoadingService.getRequestDestroyHandlers(),
+                this.accessLogger
+        );
+
+        final NioReactor[] reactors = this.startReactors(requestHandlerChain);
+        int nextReactor = 0;
+
+        while (true) {
+            final SocketChannel clientChannel = serverChannel.accept();
+
+            try {
+                clientChannel.configureBlocking(false);
+            } catch (IOException ex) {
+                clientChannel.close();
+                continue;
+            }
+
+            reactors[nextReactor].register(new NioConnection(clientChannel, this.headBufferSize));
+            nextReactor = (nextReactor + 1) % reactors.length;
+        }
+    }
+
+    private NioReactor[] startReactors(RequestHandlerChain requestHandlerChain) throws IOException {
+        final NioReactor[] reactors = new NioReactor[this.reactorThreads];
+
+        for (int i = 0; i < reactors.length; i++) {
+            reactors[i] = new NioReactor(
+                    this.connectionExecutor,
+                    (connection, reactor) -> new NioConnectionHandlerImpl(
+                            connection,
+                            reactor,
+                            requestHandlerChain,
+                            this.loggingService,
+                            this.maxKeepAliveRequests
+                    ),
+                    this.loggingService,
+                    this.keepAliveTimeout,
+                    REQUEST_TIMEOUT_MILLISECONDS
+            );
+
+            final Thread reactorThread = new Thread(reactors[i], String.format(REACTOR_THREAD_NAME_FORMAT, i + 1));
+            reactorThread.setDaemon(true);
+            reactorThread.start();
+        }
+
+        return reactors;
+    }
+}
@@ -1,7 +1,10 @@
 package com.cyecize.javache.services;
 
 import com.cyecize.WebConstants;
+import com.cyecize.javache.AccessLogFormat;
 import com.cyecize.javache.JavacheConfigValue;
+import com.cyecize.javache.LogOverflowPolicy;
+import com.cyecize.javache.ServerThreadingMode;
 import com.cyecize.javache.api.JavacheComponent;
 import com.cyecize.javache.io.Reader;
 import com.cyecize.javache.utils.PrimitiveTypeDataResolver;
@@ -126,6 +129,7 @@ public class JavacheConfigServiceImpl implements JavacheConfigService {
     private void initDefaultConfigParams() {
         this.configParameters = new HashMap<>();
         this.configParameters.put(JavacheConfigValue.MAX_REQUEST_SIZE.name(), Integer.MAX_VALUE);
+        this.configParameters.put(JavacheConfigValue.MAX_REQUEST_HEADER_SIZE.name(), WebConstants.DEFAULT_MAX_REQUEST_HEADER_SIZE);
         this.configParameters.put(JavacheConfigValue.SHOW_REQUEST_LOG.name(), false);
         this.configParameters.put(JavacheConfigValue.ASSETS_DIR_NAME.name(), "assets/");
         this.configParameters.put(JavacheConfigValue.WEB_APPS_DIR_NAME.name(), "webapps/");
@@ -136,17 +140,52 @@ public class JavacheConfigServiceImpl implements JavacheConfigService {
         this.configParameters.put(JavacheConfigValue.BROCOLLINA_SKIP_EXTRACTING_IF_FOLDER_EXISTS.name(), false);
         this.configParameters.put(JavacheConfigValue.BROCCOLINA_FORCE_OVERWRITE_FILES.name(), true);
         this.configParameters.put(JavacheConfigValue.BROCCOLINA_TRACK_RESOURCES.name(), true);
+        this.configParameters.put(JavacheConfigValue.BROCCOLINA_PRECOMPRESS_RESOURCES.name(), false);
+        this.configParameters.put(JavacheConfigValue.BROCCOLINA_PRECOMPRESS_EXTENSIONS.name(), WebConstants.DEFAULT_PRECOMPRESS_EXTENSIONS);
+        this.configParameters.put(JavacheConfigValue.BROCCOLINA_COMPRESS_RESPONSES.name(), false);
+        this.configParameters.put(JavacheConfigValue.BROCCOLINA_COMPRESSION_MIN_SIZE.name(), WebConstants.DEFAULT_COMPRESSION_MIN_SIZE);
+        this.configParameters.put(JavacheConfigValue.BROCCOLINA_COMPRESSION_LEVEL.name(), WebConstants.DEFAULT_COMPRESSION_LEVEL);
+        this.configParameters.put(JavacheConfigValue.BROCCOLINA_COMPRESSION_EXCLUDED_MEDIA_TYPES.name(), WebConstants.DEFAULT_COMPRESSION_EXCLUDED_MEDIA_TYPES);
+        this.configParameters.put(JavacheConfigValue.BROCCOLINA_SESSION_IDLE_TIMEOUT.name(), WebConstants.DEFAULT_SESSION_IDLE_TIMEOUT);
+        this.configParameters.put(JavacheConfigValue.BROCCOLINA_SESSION_MAX_AGE.name(), WebConstants.DEFAULT_SESSION_MAX_AGE);
+        this.configParameters.put(JavacheConfigValue.BROCCOLINA_SESSION_SWEEP_INTERVAL.name(), WebConstants.DEFAULT_SESSION_SWEEP_INTERVAL);
         this.configParameters.put(JavacheConfigValue.SERVER_PORT.name(), WebConstants.JAVACHE_CONFIG_EMPTY_PORT);
         this.configParameters.put(JavacheConfigValue.SERVER_STARTUP_ARGS.name(), new String[0]);
+        this.configParameters.put(JavacheConfigValue.SERVER_THREADING_MODE.name(), ServerThreadingMode.POOL.name());
+        this.configParameters.put(JavacheConfigValue.SERVER_MIN_THREADS.name(), WebConstants.DEFAULT_SERVER_MIN_THREADS);
+        this.configParameters.put(JavacheConfigValue.SERVER_MAX_THREADS.name(), WebConstants.DEFAULT_SERVER_MAX_THREADS);
+        this.configParameters.put(JavacheConfigValue.SERVER_ACCEPT_QUEUE_SIZE.name(), WebConstants.DEFAULT_SERVER_ACCEPT_QUEUE_SIZE);
+        this.configParameters.put(JavacheConfigValue.SERVER_KEEP_ALIVE_TIMEOUT.name(), WebConstants.DEFAULT_SERVER_KEEP_ALIVE_TIMEOUT);
+        this.configParameters.put(JavacheConfigValue.SERVER_MAX_KEEP_ALIVE_REQUESTS.name(), WebConstants.DEFAULT_SERVER_MAX_KEEP_ALIVE_REQUESTS);
+        this.configParameters.put(JavacheConfigValue.SERVER_USE_NIO.name(), false);
+        this.configParameters.put(JavacheConfigValue.SERVER_NIO_REACTOR_THREADS.name(), Runtime.getRuntime().availableProcessors());
+        this.configParameters.put(JavacheConfigValue.SERVER_NIO_HEAD_BUFFER_SIZE.name(), WebConstants.DEFAULT_SERVER_NIO_HEAD_BUFFER_SIZE);
         this.configParameters.put(JavacheConfigValue.JAVACHE_WORKING_DIRECTORY.name(), WebConstants.WORKING_DIRECTORY);
         this.configParameters.put(JavacheConfigValue.LIB_DIR_NAME.name(), "lib/");
         this.configParameters.put(JavacheConfigValue.API_DIR_NAME.name(), "api/");
         this.configParameters.put(JavacheConfigValue.LOGS_DIR_NAME.name(), "logs/");
+        this.configParameters.put(JavacheConfigValue.LOGS_QUEUE_SIZE.name(), WebConstants.DEFAULT_LOGS_QUEUE_SIZE);
+        this.configParameters.put(JavacheConfigValue.LOGS_OVERFLOW_POLICY.name(), LogOverflowPolicy.BLOCK.name());
+        this.configParameters.put(JavacheConfigValue.LOGS_MAX_FILE_SIZE.name(), WebConstants.DEFAULT_LOGS_MAX_FILE_SIZE);
+        this.configParameters.put(JavacheConfigValue.LOGS_ROTATION_INTERVAL.name(), WebConstants.DEFAULT_LOGS_ROTATION_INTERVAL);
+        this.configParameters.put(JavacheConfigValue.LOGS_MAX_ROTATED_FILES.name(), WebConstants.DEFAULT_LOGS_MAX_ROTATED_FILES);
+        this.configParameters.put(JavacheConfigValue.ACCESS_LOG_ENABLED.name(), false);
+        this.configParameters.put(JavacheConfigValue.ACCESS_LOG_FORMAT.name(), AccessLogFormat.JSON.name());
         this.configParameters.put(JavacheConfigValue.JAVACHE_PRINT_EXCEPTIONS.name(), true);
         this.configParameters.put(JavacheConfigValue.TOYOTE_RESOURCE_HANDLER_ORDER.name(), 1);
         this.configParameters.put(JavacheConfigValue.BROCCOLINA_SOLET_DISPATCHER_ORDER.name(), 2);
         this.configParameters.put(JavacheConfigValue.ENABLE_RESOURCE_CACHING.name(), true);
         this.configParameters.put(JavacheConfigValue.RESOURCE_CACHING_EXPRESSION.name(), WebConstants.DEFAULT_CACHING_EXPRESSION);
+        this.configParameters.put(JavacheConfigValue.ENABLE_RESOURCE_ZERO_COPY.name(), true);
+        this.configParameters.put(JavacheConfigValue.RESOURCE_TRANSFER_BUFFER_SIZE.name(), WebConstants.DEFAULT_RESOURCE_TRANSFER_BUFFER_SIZE);
+        this.configParameters.put(JavacheConfigValue.RESOURCE_CACHE_MAX_SIZE.name(), WebConstants.DEFAULT_RESOURCE_CACHE_MAX_SIZE);
+        this.configParameters.put(JavacheConfigValue.RESOURCE_CACHE_MAX_FILE_SIZE.name(), WebConstants.DEFAULT_RESOURCE_CACHE_MAX_FILE_SIZE);
+        this.configParameters.put(JavacheConfigValue.RESOURCE_CACHE_OFF_HEAP.name(), false);
+        this.configParameters.put(JavacheConfigValue.ENABLE_PRECOMPRESSED_RESOURCES.name(), true);
+        this.configParameters.put(JavacheConfigValue.ENABLE_RESOURCE_INDEX.name(), true);
+        this.configParameters.put(JavacheConfigValue.MULTIPART_BUFFER_SIZE.name(), WebConstants.DEFAULT_MULTIPART_BUFFER_SIZE);
+        this.configParameters.put(JavacheConfigValue.MULTIPART_MAX_MEMORY_PER_PART.name(), WebConstants.DEFAULT_MULTIPART_MAX_MEMORY_PER_PART);
+        this.configParameters.put(JavacheConfigValue.MULTIPART_TEMP_DIR_NAME.name(), "temp/");
     }
 
     /**
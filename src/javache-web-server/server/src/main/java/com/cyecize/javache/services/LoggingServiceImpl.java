@@ -3,28 +3,38 @@ package com.cyecize.javache.services;
 import com.cyecize.ioc.annotations.Autowired;
 import com.cyecize.ioc.annotations.Service;
 import com.cyecize.javache.JavacheConfigValue;
+import com.cyecize.javache.LogOverflowPolicy;
+import com.cyecize.javache.utils.AsyncLogAppender;
 
 import java.io.ByteArrayOutputStream;
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.Date;
+import java.time.Instant;
 
+/**
+ * Logs to the console and to the logs file without blocking the calling threads on I/O.
+ * Messages are written in batches by the {@link AsyncLogAppender} writer thread.
+ */
 @Service
 public class LoggingServiceImpl implements LoggingService {
 
     //TODO: make this configurable.
     private static final String LOGS_FILE_NAME = "javache.log";
 
-    private final JavacheConfigService configService;
+    private static final String DROPPED_MESSAGES_FORMAT = "%d log messages were dropped.";
 
-    private String filePath;
+    private final AsyncLogAppender appender;
 
     @Autowired
     public LoggingServiceImpl(JavacheConfigService configService) {
-        this.configService = configService;
-        this.initLogsFile();
+        this.appender = new AsyncLogAppender(
+                configService,
+                LOGS_FILE_NAME,
+                true,
+                LogOverflowPolicy.valueOf(
+                        configService.getConfigParamString(JavacheConfigValue.LOGS_OVERFLOW_POLICY).trim().toUpperCase()
+                ),
+                dropped -> new LogRecord(System.currentTimeMillis(), "WARNING", String.format(DROPPED_MESSAGES_FORMAT, dropped))
+        );
     }
 
     @Override
@@ -54,47 +64,33 @@ public class LoggingServiceImpl implements LoggingService {
         this.error(new String(outputStream.toByteArray()));
     }
 
-    private synchronized void print(String type, Object msg, Object... params) {
-        final String formattedMsg = String.format("[%s][%s] %s", this.getDate(), type, String.format(msg + "", params));
-        System.out.println(formattedMsg);
-        this.writeToFile(formattedMsg);
-    }
-
-    private String getDate() {
-        return new Date().toInstant().toString();
-    }
-
     /**
-     * Appends a given text to the log file.
-     * Creates the log file if it doesn't exist.
-     *
-     * @param msg - given text.
+     * The message is formatted on the calling thread since the params might change afterwards.
+     * Everything else, including the date, is formatted by the writer thread.
      */
-    private void writeToFile(String msg) {
-        try {
-            final File file = new File(this.filePath);
-            if (!file.exists()) {
-                file.createNewFile();
-            }
-
-            try (final PrintWriter printer = new PrintWriter(new FileWriter(this.filePath, true))) {
-                printer.println(msg);
-            }
-
-        } catch (IOException ex) {
-            throw new RuntimeException(ex);
-        }
+    private void print(String type, Object msg, Object... params) {
+        final String formattedMsg = params.length == 0 ? String.valueOf(msg) : String.format(msg + "", params);
+        this.appender.append(new LogRecord(System.currentTimeMillis(), type, formattedMsg));
     }
 
-    /**
-     * Creates the log dir if it doesn't exist, sets up the path to the logs file.
-     */
-    private void initLogsFile() {
-        final String logsDir = this.configService.getConfigParamString(JavacheConfigValue.JAVACHE_WORKING_DIRECTORY) +
-                this.configService.getConfigParamString(JavacheConfigValue.LOGS_DIR_NAME);
+    private static class LogRecord implements AsyncLogAppender.Entry {
+
+        private final long time;
+
+        private final String type;
 
-        new File(logsDir).mkdir();
+        private final String message;
 
-        this.filePath = logsDir + LOGS_FILE_NAME;
+        private LogRecord(long time, String type, String message) {
+            this.time = time;
+            this.type = type;
+            this.message = message;
+        }
+
+        @Override
+        public void appendTo(StringBuilder line) {
+            line.append('[').append(Instant.ofEpochMilli(this.time)).append("][").append(this.type).append("] ")
+                    .append(this.message);
+        }
     }
 }
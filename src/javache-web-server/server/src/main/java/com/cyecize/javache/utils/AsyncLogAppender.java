@@ -0,0 +1,340 @@
+package com.cyecize.javache.utils;
+
+import com.cyecize.javache.JavacheConfigValue;
+import com.cyecize.javache.LogOverflowPolicy;
+import com.cyecize.javache.services.JavacheConfigService;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Appends lines to a file in the logs folder without blocking the calling threads on I/O.
+ * Entries are put in a lock-free queue and a single writer thread formats and writes them in batches
+ * to a file that is kept open.
+ * The file is rotated when it gets too big or too old, as configured by the LOGS_* config values.
+ */
+public class AsyncLogAppender {
+
+    private static final String ROTATED_FILE_DATE_FORMAT = "yyyyMMdd-HHmmss";
+
+    private static final String WRITER_THREAD_NAME_FORMAT = "javache-%s-writer";
+
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    private static final long WRITER_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final long QUEUE_FULL_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 2000;
+
+    /**
+     * Entry that is formatted by the writer thread.
+     */
+    @FunctionalInterface
+    public interface Entry {
+
+        /**
+         * Appends the entry without a line separator.
+         */
+        void appendTo(StringBuilder line);
+    }
+
+    private final LogRingBuffer<Entry> queue;
+
+    private final LogOverflowPolicy overflowPolicy;
+
+    private final boolean printToConsole;
+
+    private final LongFunction<Entry> droppedEntriesReporter;
+
+    private final long maxFileSize;
+
+    private final long rotationIntervalMillis;
+
+    private final int maxRotatedFiles;
+
+    private final Path logsDir;
+
+    private final Path filePath;
+
+    private final String rotatedFilePrefix;
+
+    private final String rotatedFileSuffix;
+
+    private final DateTimeFormatter rotatedFileDateFormat;
+
+    private final AtomicLong droppedEntries;
+
+    private final Thread writerThread;
+
+    private volatile boolean writerIdle;
+
+    private volatile boolean closing;
+
+    private FileChannel fileChannel;
+
+    private long fileSize;
+
+    private long nextRotationTime;
+
+    /**
+     * @param fileName               - name of the file in the logs folder.
+     * @param printToConsole         - if true, entries are also printed to the standard output.
+     * @param overflowPolicy         - what to do with entries when the queue is full.
+     * @param droppedEntriesReporter - creates an entry that reports the number of dropped entries, can return null.
+     */
+    public AsyncLogAppender(JavacheConfigService configService, String fileName, boolean printToConsole,
+                            LogOverflowPolicy overflowPolicy, LongFunction<Entry> droppedEntriesReporter) {
+        this.queue = new LogRingBuffer<>(configService.getConfigParam(JavacheConfigValue.LOGS_QUEUE_SIZE, int.class));
+        this.overflowPolicy = overflowPolicy;
+        this.printToConsole = printToConsole;
+        this.droppedEntriesReporter = droppedEntriesReporter;
+        this.maxFileSize = configService.getConfigParam(JavacheConfigValue.LOGS_MAX_FILE_SIZE, int.class);
+        this.rotationIntervalMillis = TimeUnit.MINUTES.toMillis(
+                configService.getConfigParam(JavacheConfigValue.LOGS_ROTATION_INTERVAL, int.class)
+        );
+        this.maxRotatedFiles = configService.getConfigParam(JavacheConfigValue.LOGS_MAX_ROTATED_FILES, int.class);
+
+        this.logsDir = Paths.get(
+                configService.getConfigParamString(JavacheConfigValue.JAVACHE_WORKING_DIRECTORY) +
+                        configService.getConfigParamString(JavacheConfigValue.LOGS_DIR_NAME)
+        );
+        this.filePath = this.logsDir.resolve(fileName);
+
+        final int extensionIndex = fileName.lastIndexOf('.');
+        this.rotatedFilePrefix = (extensionIndex < 0 ? fileName : fileName.substring(0, extensionIndex)) + "-";
+        this.rotatedFileSuffix = extensionIndex < 0 ? "" : fileName.substring(extensionIndex);
+        this.rotatedFileDateFormat = DateTimeFormatter.ofPattern(ROTATED_FILE_DATE_FORMAT).withZone(ZoneOffset.UTC);
+
+        this.droppedEntries = new AtomicLong();
+        this.nextRotationTime = System.currentTimeMillis() + this.rotationIntervalMillis;
+
+        try {
+            this.openFile();
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+
+        this.writerThread = new Thread(this::runWriter, String.format(WRITER_THREAD_NAME_FORMAT, fileName));
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close));
+    }
+
+    /**
+     * Can be called from any thread.
+     * If the queue is full, the entry is either dropped or the calling thread waits, depending on the overflow policy.
+     */
+    public void append(Entry entry) {
+        while (!this.queue.offer(entry)) {
+            if (this.overflowPolicy == LogOverflowPolicy.DROP
+                    || Thread.currentThread() == this.writerThread
+                    || !this.writerThread.isAlive()) {
+                this.droppedEntries.incrementAndGet();
+                return;
+            }
+
+            LockSupport.unpark(this.writerThread);
+            LockSupport.parkNanos(QUEUE_FULL_WAIT_NANOS);
+        }
+
+        if (this.writerIdle) {
+            LockSupport.unpark(this.writerThread);
+        }
+    }
+
+    private void runWriter() {
+        while (true) {
+            if (this.writeBatch()) {
+                continue;
+            }
+
+            if (this.closing) {
+                this.closeFile();
+                return;
+            }
+
+            this.writerIdle = true;
+            if (this.queue.isEmpty()) {
+                LockSupport.parkNanos(WRITER_IDLE_NANOS);
+            }
+            this.writerIdle = false;
+        }
+    }
+
+    /**
+     * Writes the queued entries to the console with a single print and to the file with a single write.
+     *
+     * @return false if there was nothing to write.
+     */
+    private boolean writeBatch() {
+        final StringBuilder batch = new StringBuilder();
+
+        final long dropped = this.droppedEntries.getAndSet(0);
+        if (dropped > 0 && this.droppedEntriesReporter != null) {
+            this.appendEntry(batch, this.droppedEntriesReporter.apply(dropped));
+        }
+
+        Entry entry;
+        for (int i = 0; i < MAX_BATCH_SIZE && (entry = this.queue.poll()) != null; i++) {
+            this.appendEntry(batch, entry);
+        }
+
+        if (batch.length() == 0) {
+            return false;
+        }
+
+        if (this.printToConsole) {
+            System.out.print(batch);
+        }
+
+        this.writeToFile(batch.toString().getBytes(StandardCharsets.UTF_8));
+
+        return true;
+    }
+
+    private void appendEntry(StringBuilder batch, Entry entry) {
+        if (entry == null) {
+            return;
+        }
+
+        entry.appendTo(batch);
+        batch.append(System.lineSeparator());
+    }
+
+    /**
+     * Failures are printed to the error stream since there is no one to throw them to.
+     */
+    private void writeToFile(byte[] bytes) {
+        try {
+            this.rotateIfNeeded(bytes.length);
+
+            if (this.fileChannel == null) {
+                this.openFile();
+            }
+
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                this.fileSize += this.fileChannel.write(buffer);
+            }
+        } catch (IOException ex) {
+            this.closeFile();
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Renames the file using the current date and starts a new one.
+     * Time based rotation is checked only when there is something to write.
+     */
+    private void rotateIfNeeded(long bytesToWrite) throws IOException {
+        final long now = System.currentTimeMillis();
+
+        final boolean sizeExceeded = this.maxFileSize > 0 && this.fileSize + bytesToWrite > this.maxFileSize;
+        final boolean intervalPassed = this.rotationIntervalMillis > 0 && now >= this.nextRotationTime;
+
+        if (intervalPassed) {
+            this.nextRotationTime = now + this.rotationIntervalMillis;
+        }
+
+        if ((!sizeExceeded && !intervalPassed) || this.fileSize == 0) {
+            return;
+        }
+
+        this.closeFile();
+
+        final String date = this.rotatedFileDateFormat.format(Instant.ofEpochMilli(now));
+        Path rotatedFile = this.logsDir.resolve(this.rotatedFilePrefix + date + this.rotatedFileSuffix);
+        for (int i = 1; Files.exists(rotatedFile); i++) {
+            rotatedFile = this.logsDir.resolve(this.rotatedFilePrefix + date + "-" + i + this.rotatedFileSuffix);
+        }
+
+        Files.move(this.filePath, rotatedFile);
+        this.openFile();
+        this.deleteOldRotatedFiles();
+    }
+
+    /**
+     * Rotated files are never written to again, so their last modified time tells their age.
+     */
+    private void deleteOldRotatedFiles() throws IOException {
+        if (this.maxRotatedFiles <= 0) {
+            return;
+        }
+
+        final List<Path> rotatedFiles;
+        try (final Stream<Path> files = Files.list(this.logsDir)) {
+            rotatedFiles = files
+                    .filter(file -> {
+                        final String name = file.getFileName().toString();
+                        return name.startsWith(this.rotatedFilePrefix) && name.endsWith(this.rotatedFileSuffix)
+                                && name.length() > this.rotatedFilePrefix.length() + this.rotatedFileSuffix.length()
+                                && Character.isDigit(name.charAt(this.rotatedFilePrefix.length()));
+                    })
+                    .sorted(Comparator.comparing(file -> file.toFile().lastModified()))
+                    .collect(Collectors.toList());
+        }
+
+        for (int i = 0; i < rotatedFiles.size() - this.maxRotatedFiles; i++) {
+            Files.deleteIfExists(rotatedFiles.get(i));
+        }
+    }
+
+    private void openFile() throws IOException {
+        Files.createDirectories(this.logsDir);
+
+        this.fileChannel = FileChannel.open(
+                this.filePath,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND
+        );
+
+        this.fileSize = this.fileChannel.size();
+    }
+
+    private void closeFile() {
+        if (this.fileChannel == null) {
+            return;
+        }
+
+        try {
+            this.fileChannel.close();
+        } catch (IOException ignored) {
+        }
+
+        this.fileChannel = null;
+    }
+
+    /**
+     * Lets the writer thread write whatever is left in the queue before the JVM exits.
+     */
+    private void close() {
+        this.closing = true;
+        LockSupport.unpark(this.writerThread);
+
+        try {
+            this.writerThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.cyecize.javache.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer.
+ * Every slot has a sequence number that tells whether it is free for the producer with the same position
+ * or holds an element for the consumer, so producers only compete on a single CAS of the tail position.
+ *
+ * @param <T> - element type.
+ */
+public class LogRingBuffer<T> {
+
+    private final Object[] elements;
+
+    private final AtomicLongArray sequences;
+
+    private final int mask;
+
+    private final AtomicLong tail;
+
+    private long head;
+
+    /**
+     * @param capacity - rounded up to a power of two.
+     */
+    public LogRingBuffer(int capacity) {
+        final int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.tail = new AtomicLong();
+
+        for (int i = 0; i < size; i++) {
+            this.sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Can be called from any thread.
+     *
+     * @return false if the buffer is full.
+     */
+    public boolean offer(T element) {
+        long position = this.tail.get();
+
+        while (true) {
+            final int index = (int) (position & this.mask);
+            final long difference = this.sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    this.elements[index] = element;
+                    this.sequences.set(index, position + 1);
+                    return true;
+                }
+
+                position = this.tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = this.tail.get();
+            }
+        }
+    }
+
+    /**
+     * Must only be called from the consumer thread.
+     *
+     * @return the oldest element or null if the buffer is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        final int index = (int) (this.head & this.mask);
+        if (this.sequences.get(index) != this.head + 1) {
+            return null;
+        }
+
+        final T element = (T) this.elements[index];
+        this.elements[index] = null;
+        this.sequences.set(index, this.head + this.mask + 1);
+        this.head++;
+
+        return element;
+    }
+
+    /**
+     * Must only be called from the consumer thread.
+     */
+    public boolean isEmpty() {
+        return this.sequences.get((int) (this.head & this.mask)) != this.head + 1;
+    }
+}
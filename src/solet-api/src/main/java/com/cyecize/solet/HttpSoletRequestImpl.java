@@ -5,6 +5,7 @@ import com.cyecize.http.HttpRequest;
 import com.cyecize.http.HttpSession;
 import com.cyecize.http.MultipartFile;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -44,6 +45,11 @@ public class HttpSoletRequestImpl implements HttpSoletRequest {
         this.request.setRequestURL(requestUrl);
     }
 
+    @Override
+    public void setProtocol(String protocol) {
+        this.request.setProtocol(protocol);
+    }
+
     @Override
     public void setContentLength(int contentLength) {
         this.request.setContentLength(contentLength);
@@ -69,6 +75,16 @@ public class HttpSoletRequestImpl implements HttpSoletRequest {
         this.request.addMultipartFile(multipartFile);
     }
 
+    @Override
+    public void setInputStream(InputStream inputStream) {
+        this.request.setInputStream(inputStream);
+    }
+
+    @Override
+    public void setBodyParametersLoader(Runnable bodyParametersLoader) {
+        this.request.setBodyParametersLoader(bodyParametersLoader);
+    }
+
     @Override
     public boolean isResource() {
         return this.request.isResource();
@@ -89,6 +105,11 @@ public class HttpSoletRequestImpl implements HttpSoletRequest {
         return this.request.getRequestURL();
     }
 
+    @Override
+    public String getProtocol() {
+        return this.request.getProtocol();
+    }
+
     @Override
     public String getHost() {
         return this.request.getHost();
@@ -124,6 +145,11 @@ public class HttpSoletRequestImpl implements HttpSoletRequest {
         return this.request.getHeader(headerName);
     }
 
+    @Override
+    public InputStream getInputStream() {
+        return this.request.getInputStream();
+    }
+
     @Override
     public HttpSession getSession() {
         return this.request.getSession();
@@ -4,6 +4,7 @@ import com.cyecize.http.HttpCookie;
 import com.cyecize.http.HttpResponse;
 import com.cyecize.http.HttpStatus;
 
+import java.io.OutputStream;
 import java.util.Map;
 
 public class HttpSoletResponseImpl implements HttpSoletResponse {
@@ -51,6 +52,16 @@ public class HttpSoletResponseImpl implements HttpSoletResponse {
         this.response.addCookie(cookie);
     }
 
+    @Override
+    public void setOutputStream(OutputStream outputStream, boolean chunkedEncodingAllowed) {
+        this.response.setOutputStream(outputStream, chunkedEncodingAllowed);
+    }
+
+    @Override
+    public void setCommitListener(Runnable commitListener) {
+        this.response.setCommitListener(commitListener);
+    }
+
     @Override
     public String getResponse() {
         return this.response.getResponse();
@@ -71,8 +82,33 @@ public class HttpSoletResponseImpl implements HttpSoletResponse {
         return this.response.getBytes();
     }
 
+    @Override
+    public byte[] getHeaderBytes() {
+        return this.response.getHeaderBytes();
+    }
+
     @Override
     public Map<String, String> getHeaders() {
         return this.response.getHeaders();
     }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return this.response.getOutputStream();
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return this.response.isStreaming();
+    }
+
+    @Override
+    public void setHeadResponse(boolean headResponse) {
+        this.response.setHeadResponse(headResponse);
+    }
+
+    @Override
+    public boolean isHeadResponse() {
+        return this.response.isHeadResponse();
+    }
 }
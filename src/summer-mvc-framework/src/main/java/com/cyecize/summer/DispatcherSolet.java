@@ -34,7 +34,11 @@ public abstract class DispatcherSolet implements HttpSolet {
 
     private RequestProcessor requestProcessor;
 
-    private boolean hasIntercepted;
+    /**
+     * Requests are processed concurrently, so whether the current request was intercepted
+     * is kept per processing thread.
+     */
+    private final ThreadLocal<Boolean> hasIntercepted = ThreadLocal.withInitial(() -> false);
 
     private boolean hasInitialized;
 
@@ -49,8 +53,8 @@ public abstract class DispatcherSolet implements HttpSolet {
      * Called on every request.
      */
     @Override
-    public synchronized final void service(HttpSoletRequest request, HttpSoletResponse response) {
-        this.hasIntercepted = this.requestProcessor.processRequest(request, response);
+    public final void service(HttpSoletRequest request, HttpSoletResponse response) {
+        this.hasIntercepted.set(this.requestProcessor.processRequest(request, response));
     }
 
     @Override
@@ -60,7 +64,7 @@ public abstract class DispatcherSolet implements HttpSolet {
 
     @Override
     public final boolean hasIntercepted() {
-        return this.hasIntercepted;
+        return this.hasIntercepted.get();
     }
 
     @Override
@@ -27,6 +27,8 @@ public class SummerAppRunner {
                 MagicInjector.run(startupSolet, magicConfiguration)
         );
 
+        dependencyContainer.initScopedServices();
+
         return SummerAppContextProducer.createAppContext(dependencyContainer);
     }
 }
@@ -0,0 +1,18 @@
+package com.cyecize.summer.areas.routing.interfaces;
+
+import com.cyecize.summer.areas.startup.models.RequestContext;
+
+import java.util.Map;
+
+/**
+ * Resolves the value of one parameter of an action method.
+ * Created once per parameter at startup, after the annotations of the parameter have been read.
+ */
+@FunctionalInterface
+public interface ActionParameterResolver {
+
+    /**
+     * @param pathVariables - values of the path variables in the request url, null when an exception listener is invoked.
+     */
+    Object resolve(RequestContext requestContext, Map<String, String> pathVariables);
+}
@@ -0,0 +1,80 @@
+package com.cyecize.summer.areas.routing.models;
+
+import com.cyecize.summer.areas.routing.exceptions.ActionInvocationException;
+import com.cyecize.summer.areas.routing.interfaces.ActionParameterResolver;
+import com.cyecize.summer.areas.startup.models.RequestContext;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+
+/**
+ * Invokes an action method through a method handle that is created once at startup,
+ * with parameters resolved by one {@link ActionParameterResolver} per parameter.
+ */
+public class ActionInvoker {
+
+    private static final String CANNOT_ACCESS_ACTION_FORMAT = "Cannot access action method \"%s\".";
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final ActionMethod actionMethod;
+
+    private final ActionParameterResolver[] parameterResolvers;
+
+    /**
+     * Takes the controller and the array of parameters and returns the result of the action, null for void actions.
+     */
+    private final MethodHandle methodHandle;
+
+    public ActionInvoker(ActionMethod actionMethod, ActionParameterResolver[] parameterResolvers) {
+        this.actionMethod = actionMethod;
+        this.parameterResolvers = parameterResolvers;
+        this.methodHandle = this.createMethodHandle(actionMethod.getMethod());
+    }
+
+    public ActionMethod getActionMethod() {
+        return this.actionMethod;
+    }
+
+    /**
+     * Resolves the parameters, then invokes the action method on the current controller instance.
+     *
+     * @throws ActionInvocationException if the action method throws.
+     */
+    public Object invoke(RequestContext requestContext, Map<String, String> pathVariables) {
+        final Object controllerInstance = this.actionMethod.getController().getInstance();
+
+        final Object[] methodParams = new Object[this.parameterResolvers.length];
+        for (int i = 0; i < methodParams.length; i++) {
+            methodParams[i] = this.parameterResolvers[i].resolve(requestContext, pathVariables);
+        }
+
+        try {
+            return (Object) this.methodHandle.invokeExact(controllerInstance, methodParams);
+        } catch (Throwable throwable) {
+            throw new ActionInvocationException(throwable.getMessage(), throwable);
+        }
+    }
+
+    private MethodHandle createMethodHandle(Method method) {
+        final MethodHandle methodHandle;
+        try {
+            method.setAccessible(true);
+            methodHandle = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException ex) {
+            throw new ActionInvocationException(String.format(CANNOT_ACCESS_ACTION_FORMAT, method), ex);
+        }
+
+        final MethodHandle instanceMethodHandle = Modifier.isStatic(method.getModifiers())
+                ? MethodHandles.dropArguments(methodHandle, 0, Object.class)
+                : methodHandle;
+
+        return instanceMethodHandle
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(INVOKER_TYPE);
+    }
+}
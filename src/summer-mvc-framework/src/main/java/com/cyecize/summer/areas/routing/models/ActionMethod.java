@@ -4,11 +4,14 @@ import com.cyecize.ioc.models.ServiceDetails;
 import com.cyecize.summer.common.annotations.routing.ExceptionListener;
 
 import java.lang.reflect.Method;
+import java.util.List;
 
 public class ActionMethod implements Comparable<ActionMethod> {
 
     private final String pattern;
 
+    private final List<RouteSegment> routeSegments;
+
     private final String baseRoute;
 
     private final Method method;
@@ -17,8 +20,10 @@ public class ActionMethod implements Comparable<ActionMethod> {
 
     private final ServiceDetails controller;
 
-    public ActionMethod(String pattern, String baseRoute, Method method, String contentType, ServiceDetails controller) {
+    public ActionMethod(String pattern, List<RouteSegment> routeSegments, String baseRoute, Method method,
+                        String contentType, ServiceDetails controller) {
         this.pattern = pattern;
+        this.routeSegments = routeSegments;
         this.baseRoute = baseRoute;
         this.method = method;
         this.contentType = contentType;
@@ -29,6 +34,13 @@ public class ActionMethod implements Comparable<ActionMethod> {
         return this.pattern;
     }
 
+    /**
+     * @return the segments of the route or null if the route can only be matched with the pattern.
+     */
+    public List<RouteSegment> getRouteSegments() {
+        return this.routeSegments;
+    }
+
     public String getBaseRoute() {
         return this.baseRoute;
     }
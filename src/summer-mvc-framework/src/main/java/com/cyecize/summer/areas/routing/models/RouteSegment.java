@@ -0,0 +1,109 @@
+package com.cyecize.summer.areas.routing.models;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Part of a route between two slashes, made of constant text and {varName} path variables.
+ * Path variables match the same characters as the regex that {@link com.cyecize.summer.areas.routing.utils.PathFormatter}
+ * produces, [a-zA-Z0-9_-]+, and are matched greedily, so a segment is matched without compiling a regex.
+ */
+public class RouteSegment {
+
+    private static final String VARIABLE_SHAPE = "{}";
+
+    private final String[] parts;
+
+    private final boolean[] variables;
+
+    /**
+     * @param parts     - constant texts and path variable names.
+     * @param variables - true for the parts that are path variable names.
+     */
+    public RouteSegment(List<String> parts, List<Boolean> variables) {
+        this.parts = parts.toArray(String[]::new);
+        this.variables = new boolean[variables.size()];
+        for (int i = 0; i < this.variables.length; i++) {
+            this.variables[i] = variables.get(i);
+        }
+    }
+
+    public static boolean isVariableChar(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') || ch == '_' || ch == '-';
+    }
+
+    /**
+     * @return true if the segment has no path variables.
+     */
+    public boolean isConstant() {
+        return this.parts.length == 1 && !this.variables[0];
+    }
+
+    /**
+     * @return true if the whole segment is a single path variable.
+     */
+    public boolean isVariable() {
+        return this.parts.length == 1 && this.variables[0];
+    }
+
+    /**
+     * @return the text of a constant segment.
+     */
+    public String getText() {
+        return this.parts[0];
+    }
+
+    /**
+     * @return the segment with its path variable names removed, segments with the same shape match the same values.
+     */
+    public String getShape() {
+        final StringBuilder shape = new StringBuilder();
+        for (int i = 0; i < this.parts.length; i++) {
+            shape.append(this.variables[i] ? VARIABLE_SHAPE : this.parts[i]);
+        }
+
+        return shape.toString();
+    }
+
+    /**
+     * @param value         - segment of the request url.
+     * @param pathVariables - map to put the values of the path variables in, can be null.
+     * @return true if the value matches the segment.
+     */
+    public boolean match(String value, Map<String, String> pathVariables) {
+        return this.match(value, 0, 0, pathVariables);
+    }
+
+    /**
+     * Constant parts must match exactly, path variables take as many characters as they can
+     * and give them back one by one if the rest of the segment does not match.
+     */
+    private boolean match(String value, int valueIndex, int partIndex, Map<String, String> pathVariables) {
+        if (partIndex == this.parts.length) {
+            return valueIndex == value.length();
+        }
+
+        final String part = this.parts[partIndex];
+        if (!this.variables[partIndex]) {
+            return value.startsWith(part, valueIndex)
+                    && this.match(value, valueIndex + part.length(), partIndex + 1, pathVariables);
+        }
+
+        int maxEnd = valueIndex;
+        while (maxEnd < value.length() && isVariableChar(value.charAt(maxEnd))) {
+            maxEnd++;
+        }
+
+        for (int end = maxEnd; end > valueIndex; end--) {
+            if (this.match(value, end, partIndex + 1, pathVariables)) {
+                if (pathVariables != null) {
+                    pathVariables.put(part, value.substring(valueIndex, end));
+                }
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -6,7 +6,6 @@ import com.cyecize.summer.utils.PathUtils;
 import org.apache.commons.codec.digest.DigestUtils;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.Date;
 
@@ -66,19 +65,12 @@ public class UploadedFileImpl implements UploadedFile {
 
         final File file = new File(fullPath);
 
-        if (file.exists()) {
-            if (overwrite) {
-                file.delete();
-            } else {
-                return fullPath;
-            }
+        if (file.exists() && !overwrite) {
+            return fullPath;
         }
 
-        file.createNewFile();
-
-        try (final FileOutputStream outputStream = new FileOutputStream(file)) {
-            this.multipartFile.getInputStream().transferTo(outputStream);
-        }
+        // Replaces an existing file, uploads stored in a temporary file are renamed rather than copied.
+        this.multipartFile.transferTo(file);
 
         return pathToFile;
     }
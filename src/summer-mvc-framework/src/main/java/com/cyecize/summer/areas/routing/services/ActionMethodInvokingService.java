@@ -4,12 +4,13 @@ import com.cyecize.solet.HttpSoletRequest;
 import com.cyecize.summer.areas.routing.exceptions.HttpNotFoundException;
 import com.cyecize.summer.areas.routing.models.ActionInvokeResult;
 import com.cyecize.summer.areas.routing.models.ActionMethod;
+import com.cyecize.summer.areas.startup.models.RequestContext;
 
 public interface ActionMethodInvokingService {
 
     ActionMethod findAction(HttpSoletRequest request) throws HttpNotFoundException;
 
-    ActionInvokeResult invokeMethod(ActionMethod method);
+    ActionInvokeResult invokeMethod(ActionMethod method, RequestContext requestContext);
 
-    ActionInvokeResult invokeMethod(Exception ex);
+    ActionInvokeResult invokeMethod(Exception ex, RequestContext requestContext);
 }
@@ -4,13 +4,17 @@ import com.cyecize.ioc.annotations.Qualifier;
 import com.cyecize.ioc.utils.AliasFinder;
 import com.cyecize.ioc.utils.AnnotationUtils;
 import com.cyecize.solet.HttpSoletRequest;
-import com.cyecize.summer.areas.routing.exceptions.ActionInvocationException;
 import com.cyecize.summer.areas.routing.exceptions.HttpNotFoundException;
 import com.cyecize.summer.areas.routing.exceptions.UnsatisfiedPathVariableParamException;
 import com.cyecize.summer.areas.routing.exceptions.UnsatisfiedRequestParamException;
+import com.cyecize.summer.areas.routing.interfaces.ActionParameterResolver;
 import com.cyecize.summer.areas.routing.models.ActionInvokeResult;
+import com.cyecize.summer.areas.routing.models.ActionInvoker;
 import com.cyecize.summer.areas.routing.models.ActionMethod;
+import com.cyecize.summer.areas.routing.utils.ActionRouteTrie;
+import com.cyecize.summer.areas.routing.utils.PathFormatter;
 import com.cyecize.summer.areas.routing.utils.PrimitiveTypeDataResolver;
+import com.cyecize.summer.areas.startup.models.RequestContext;
 import com.cyecize.summer.areas.startup.services.DependencyContainer;
 import com.cyecize.summer.areas.validation.annotations.ConvertedBy;
 import com.cyecize.summer.areas.validation.annotations.Valid;
@@ -31,8 +35,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ActionMethodInvokingServiceImpl implements ActionMethodInvokingService {
 
@@ -50,9 +53,11 @@ public class ActionMethodInvokingServiceImpl implements ActionMethodInvokingServ
 
     private Map<String, Set<ActionMethod>> actionMethods;
 
-    private PrimitiveTypeDataResolver dataResolver;
+    private final Map<String, ActionRouteTrie> routesByHttpMethod;
+
+    private final Map<ActionMethod, ActionInvoker> invokers;
 
-    private HttpSoletRequest currentRequest;
+    private PrimitiveTypeDataResolver dataResolver;
 
     public ActionMethodInvokingServiceImpl(DependencyContainer dependencyContainer, ObjectBindingService bindingService,
                                            ObjectValidationService validationService, DataAdapterStorageService dataAdapters,
@@ -64,6 +69,17 @@ public class ActionMethodInvokingServiceImpl implements ActionMethodInvokingServ
         this.dataAdapters = dataAdapters;
         this.actionMethods = actionMethods;
         this.dataResolver = new PrimitiveTypeDataResolver();
+        this.routesByHttpMethod = new HashMap<>();
+        this.invokers = new ConcurrentHashMap<>();
+
+        final PathFormatter pathFormatter = new PathFormatter();
+        actionMethods.forEach((httpMethod, methods) -> {
+            if (!EXCEPTION.equals(httpMethod)) {
+                this.routesByHttpMethod.put(httpMethod, new ActionRouteTrie(methods, pathFormatter));
+            }
+
+            methods.forEach(this::getInvoker);
+        });
     }
 
     /**
@@ -72,12 +88,11 @@ public class ActionMethodInvokingServiceImpl implements ActionMethodInvokingServ
      */
     @Override
     public ActionMethod findAction(HttpSoletRequest request) throws HttpNotFoundException {
-        this.currentRequest = request;
-        final ActionMethod actionMethod = this.findActionMethod();
+        final ActionMethod actionMethod = this.findActionMethod(request);
 
         if (actionMethod == null) {
-            if (!this.currentRequest.isResource()) {
-                throw new HttpNotFoundException(this.currentRequest.getRequestURL());
+            if (!request.isResource()) {
+                throw new HttpNotFoundException(request.getRequestURL());
             }
         }
 
@@ -85,113 +100,129 @@ public class ActionMethodInvokingServiceImpl implements ActionMethodInvokingServ
     }
 
     /**
-     * Extracts path variable from actionMethod, invokes action method
+     * Extracts path variable values from the request url, invokes action method
      * and returns new {@link ActionInvokeResult}.
      */
     @Override
-    public ActionInvokeResult invokeMethod(ActionMethod actionMethod) {
-        final Map<String, Object> pathVariables = this.getPathVariables(actionMethod);
-        final Object methodResult = this.invokeAction(actionMethod, pathVariables);
+    public ActionInvokeResult invokeMethod(ActionMethod actionMethod, RequestContext requestContext) {
+        final HttpSoletRequest request = requestContext.getRequest();
+        final Map<String, String> pathVariables = this.routesByHttpMethod
+                .get(request.getMethod().toUpperCase())
+                .getPathVariables(actionMethod, request.getRelativeRequestURL());
+
+        final Object methodResult = this.getInvoker(actionMethod).invoke(requestContext, pathVariables);
 
-        this.currentRequest = null;
         return new ActionInvokeResult(actionMethod, methodResult, actionMethod.getContentType());
     }
 
     /**
-     * Adds exception with all parents to the dependencyContainer, then searches for exception listeners.
+     * Adds exception with all parents to the request context, then searches for exception listeners.
      * If listener is found, invoke the method, else return null.
      */
     @Override
-    public ActionInvokeResult invokeMethod(Exception ex) {
-        this.currentRequest = this.dependencyContainer.getService(HttpSoletRequest.class);
+    public ActionInvokeResult invokeMethod(Exception ex, RequestContext requestContext) {
         final List<Throwable> exceptionStack = this.getExceptionStack(ex);
-        exceptionStack.forEach(this.dependencyContainer::addFlashService);
+        exceptionStack.forEach(requestContext::addFlashService);
 
         final ActionMethod actionMethod = this.findActionMethod(exceptionStack);
         if (actionMethod == null) {
             return null;
         }
 
-        final Object methodResult = this.invokeAction(actionMethod, new HashMap<>());
-        this.currentRequest = null;
+        final Object methodResult = this.getInvoker(actionMethod).invoke(requestContext, null);
 
         return new ActionInvokeResult(actionMethod, methodResult, actionMethod.getContentType());
     }
 
+    private ActionInvoker getInvoker(ActionMethod actionMethod) {
+        return this.invokers.computeIfAbsent(actionMethod, this::compileInvoker);
+    }
+
     /**
-     * Get the controller for the actionMethod.
-     * Collect method parameters.
-     * Invoke method and return result, or throw ActionInvocationException if
-     * errors occur.
+     * Reads the annotations of the action method parameters once and creates a resolver for every parameter.
      */
-    private Object invokeAction(ActionMethod actionMethod, Map<String, Object> pathVariables) {
-        final Object controllerInstance = actionMethod.getController().getInstance();
-
-        final Object[] methodParams = this.getMethodParameters(actionMethod, pathVariables);
+    private ActionInvoker compileInvoker(ActionMethod actionMethod) {
+        final Parameter[] parameters = actionMethod.getMethod().getParameters();
+        final ActionParameterResolver[] parameterResolvers = new ActionParameterResolver[parameters.length];
 
-        try {
-            actionMethod.getMethod().setAccessible(true);
-            return actionMethod.getMethod().invoke(controllerInstance, methodParams);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            throw new ActionInvocationException(e.getMessage(), e.getCause());
+        for (int i = 0; i < parameters.length; i++) {
+            parameterResolvers[i] = this.compileParameterResolver(actionMethod, parameters[i]);
         }
+
+        return new ActionInvoker(actionMethod, parameterResolvers);
     }
 
     /**
-     * Finds action method requested params by looking in the platform beans.
+     * Creates the resolver of an action method parameter.
      * If {@link RequestParam} is present, it looks for query/body parameter.
      * If {@link PathVariable} is present, it looks in the pathVariables.
-     * If the object is not found, then it is considered to be a service.
+     * Otherwise the object is considered to be a service, then a flash service.
      * If the object is not a service, it is considered a binding model and it is populated and validated if needed.
      */
-    private Object[] getMethodParameters(ActionMethod actionMethod, Map<String, Object> pathVariables) {
-        final Parameter[] parameters = actionMethod.getMethod().getParameters();
-        final Object[] parameterInstances = new Object[parameters.length];
+    private ActionParameterResolver compileParameterResolver(ActionMethod actionMethod, Parameter parameter) {
+        final Class<?> parameterType = parameter.getType();
+        final ConvertedBy convertedBy = parameter.getAnnotation(ConvertedBy.class);
+
+        if (parameter.isAnnotationPresent(RequestParam.class)) {
+            final RequestParam requestParam = parameter.getAnnotation(RequestParam.class);
+            return (requestContext, pathVariables) -> this.handleRequestParam(
+                    parameterType, requestParam, convertedBy, requestContext.getRequest()
+            );
+        }
 
-        for (int i = 0; i < parameters.length; i++) {
-            final Parameter parameter = parameters[i];
-            if (parameter.isAnnotationPresent(RequestParam.class)) {
-                parameterInstances[i] = this.handleRequestParam(parameter, parameter.getAnnotation(RequestParam.class));
-                continue;
-            }
+        if (parameter.isAnnotationPresent(PathVariable.class)) {
+            final PathVariable pathVariable = parameter.getAnnotation(PathVariable.class);
+            return (requestContext, pathVariables) -> {
+                if (pathVariables == null) {
+                    return null;
+                }
 
-            if (parameter.isAnnotationPresent(PathVariable.class)) { //TODO: use pathVariable's val
-                parameterInstances[i] = pathVariables.get(parameter.getName());
-                continue;
-            }
+                return this.handlePathVariable(
+                        actionMethod, parameterType, pathVariable, convertedBy, pathVariables, requestContext.getRequest()
+                );
+            };
+        }
 
-            if (AliasFinder.isAnnotationPresent(parameter.getAnnotations(), Qualifier.class)) {
-                final String qualifier = AnnotationUtils.getAnnotationValue(
-                        AliasFinder.getAnnotation(parameter.getAnnotations(), Qualifier.class)
-                ).toString();
+        String qualifier = null;
+        if (AliasFinder.isAnnotationPresent(parameter.getAnnotations(), Qualifier.class)) {
+            qualifier = AnnotationUtils.getAnnotationValue(
+                    AliasFinder.getAnnotation(parameter.getAnnotations(), Qualifier.class)
+            ).toString();
+        }
 
-                parameterInstances[i] = this.dependencyContainer.getService(parameter.getType(), qualifier);
-            } else {
-                parameterInstances[i] = this.dependencyContainer.getService(parameter.getType());
-            }
+        final String serviceQualifier = qualifier;
+        final boolean validate = parameter.isAnnotationPresent(Valid.class);
 
-            if (parameterInstances[i] != null) continue;
+        return (requestContext, pathVariables) -> {
+            Object instance = this.dependencyContainer.getService(parameterType, serviceQualifier);
+            if (instance != null) {
+                return instance;
+            }
 
-            parameterInstances[i] = this.dependencyContainer.getFlashService(parameter.getType());
-            if (parameterInstances[i] != null) continue;
+            instance = requestContext.getFlashService(parameterType);
+            if (instance != null) {
+                return instance;
+            }
 
-            try {
-                final Object instanceOfBindingModel = parameter.getType().getConstructor().newInstance();
-                this.bindingService.populateBindingModel(instanceOfBindingModel);
-                if (parameter.isAnnotationPresent(Valid.class)) {
-                    this.validationService.validateBindingModel(
-                            instanceOfBindingModel,
-                            this.dependencyContainer.getService(BindingResult.class)
-                    );
-                }
+            return this.createBindingModel(parameterType, validate);
+        };
+    }
 
-                parameterInstances[i] = instanceOfBindingModel;
-            } catch (InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException cause) {
-                throw new RuntimeException(String.format(CANNOT_INSTANTIATE_CLASS_FORMAT, parameter.getType().getName()), cause);
+    private Object createBindingModel(Class<?> bindingModelType, boolean validate) {
+        try {
+            final Object instanceOfBindingModel = bindingModelType.getConstructor().newInstance();
+            this.bindingService.populateBindingModel(instanceOfBindingModel);
+            if (validate) {
+                this.validationService.validateBindingModel(
+                        instanceOfBindingModel,
+                        this.dependencyContainer.getService(BindingResult.class)
+                );
             }
-        }
 
-        return parameterInstances;
+            return instanceOfBindingModel;
+        } catch (InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException cause) {
+            throw new RuntimeException(String.format(CANNOT_INSTANTIATE_CLASS_FORMAT, bindingModelType.getName()), cause);
+        }
     }
 
     /**
@@ -200,31 +231,30 @@ public class ActionMethodInvokingServiceImpl implements ActionMethodInvokingServ
      *
      * @throws UnsatisfiedRequestParamException if the request param value is missing and the value is required.
      */
-    private Object handleRequestParam(Parameter parameter, RequestParam requestParam) {
+    private Object handleRequestParam(Class<?> parameterType, RequestParam requestParam, ConvertedBy convertedBy,
+                                      HttpSoletRequest request) {
         final String paramName = requestParam.value();
 
-        Map.Entry<String, String> matchingKeyValuePair = this.currentRequest.getQueryParameters().entrySet().stream()
-                .filter(kvp -> kvp.getKey().equals(paramName))
-                .findFirst().orElse(null);
+        String paramValue = request.getQueryParameters().get(paramName);
+        boolean hasParam = paramValue != null || request.getQueryParameters().containsKey(paramName);
 
-        if (matchingKeyValuePair == null && this.currentRequest.getBodyParameters() != null) {
-            matchingKeyValuePair = this.currentRequest.getBodyParameters().entrySet().stream()
-                    .filter(kvp -> kvp.getKey().equals(paramName))
-                    .findFirst().orElse(null);
+        if (!hasParam && request.getBodyParameters() != null) {
+            paramValue = request.getBodyParameters().get(paramName);
+            hasParam = paramValue != null || request.getBodyParameters().containsKey(paramName);
         }
 
         Object resultValue = null;
 
-        if (matchingKeyValuePair != null) {
-            if (parameter.isAnnotationPresent(ConvertedBy.class)) {
-                final DataAdapter dataAdapter = this.dataAdapters.getDataAdapter(parameter.getAnnotation(ConvertedBy.class).value());
+        if (hasParam) {
+            if (convertedBy != null) {
+                final DataAdapter dataAdapter = this.dataAdapters.getDataAdapter(convertedBy.value());
 
                 if (dataAdapter != null) {
-                    resultValue = dataAdapter.resolve(paramName, this.currentRequest);
+                    resultValue = dataAdapter.resolve(paramName, request);
                 }
 
             } else {
-                resultValue = this.dataResolver.resolve(parameter.getType(), matchingKeyValuePair.getValue());
+                resultValue = this.dataResolver.resolve(parameterType, paramValue);
             }
         }
 
@@ -232,7 +262,7 @@ public class ActionMethodInvokingServiceImpl implements ActionMethodInvokingServ
             if (requestParam.required()) {
                 throw new UnsatisfiedRequestParamException(requestParam.value());
             } else {
-                return this.dataResolver.defaultValue(parameter.getType());
+                return this.dataResolver.defaultValue(parameterType);
             }
         }
 
@@ -240,67 +270,51 @@ public class ActionMethodInvokingServiceImpl implements ActionMethodInvokingServ
     }
 
     /**
-     * Get matcher for the given action method.
-     * Find all parameters with {@link PathVariable} annotation and get the value from
-     * the matcher where the group name is the PathVariable.value()
-     * Then resolve that value with dataResolver to any primitive type
-     * or use a custom data adapter if {@link ConvertedBy} annotation is present.
+     * Gets the value whose name is the PathVariable.value()
+     * Then resolves that value with dataResolver to any primitive type
+     * or uses a custom data adapter if {@link ConvertedBy} annotation is present.
      *
      * @throws UnsatisfiedPathVariableParamException if the there is no value for a given {@link PathVariable}
      *                                               and that value is required.
      */
-    private Map<String, Object> getPathVariables(ActionMethod actionMethod) {
-        final Map<String, Object> pathVariables = new HashMap<>();
-        final Pattern routePattern = Pattern.compile(actionMethod.getPattern());
-        final Matcher routeMatcher = routePattern.matcher(this.currentRequest.getRelativeRequestURL());
-        routeMatcher.find(); //always true
-
-        for (Parameter param : actionMethod.getMethod().getParameters()) {
-            if (param.isAnnotationPresent(PathVariable.class)) {
-                final PathVariable pathVariable = param.getAnnotation(PathVariable.class);
-
-                final String pathParamName = pathVariable.value();
-                final String paramValue = routeMatcher.group(pathParamName);
-
-                Object pathVariableValue = null;
-                if (param.isAnnotationPresent(ConvertedBy.class)) {
-                    final DataAdapter dataAdapter = this.dataAdapters.getDataAdapter(
-                            param.getAnnotation(ConvertedBy.class).value()
-                    );
-
-                    if (dataAdapter != null) {
-                        //add to request so that custom data adapter can pick it up.
-                        this.currentRequest.addBodyParameter(pathParamName, paramValue);
-                        pathVariableValue = dataAdapter.resolve(pathParamName, this.currentRequest);
-                    }
-
-                } else {
-                    pathVariableValue = this.dataResolver.resolve(param.getType(), paramValue);
-                }
+    private Object handlePathVariable(ActionMethod actionMethod, Class<?> parameterType, PathVariable pathVariable,
+                                      ConvertedBy convertedBy, Map<String, String> pathVariables,
+                                      HttpSoletRequest request) {
+        final String pathParamName = pathVariable.value();
+        final String paramValue = pathVariables.get(pathParamName);
+
+        Object pathVariableValue = null;
+        if (convertedBy != null) {
+            final DataAdapter dataAdapter = this.dataAdapters.getDataAdapter(convertedBy.value());
+
+            if (dataAdapter != null) {
+                //add to request so that custom data adapter can pick it up.
+                request.addBodyParameter(pathParamName, paramValue);
+                pathVariableValue = dataAdapter.resolve(pathParamName, request);
+            }
 
-                if (pathVariableValue == null && pathVariable.required()) {
-                    throw new UnsatisfiedPathVariableParamException(actionMethod, pathVariable);
-                }
+        } else {
+            pathVariableValue = this.dataResolver.resolve(parameterType, paramValue);
+        }
 
-                pathVariables.put(param.getName(), pathVariableValue);
-            }
+        if (pathVariableValue == null && pathVariable.required()) {
+            throw new UnsatisfiedPathVariableParamException(actionMethod, pathVariable);
         }
 
-        return pathVariables;
+        return pathVariableValue;
     }
 
     /**
-     * Checks if the request method key is present in the actionMethods map.
-     * Filters the action method whose url matches the request url.
+     * Checks if there are routes for the request method.
+     * Finds the action method whose route matches the request url.
      */
-    private ActionMethod findActionMethod() {
-        if (!this.actionMethods.containsKey(this.currentRequest.getMethod().toUpperCase())) {
+    private ActionMethod findActionMethod(HttpSoletRequest request) {
+        final ActionRouteTrie routes = this.routesByHttpMethod.get(request.getMethod().toUpperCase());
+        if (routes == null) {
             return null;
         }
 
-        return this.actionMethods.get(this.currentRequest.getMethod().toUpperCase()).stream()
-                .filter(action -> Pattern.matches(action.getPattern(), this.currentRequest.getRelativeRequestURL()))
-                .findFirst().orElse(null);
+        return routes.find(request.getRelativeRequestURL());
     }
 
     /**
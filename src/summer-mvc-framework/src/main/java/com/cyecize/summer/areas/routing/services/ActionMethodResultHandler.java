@@ -1,7 +1,8 @@
 package com.cyecize.summer.areas.routing.services;
 
 import com.cyecize.summer.areas.routing.models.ActionInvokeResult;
+import com.cyecize.summer.areas.startup.models.RequestContext;
 
 public interface ActionMethodResultHandler {
-    void handleActionResult(ActionInvokeResult result);
+    void handleActionResult(ActionInvokeResult result, RequestContext requestContext);
 }
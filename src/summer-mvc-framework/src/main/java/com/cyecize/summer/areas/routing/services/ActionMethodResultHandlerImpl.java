@@ -1,23 +1,30 @@
 package com.cyecize.summer.areas.routing.services;
 
 import com.cyecize.http.HttpStatus;
-import com.cyecize.solet.HttpSoletRequest;
+import com.cyecize.ioc.models.ServiceDetails;
 import com.cyecize.solet.HttpSoletResponse;
 import com.cyecize.summer.areas.routing.exceptions.ActionInvocationException;
 import com.cyecize.summer.areas.template.exceptions.EmptyViewException;
 import com.cyecize.summer.areas.routing.exceptions.ViewNotFoundException;
 import com.cyecize.summer.areas.routing.models.ActionInvokeResult;
+import com.cyecize.summer.areas.startup.models.RequestContext;
 import com.cyecize.summer.areas.startup.services.DependencyContainer;
 import com.cyecize.summer.areas.template.services.TemplateRenderingService;
+import com.cyecize.summer.common.extensions.ActionResultWriter;
 import com.cyecize.summer.common.models.JsonResponse;
 import com.cyecize.summer.common.models.Model;
 import com.cyecize.summer.common.models.ModelAndView;
 import com.cyecize.summer.constants.ContentTypes;
 import com.google.gson.Gson;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.Arrays;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 import static com.cyecize.summer.constants.RoutingConstants.ACTION_REDIRECT_ABSOLUTE_ROUTE_STARTING_CHAR;
 import static com.cyecize.summer.constants.RoutingConstants.ACTION_RETURN_DELIMITER;
@@ -31,90 +38,170 @@ public class ActionMethodResultHandlerImpl implements ActionMethodResultHandler
 
     private static final String CONTENT_TYPE_HEADER = "Content-Type";
 
+    private static final String NO_GENERIC_TYPE_FOUND_FOR_CLS_FORMAT = "No generic type found for result writer \"%s\".";
+
     private final Gson gson;
 
     private final DependencyContainer dependencyContainer;
 
     private final TemplateRenderingService renderingService;
 
-    private HttpSoletResponse response;
+    private final Map<Class<?>, ResultWriter<Object>> writers;
 
-    private ActionInvokeResult actionInvokeResult;
+    /**
+     * Writer of every result type, found once per type.
+     */
+    private final ClassValue<ResultWriter<Object>> writersByResultType = new ClassValue<>() {
+        @Override
+        protected ResultWriter<Object> computeValue(Class<?> type) {
+            return ActionMethodResultHandlerImpl.this.findWriter(type);
+        }
+    };
 
     public ActionMethodResultHandlerImpl(DependencyContainer dependencyContainer, TemplateRenderingService renderingService) {
         this.dependencyContainer = dependencyContainer;
         this.renderingService = renderingService;
         this.gson = new Gson();
+        this.writers = new HashMap<>();
+        this.initWriters();
     }
 
     /**
      * Sets Content-Type header from the action result.
      * Looks for suitable method.
+     * If the action has written the body to the response output stream, the result is ignored.
      */
     @Override
-    public void handleActionResult(ActionInvokeResult result) {
-        this.response = this.dependencyContainer.getService(HttpSoletResponse.class);
-        this.actionInvokeResult = result;
-
-        if (!this.response.getHeaders().containsKey(CONTENT_TYPE_HEADER)) {
-            this.response.addHeader(CONTENT_TYPE_HEADER, result.getContentType());
+    public void handleActionResult(ActionInvokeResult result, RequestContext requestContext) {
+        final HttpSoletResponse response = requestContext.getResponse();
+        if (response.isStreaming()) {
+            return;
         }
 
-        this.executeSuitableMethod(result);
-        if (this.response.getStatusCode() == null) {
-            this.response.setStatusCode(HttpStatus.OK);
+        if (!response.getHeaders().containsKey(CONTENT_TYPE_HEADER)) {
+            response.addHeader(CONTENT_TYPE_HEADER, result.getContentType());
         }
 
-        this.actionInvokeResult = null;
+        this.executeSuitableMethod(result, requestContext);
+        if (response.getStatusCode() == null) {
+            response.setStatusCode(HttpStatus.OK);
+        }
     }
 
     /**
-     * Scans the current class for methods who have 1 parameter and that parameter is
-     * assignable from the action result.
-     * Then proceeds to execute that method.
-     * If no suitable method is found, the method handleOtherResponse is called.
+     * Finds the writer of the result type in the cache and executes it.
+     * If there is no writer for the type, the result is written as Json.
      */
-    private void executeSuitableMethod(ActionInvokeResult result) {
+    private void executeSuitableMethod(ActionInvokeResult result, RequestContext requestContext) {
         final Object methodInvokeResult = result.getInvocationResult();
         if (methodInvokeResult == null) {
-            this.handleNullResponse();
+            this.handleNullResponse(requestContext.getResponse());
             return;
         }
 
-        final Class<?> actionResultType = methodInvokeResult.getClass();
-        final Method suitableMethod = Arrays.stream(ActionMethodResultHandlerImpl.class.getDeclaredMethods())
-                .filter(m -> m.getParameterCount() == 1 && actionResultType.isAssignableFrom(m.getParameterTypes()[0]))
-                .findFirst().orElse(null);
+        try {
+            this.writersByResultType.get(methodInvokeResult.getClass()).write(methodInvokeResult, result, requestContext);
+        } catch (Exception ex) {
+            throw new ActionInvocationException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Looks for a writer of the type, then of its superclasses and then of its interfaces.
+     */
+    private ResultWriter<Object> findWriter(Class<?> resultType) {
+        final Deque<Class<?>> types = new ArrayDeque<>();
+        final Set<Class<?>> visitedTypes = new HashSet<>();
+
+        for (Class<?> type = resultType; type != null; type = type.getSuperclass()) {
+            if (this.writers.containsKey(type)) {
+                return this.writers.get(type);
+            }
+
+            types.add(type);
+        }
+
+        while (!types.isEmpty()) {
+            for (Class<?> interfaceType : types.poll().getInterfaces()) {
+                if (this.writers.containsKey(interfaceType)) {
+                    return this.writers.get(interfaceType);
+                }
 
-        if (suitableMethod != null) {
-            suitableMethod.setAccessible(true);
-            try {
-                suitableMethod.invoke(this, methodInvokeResult);
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                throw new ActionInvocationException(e.getCause().getMessage(), e.getCause());
+                if (visitedTypes.add(interfaceType)) {
+                    types.add(interfaceType);
+                }
+            }
+        }
+
+        return this::handleOtherResponse;
+    }
+
+    /**
+     * Adds the writers of Summer, then the ones provided by the application, so that they can replace them.
+     */
+    @SuppressWarnings("unchecked")
+    private void initWriters() {
+        this.addWriter(String.class, this::handleStringResponse);
+        this.addWriter(Model.class, this::handleModelResponse);
+        this.addWriter(ModelAndView.class, this::handleModelAndViewResponse);
+        this.addWriter(JsonResponse.class, this::handleJsonResponse);
+
+        for (ServiceDetails serviceDetails : this.dependencyContainer.getImplementations(ActionResultWriter.class)) {
+            final ActionResultWriter<Object> writer = (ActionResultWriter<Object>) serviceDetails.getInstance();
+            this.addWriter(
+                    this.getResultType(serviceDetails.getActualInstance().getClass()),
+                    (result, actionResult, requestContext) ->
+                            writer.write(result, requestContext.getRequest(), requestContext.getResponse())
+            );
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void addWriter(Class<T> resultType, ResultWriter<? super T> writer) {
+        this.writers.put(resultType, (ResultWriter<Object>) writer);
+    }
+
+    /**
+     * Gets the generic type of the {@link ActionResultWriter} interface of a writer.
+     */
+    private Class<?> getResultType(Class<?> writerType) {
+        for (Type genericInterface : writerType.getGenericInterfaces()) {
+            if (genericInterface instanceof ParameterizedType
+                    && ((ParameterizedType) genericInterface).getRawType() == ActionResultWriter.class) {
+                final Type resultType = ((ParameterizedType) genericInterface).getActualTypeArguments()[0];
+
+                if (resultType instanceof Class) {
+                    return (Class<?>) resultType;
+                }
+
+                if (resultType instanceof ParameterizedType) {
+                    return (Class<?>) ((ParameterizedType) resultType).getRawType();
+                }
             }
-        } else {
-            this.handleOtherResponse(result);
         }
+
+        throw new RuntimeException(String.format(NO_GENERIC_TYPE_FOUND_FOR_CLS_FORMAT, writerType.getName()));
     }
 
     /**
      * Sets the response as a Json representation of the return type.
      */
-    private void handleOtherResponse(ActionInvokeResult result) {
-        this.response.setContent(this.gson.toJson(result.getInvocationResult()));
+    private void handleOtherResponse(Object result, ActionInvokeResult actionResult, RequestContext requestContext) {
+        requestContext.getResponse().setContent(this.gson.toJson(result));
     }
 
     /**
      * In case of {@link JsonResponse}, Stringify the result and set the Content-Type to application/json
      */
-    private void handleJsonResponse(JsonResponse result) {
+    private void handleJsonResponse(JsonResponse result, ActionInvokeResult actionResult,
+                                    RequestContext requestContext) {
+        final HttpSoletResponse response = requestContext.getResponse();
         if (result.getStatusCode() != null) {
-            this.response.setStatusCode(result.getStatusCode());
+            response.setStatusCode(result.getStatusCode());
         }
 
-        this.response.addHeader(CONTENT_TYPE_HEADER, ContentTypes.APPLICATION_JSON);
-        this.response.setContent(this.gson.toJson(result));
+        response.addHeader(CONTENT_TYPE_HEADER, ContentTypes.APPLICATION_JSON);
+        response.setContent(this.gson.toJson(result));
     }
 
     /**
@@ -123,15 +210,17 @@ public class ActionMethodResultHandlerImpl implements ActionMethodResultHandler
      * adds the view parameter to the model and proceeds to call
      * handleModelResponse.
      */
-    private void handleModelAndViewResponse(ModelAndView result) throws EmptyViewException, ViewNotFoundException {
+    private void handleModelAndViewResponse(ModelAndView result, ActionInvokeResult actionResult,
+                                            RequestContext requestContext)
+            throws EmptyViewException, ViewNotFoundException {
         final Model model = this.dependencyContainer.getService(Model.class);
         if (result.getStatus() != null) {
-            this.response.setStatusCode(result.getStatus());
+            requestContext.getResponse().setStatusCode(result.getStatus());
         }
 
         result.getAttributes().forEach(model::addAttribute);
         model.addAttribute(MODEL_VIEW_NAME_KEY, result.getView());
-        this.handleModelResponse(model);
+        this.handleModelResponse(model, actionResult, requestContext);
     }
 
     /**
@@ -139,7 +228,8 @@ public class ActionMethodResultHandlerImpl implements ActionMethodResultHandler
      * If the view contains the redirect value, proceed to handle redirect response
      * otherwise proceed to handle view response.
      */
-    private void handleModelResponse(Model result) throws EmptyViewException, ViewNotFoundException {
+    private void handleModelResponse(Model result, ActionInvokeResult actionResult, RequestContext requestContext)
+            throws EmptyViewException, ViewNotFoundException {
         final Object viewName = result.getAttribute(MODEL_VIEW_NAME_KEY);
         if (viewName == null) {
             throw new EmptyViewException(VIEW_EMPTY_MSG);
@@ -148,56 +238,72 @@ public class ActionMethodResultHandlerImpl implements ActionMethodResultHandler
         if (viewName.toString().startsWith(ACTION_RETURN_REDIRECT + ACTION_RETURN_DELIMITER)) {
             this.handleRedirectResponse(
                     viewName.toString().split(ACTION_RETURN_DELIMITER)[1].trim(),
-                    this.dependencyContainer.getService(HttpSoletRequest.class));
+                    actionResult,
+                    requestContext
+            );
             return;
         }
 
-        this.handleViewResponse(viewName.toString(), result);
+        this.handleViewResponse(viewName.toString(), result, requestContext.getResponse());
     }
 
     /**
      * Checks if response contains template or redirect keywords and handles the actions accordingly.
      * If there are no matching keywords, sets the response content directly.
      */
-    private void handleStringResponse(String result) throws ViewNotFoundException {
+    private void handleStringResponse(String result, ActionInvokeResult actionResult, RequestContext requestContext)
+            throws ViewNotFoundException {
         final String delimiter = ACTION_RETURN_DELIMITER;
 
         if (result.startsWith(ACTION_RETURN_TEMPLATE + delimiter)) {
             this.handleViewResponse(
                     result.substring((ACTION_RETURN_TEMPLATE + delimiter).length()).trim(),
-                    this.dependencyContainer.getService(Model.class)
+                    this.dependencyContainer.getService(Model.class),
+                    requestContext.getResponse()
             );
 
         } else if (result.startsWith(ACTION_RETURN_REDIRECT + delimiter)) {
             this.handleRedirectResponse(
                     result.substring((ACTION_RETURN_REDIRECT + delimiter).length()).trim(),
-                    this.dependencyContainer.getService(HttpSoletRequest.class)
+                    actionResult,
+                    requestContext
             );
 
         } else {
-            this.response.setContent(result);
+            requestContext.getResponse().setContent(result);
         }
     }
 
-    private void handleNullResponse() {
-        this.response.setContent("");
+    private void handleNullResponse(HttpSoletResponse response) {
+        response.setContent("");
     }
 
     /**
      * Calls twig service to handle the view.
      */
-    private void handleViewResponse(String view, Model model) throws ViewNotFoundException {
-        this.response.setContent(this.renderingService.render(view, model));
+    private void handleViewResponse(String view, Model model, HttpSoletResponse response)
+            throws ViewNotFoundException {
+        response.setContent(this.renderingService.render(view, model));
     }
 
     /**
      * Sends redirect by adding the app Name as a prefix.
      */
-    private void handleRedirectResponse(String location, HttpSoletRequest request) {
+    private void handleRedirectResponse(String location, ActionInvokeResult actionResult,
+                                        RequestContext requestContext) {
         if (!location.startsWith(ACTION_REDIRECT_ABSOLUTE_ROUTE_STARTING_CHAR)) {
-            location = this.actionInvokeResult.getActionMethod().getBaseRoute() + ACTION_REDIRECT_ABSOLUTE_ROUTE_STARTING_CHAR + location;
+            location = actionResult.getActionMethod().getBaseRoute() + ACTION_REDIRECT_ABSOLUTE_ROUTE_STARTING_CHAR + location;
         }
 
-        this.response.sendRedirect(request.getContextPath() + location);
+        requestContext.getResponse().sendRedirect(requestContext.getRequest().getContextPath() + location);
+    }
+
+    /**
+     * Writes a result of type T to the response of the request context.
+     */
+    @FunctionalInterface
+    private interface ResultWriter<T> {
+
+        void write(T result, ActionInvokeResult actionResult, RequestContext requestContext) throws Exception;
     }
 }
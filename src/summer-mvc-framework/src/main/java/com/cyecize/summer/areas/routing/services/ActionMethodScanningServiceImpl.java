@@ -118,7 +118,8 @@ public class ActionMethodScanningServiceImpl implements ActionMethodScanningServ
             final AnnotationExtractedValue annotationExtractedValue = this.findRoutingAnnotation(method);
 
             if (annotationExtractedValue != null) {
-                final String pattern = this.pathFormatter.formatPath(baseRoute + annotationExtractedValue.getPattern());
+                final String route = baseRoute + annotationExtractedValue.getPattern();
+                final String pattern = this.pathFormatter.formatPath(route);
                 String contentType = ContentTypes.NONE.equals(annotationExtractedValue.getContentType()) ?
                         baseContentType : annotationExtractedValue.getContentType();
 
@@ -126,7 +127,14 @@ public class ActionMethodScanningServiceImpl implements ActionMethodScanningServ
                     contentType = ContentTypes.TEXT_HTML;
                 }
 
-                final ActionMethod actionMethod = new ActionMethod(pattern, baseRoute, method, contentType, controller);
+                final ActionMethod actionMethod = new ActionMethod(
+                        pattern,
+                        this.pathFormatter.parseSegments(route),
+                        baseRoute,
+                        method,
+                        contentType,
+                        controller
+                );
 
                 for (String httpMethod : annotationExtractedValue.getHttpMethods()) {
                     this.actionsByHttpMethod.get(httpMethod).add(actionMethod);
@@ -9,11 +9,9 @@ import com.cyecize.summer.areas.routing.exceptions.ActionInvocationException;
 import com.cyecize.summer.areas.routing.models.ActionInvokeResult;
 import com.cyecize.summer.areas.routing.models.ActionMethod;
 import com.cyecize.summer.areas.security.models.Principal;
+import com.cyecize.summer.areas.startup.models.RequestContext;
 import com.cyecize.summer.areas.startup.services.DependencyContainer;
-import com.cyecize.summer.areas.startup.services.SessionScopeManager;
-import com.cyecize.summer.areas.startup.services.SessionScopeManagerImpl;
 import com.cyecize.summer.areas.validation.interfaces.BindingResult;
-import com.cyecize.summer.common.enums.ServiceLifeSpan;
 import com.cyecize.summer.common.models.Model;
 import com.cyecize.summer.common.models.RedirectAttributes;
 import com.cyecize.summer.constants.RoutingConstants;
@@ -27,8 +25,6 @@ public class RequestProcessorImpl implements RequestProcessor {
 
     private final SoletLogger soletLogger;
 
-    private final SessionScopeManager sessionScopeManager;
-
     private final ActionMethodInvokingService methodInvokingService;
 
     private final ActionMethodResultHandler methodResultHandler;
@@ -42,48 +38,45 @@ public class RequestProcessorImpl implements RequestProcessor {
                                 InterceptorInvokerService interceptorService,
                                 DependencyContainer dependencyContainer) {
         this.soletLogger = soletLogger;
-        this.sessionScopeManager = new SessionScopeManagerImpl();
-        this.sessionScopeManager.initialize(dependencyContainer);
-
         this.methodInvokingService = methodInvokingService;
         this.methodResultHandler = methodResultHandler;
         this.interceptorService = interceptorService;
         this.dependencyContainer = dependencyContainer;
     }
 
+    /**
+     * Binds a new request context to the current thread for the duration of the request
+     * so that request and session scoped services resolve to instances of this request only.
+     */
     @Override
     public boolean processRequest(HttpSoletRequest request, HttpSoletResponse response) {
-        this.updatePlatformBeans(request, response);
-        this.dependencyContainer.clearFlashServices();
-        this.dependencyContainer.reloadServices(ServiceLifeSpan.REQUEST);
-
-        this.sessionScopeManager.setSessionScopedServices(request);
+        final RequestContext requestContext = new RequestContext(request, response);
+        this.dependencyContainer.setRequestContext(requestContext);
 
         try {
-            if (this.interceptorService.preHandle(request, response, dependencyContainer)) {
-                if (!this.executeActionMethod(request, response)) {
-                    return false;
+            try {
+                if (this.interceptorService.preHandle(request, response, this.dependencyContainer)) {
+                    if (!this.executeActionMethod(requestContext)) {
+                        return false;
+                    }
+                }
+            } catch (Exception ex) {
+                try {
+                    this.processException(ex, requestContext);
+                } catch (Exception exception) {
+                    this.whitePageException(response, exception);
                 }
             }
-        } catch (Exception ex) {
+
+            this.setSessionAttributes(request);
+            return true;
+        } finally {
             try {
-                this.processException(ex);
-            } catch (Exception exception) {
-                this.whitePageException(response, exception);
+                this.dependencyContainer.destroyRequestScopedServices(requestContext);
+            } finally {
+                this.dependencyContainer.setRequestContext(null);
             }
         }
-
-        this.setSessionAttributes(request);
-        return true;
-    }
-
-    /**
-     * Updates request beans on every request.
-     */
-    private void updatePlatformBeans(HttpSoletRequest request, HttpSoletResponse response) {
-        this.dependencyContainer.update(request);
-        this.dependencyContainer.update(response);
-        this.dependencyContainer.update(request.getSession());
     }
 
     /**
@@ -93,7 +86,9 @@ public class RequestProcessorImpl implements RequestProcessor {
      * Handles invocation result.
      * Runs interceptors' postHandle.
      */
-    private boolean executeActionMethod(HttpSoletRequest request, HttpSoletResponse response) throws Exception {
+    private boolean executeActionMethod(RequestContext requestContext) throws Exception {
+        final HttpSoletRequest request = requestContext.getRequest();
+        final HttpSoletResponse response = requestContext.getResponse();
         final ActionMethod method = this.methodInvokingService.findAction(request);
 
         if (method == null) {
@@ -104,9 +99,9 @@ public class RequestProcessorImpl implements RequestProcessor {
             return true;
         }
 
-        final ActionInvokeResult result = this.methodInvokingService.invokeMethod(method);
+        final ActionInvokeResult result = this.methodInvokingService.invokeMethod(method, requestContext);
 
-        this.methodResultHandler.handleActionResult(result);
+        this.methodResultHandler.handleActionResult(result, requestContext);
         this.interceptorService.postHandle(request, response, result, this.dependencyContainer.getService(Model.class));
         return true;
     }
@@ -115,14 +110,14 @@ public class RequestProcessorImpl implements RequestProcessor {
      * Looks for exception listeners and calls whitePageError, if no listener is found.
      * If a listener is found, proceeds to handle the actionResult.
      */
-    private void processException(Exception ex) {
-        final ActionInvokeResult exResult = this.methodInvokingService.invokeMethod(ex);
+    private void processException(Exception ex, RequestContext requestContext) {
+        final ActionInvokeResult exResult = this.methodInvokingService.invokeMethod(ex, requestContext);
         if (exResult == null) {
-            this.whitePageException(this.dependencyContainer.getService(HttpSoletResponse.class), ex);
+            this.whitePageException(requestContext.getResponse(), ex);
             return;
         }
 
-        this.methodResultHandler.handleActionResult(exResult);
+        this.methodResultHandler.handleActionResult(exResult, requestContext);
     }
 
     /**
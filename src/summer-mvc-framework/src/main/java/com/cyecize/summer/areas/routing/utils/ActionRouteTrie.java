@@ -0,0 +1,189 @@
+package com.cyecize.summer.areas.routing.utils;
+
+import com.cyecize.summer.areas.routing.models.ActionMethod;
+import com.cyecize.summer.areas.routing.models.RouteSegment;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the action method of a request url by walking a tree of route segments built once at startup.
+ * Constant segments are found with a map lookup and path variables are captured without a regex,
+ * so the cost of a lookup depends on the length of the url and not on the number of routes.
+ * <p>
+ * At every segment constants are tried before segments that mix constants and path variables,
+ * which are tried before plain path variables, keeping constant routes from being matched by path variables.
+ * Routes that use regex syntax are matched with their pattern, after the tree.
+ */
+public class ActionRouteTrie {
+
+    private static final Pattern GROUP_NAME_PATTERN = Pattern.compile("\\(\\?<([a-zA-Z]+)>");
+
+    private final PathFormatter pathFormatter;
+
+    private final Node root;
+
+    private final Map<ActionMethod, Pattern> regexRoutes;
+
+    /**
+     * @param actionMethods - actions of one http method, in the order in which they should be matched.
+     */
+    public ActionRouteTrie(Collection<ActionMethod> actionMethods, PathFormatter pathFormatter) {
+        this.pathFormatter = pathFormatter;
+        this.root = new Node();
+        this.regexRoutes = new LinkedHashMap<>();
+
+        for (ActionMethod actionMethod : actionMethods) {
+            if (actionMethod.getRouteSegments() == null) {
+                this.regexRoutes.put(actionMethod, Pattern.compile(actionMethod.getPattern()));
+            } else {
+                this.add(actionMethod);
+            }
+        }
+    }
+
+    /**
+     * @return the action method that matches the url or null.
+     */
+    public ActionMethod find(String url) {
+        final ActionMethod actionMethod = this.find(this.root, this.pathFormatter.splitPath(url), 0);
+        if (actionMethod != null) {
+            return actionMethod;
+        }
+
+        for (Map.Entry<ActionMethod, Pattern> regexRoute : this.regexRoutes.entrySet()) {
+            if (regexRoute.getValue().matcher(url).matches()) {
+                return regexRoute.getKey();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the values of the path variables of an action method that matches the url.
+     */
+    public Map<String, String> getPathVariables(ActionMethod actionMethod, String url) {
+        final Map<String, String> pathVariables = new HashMap<>();
+
+        if (actionMethod.getRouteSegments() == null) {
+            final Matcher routeMatcher = this.regexRoutes.get(actionMethod).matcher(url);
+            if (routeMatcher.matches()) {
+                final Matcher groupNameMatcher = GROUP_NAME_PATTERN.matcher(actionMethod.getPattern());
+                while (groupNameMatcher.find()) {
+                    pathVariables.put(groupNameMatcher.group(1), routeMatcher.group(groupNameMatcher.group(1)));
+                }
+            }
+
+            return pathVariables;
+        }
+
+        final List<RouteSegment> routeSegments = actionMethod.getRouteSegments();
+        final String[] urlSegments = this.pathFormatter.splitPath(url);
+
+        for (int i = 0; i < routeSegments.size() && i < urlSegments.length; i++) {
+            if (!routeSegments.get(i).isConstant()) {
+                routeSegments.get(i).match(urlSegments[i], pathVariables);
+            }
+        }
+
+        return pathVariables;
+    }
+
+    private void add(ActionMethod actionMethod) {
+        Node node = this.root;
+
+        for (RouteSegment segment : actionMethod.getRouteSegments()) {
+            if (segment.isConstant()) {
+                node = node.constants.computeIfAbsent(segment.getText(), text -> new Node());
+            } else if (segment.isVariable()) {
+                if (node.variable == null) {
+                    node.variable = new Node();
+                }
+
+                node = node.variable;
+            } else {
+                final Node parent = node;
+                node = parent.mixed.computeIfAbsent(segment.getShape(), shape -> {
+                    final Node child = new Node();
+                    child.segment = segment;
+                    parent.mixedChildren.add(child);
+                    return child;
+                });
+            }
+        }
+
+        //Actions are added in order, so the first one is kept if two actions have the same route.
+        if (node.actionMethod == null) {
+            node.actionMethod = actionMethod;
+        }
+    }
+
+    /**
+     * Goes back and tries the next option of a previous segment if the rest of the url does not match.
+     */
+    private ActionMethod find(Node node, String[] urlSegments, int index) {
+        if (index == urlSegments.length) {
+            return node.actionMethod;
+        }
+
+        final String urlSegment = urlSegments[index];
+        ActionMethod actionMethod;
+
+        final Node constant = node.constants.get(urlSegment);
+        if (constant != null && (actionMethod = this.find(constant, urlSegments, index + 1)) != null) {
+            return actionMethod;
+        }
+
+        for (Node mixed : node.mixedChildren) {
+            if (mixed.segment.match(urlSegment, null)
+                    && (actionMethod = this.find(mixed, urlSegments, index + 1)) != null) {
+                return actionMethod;
+            }
+        }
+
+        if (node.variable != null && this.isVariableValue(urlSegment)) {
+            return this.find(node.variable, urlSegments, index + 1);
+        }
+
+        return null;
+    }
+
+    private boolean isVariableValue(String urlSegment) {
+        if (urlSegment.isEmpty()) {
+            return false;
+        }
+
+        for (int i = 0; i < urlSegment.length(); i++) {
+            if (!RouteSegment.isVariableChar(urlSegment.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static class Node {
+
+        private final Map<String, Node> constants = new HashMap<>();
+
+        private final Map<String, Node> mixed = new HashMap<>();
+
+        private final List<Node> mixedChildren = new ArrayList<>();
+
+        private Node variable;
+
+        /**
+         * Segment of a node that mixes constants and path variables.
+         */
+        private RouteSegment segment;
+
+        private ActionMethod actionMethod;
+    }
+}
@@ -1,11 +1,21 @@
 package com.cyecize.summer.areas.routing.utils;
 
+import com.cyecize.summer.areas.routing.models.RouteSegment;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class PathFormatter {
     private static final String PATH_PARAMETER_PATTERN = "\\{([a-zA-Z]+)\\}";
 
+    private static final Pattern COMPILED_PATH_PARAMETER_PATTERN = Pattern.compile(PATH_PARAMETER_PATTERN);
+
+    private static final String REGEX_SPECIAL_CHARS = "\\[](){}*+?^$|";
+
+    private static final String PATH_SEPARATOR = "/";
+
     private static final String PATH_PARSED_PARAMETER_PATTERN = "(?<group-name>[a-zA-Z0-9_-]+)";
 
     public PathFormatter() {
@@ -38,4 +48,70 @@ public class PathFormatter {
 
         return "^" + formatterPath + "$";
     }
+
+    /**
+     * Splits a route into segments that can be matched without a regex.
+     * Routes that use regex syntax, other than the dot, are not split since they can only be matched
+     * with the regex that {@link #formatPath(String)} produces.
+     *
+     * @return null if the route uses regex syntax.
+     */
+    public List<RouteSegment> parseSegments(String path) {
+        final List<RouteSegment> segments = new ArrayList<>();
+
+        for (String segment : this.splitPath(path)) {
+            final List<String> parts = new ArrayList<>();
+            final List<Boolean> variables = new ArrayList<>();
+
+            final Matcher pathParameterMatcher = COMPILED_PATH_PARAMETER_PATTERN.matcher(segment);
+            int constantStart = 0;
+
+            while (pathParameterMatcher.find()) {
+                if (pathParameterMatcher.start() > constantStart) {
+                    parts.add(segment.substring(constantStart, pathParameterMatcher.start()));
+                    variables.add(false);
+                }
+
+                parts.add(pathParameterMatcher.group(1));
+                variables.add(true);
+                constantStart = pathParameterMatcher.end();
+            }
+
+            if (constantStart < segment.length() || parts.isEmpty()) {
+                parts.add(segment.substring(constantStart));
+                variables.add(false);
+            }
+
+            for (int i = 0; i < parts.size(); i++) {
+                if (!variables.get(i) && this.containsRegexSyntax(parts.get(i))) {
+                    return null;
+                }
+            }
+
+            segments.add(new RouteSegment(parts, variables));
+        }
+
+        return segments;
+    }
+
+    /**
+     * Removes the trailing slash, which is optional, and splits the path by slashes.
+     */
+    public String[] splitPath(String path) {
+        if (path.endsWith(PATH_SEPARATOR)) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        return path.split(PATH_SEPARATOR, -1);
+    }
+
+    private boolean containsRegexSyntax(String constant) {
+        for (int i = 0; i < constant.length(); i++) {
+            if (REGEX_SPECIAL_CHARS.indexOf(constant.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
 }
@@ -0,0 +1,103 @@
+package com.cyecize.summer.areas.startup.models;
+
+import com.cyecize.http.HttpSession;
+import com.cyecize.ioc.models.ServiceDetails;
+import com.cyecize.solet.HttpSoletRequest;
+import com.cyecize.solet.HttpSoletResponse;
+import com.cyecize.summer.areas.startup.services.DependencyContainer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds everything that belongs to a single request so that one application can process many requests at once.
+ * While the request is processed, the context is bound to the processing thread with
+ * {@link DependencyContainer#setRequestContext(RequestContext)} and request and session scoped services
+ * resolve to the instances kept here instead of to an instance shared by all requests.
+ */
+public class RequestContext {
+
+    private final HttpSoletRequest request;
+
+    private final HttpSoletResponse response;
+
+    private final Map<ServiceDetails, Object> scopedServices;
+
+    private final List<Object> flashServices;
+
+    public RequestContext(HttpSoletRequest request, HttpSoletResponse response) {
+        this.request = request;
+        this.response = response;
+        this.scopedServices = new LinkedHashMap<>();
+        this.flashServices = new ArrayList<>();
+    }
+
+    public HttpSoletRequest getRequest() {
+        return this.request;
+    }
+
+    public HttpSoletResponse getResponse() {
+        return this.response;
+    }
+
+    public HttpSession getSession() {
+        return this.request.getSession();
+    }
+
+    /**
+     * @return the request, response or session if they are of the given type, otherwise null.
+     */
+    public Object getPlatformService(Class<?> serviceType) {
+        if (serviceType.isInstance(this.request)) {
+            return this.request;
+        }
+
+        if (serviceType.isInstance(this.response)) {
+            return this.response;
+        }
+
+        if (this.getSession() != null && serviceType.isInstance(this.getSession())) {
+            return this.getSession();
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the instance of a request or session scoped service or null if it has not been created yet.
+     */
+    public Object getScopedService(ServiceDetails serviceDetails) {
+        return this.scopedServices.get(serviceDetails);
+    }
+
+    public void addScopedService(ServiceDetails serviceDetails, Object instance) {
+        this.scopedServices.put(serviceDetails, instance);
+    }
+
+    /**
+     * @return the instances of request and session scoped services, in the order in which they were created.
+     */
+    public Map<ServiceDetails, Object> getScopedServices() {
+        return this.scopedServices;
+    }
+
+    public void addFlashService(Object service) {
+        this.flashServices.add(service);
+    }
+
+    /**
+     * @return the first flash service that is assignable to the given type or null.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getFlashService(Class<?> serviceType) {
+        for (Object flashService : this.flashServices) {
+            if (serviceType.isAssignableFrom(flashService.getClass())) {
+                return (T) flashService;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,127 @@
+package com.cyecize.summer.areas.startup.models;
+
+import com.cyecize.ioc.exceptions.PreDestroyExecutionException;
+import com.cyecize.ioc.exceptions.ServiceInstantiationException;
+import com.cyecize.ioc.models.ServiceDetails;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+
+/**
+ * Creates and destroys instances of a service.
+ * Everything that does not change between instances, the constructor, the fields, the post construct
+ * and pre destroy methods and how each dependency is resolved, is found once at startup, so creating an instance only
+ * calls the suppliers of the dependencies and the constructor.
+ */
+public class ServiceFactory {
+
+    private static final String CANNOT_INSTANTIATE_SERVICE_FORMAT = "Cannot create an instance of service \"%s\".";
+
+    private final ServiceDetails serviceDetails;
+
+    private final Constructor<?> constructor;
+
+    private final Supplier<?>[] constructorDependencies;
+
+    private final Field[] fields;
+
+    private final Supplier<?>[] fieldDependencies;
+
+    private final Method postConstructMethod;
+
+    private final Method preDestroyMethod;
+
+    private final Method beanMethod;
+
+    private final Supplier<?> beanRootService;
+
+    /**
+     * Factory of a service that is created with its constructor.
+     */
+    public ServiceFactory(ServiceDetails serviceDetails, Constructor<?> constructor, Supplier<?>[] constructorDependencies,
+                          Field[] fields, Supplier<?>[] fieldDependencies, Method postConstructMethod) {
+        this.serviceDetails = serviceDetails;
+        this.constructor = constructor;
+        this.constructorDependencies = constructorDependencies;
+        this.fields = fields;
+        this.fieldDependencies = fieldDependencies;
+        this.postConstructMethod = postConstructMethod;
+        this.preDestroyMethod = serviceDetails.getPreDestroyMethod();
+        this.beanMethod = null;
+        this.beanRootService = null;
+    }
+
+    /**
+     * Factory of a bean that is created by calling the bean method of its root service.
+     */
+    public ServiceFactory(ServiceDetails serviceDetails, Method beanMethod, Supplier<?> beanRootService) {
+        this.serviceDetails = serviceDetails;
+        this.constructor = null;
+        this.constructorDependencies = null;
+        this.fields = null;
+        this.fieldDependencies = null;
+        this.postConstructMethod = null;
+        this.preDestroyMethod = serviceDetails.getPreDestroyMethod();
+        this.beanMethod = beanMethod;
+        this.beanRootService = beanRootService;
+    }
+
+    public ServiceDetails getServiceDetails() {
+        return this.serviceDetails;
+    }
+
+    public Object create() {
+        try {
+            if (this.beanMethod != null) {
+                return this.beanMethod.invoke(this.beanRootService.get());
+            }
+
+            final Object instance = this.constructor.newInstance(this.resolve(this.constructorDependencies));
+
+            for (int i = 0; i < this.fields.length; i++) {
+                this.fields[i].set(instance, this.fieldDependencies[i].get());
+            }
+
+            if (this.postConstructMethod != null) {
+                this.postConstructMethod.invoke(instance);
+            }
+
+            return instance;
+        } catch (InvocationTargetException ex) {
+            throw new ServiceInstantiationException(this.getErrorMessage(), ex.getTargetException());
+        } catch (ReflectiveOperationException ex) {
+            throw new ServiceInstantiationException(this.getErrorMessage(), ex);
+        }
+    }
+
+    /**
+     * Calls the pre destroy method of an instance created by this factory, same as MagicInjector's destroyInstance.
+     */
+    public void destroy(Object instance) {
+        if (this.preDestroyMethod == null) {
+            return;
+        }
+
+        try {
+            this.preDestroyMethod.invoke(instance);
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw new PreDestroyExecutionException(ex.getMessage(), ex);
+        }
+    }
+
+    private Object[] resolve(Supplier<?>[] dependencies) {
+        final Object[] instances = new Object[dependencies.length];
+        for (int i = 0; i < dependencies.length; i++) {
+            instances[i] = dependencies[i].get();
+        }
+
+        return instances;
+    }
+
+    private String getErrorMessage() {
+        return String.format(CANNOT_INSTANTIATE_SERVICE_FORMAT, this.serviceDetails.getServiceType().getName());
+    }
+}
@@ -6,7 +6,8 @@ import com.cyecize.solet.HttpSoletRequest;
 import com.cyecize.summer.common.annotations.SessionFactory;
 import com.cyecize.summer.common.extensions.SessionScopeFactory;
 
-import java.util.Hashtable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Default service for storing session scoped beans.
@@ -14,10 +15,10 @@ import java.util.Hashtable;
  */
 public class DefaultSessionFactory implements SessionScopeFactory<Object> {
 
-    private final Hashtable<String, Object> instancesBySession;
+    private final Map<String, Object> instancesBySession;
 
     public DefaultSessionFactory() {
-        this.instancesBySession = new Hashtable<>();
+        this.instancesBySession = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -25,16 +26,9 @@ public class DefaultSessionFactory implements SessionScopeFactory<Object> {
                               DependencyContainer dependencyContainer) {
         final HttpSession session = request.getSession();
 
-        if (this.instancesBySession.containsKey(session.getId())) {
-            return this.instancesBySession.get(session.getId());
-        }
-
-        final Object instance = dependencyContainer.getNewInstance(
+        return this.instancesBySession.computeIfAbsent(session.getId(), sessionId -> dependencyContainer.getNewInstance(
                 serviceDetails.getServiceType(),
                 serviceDetails.getInstanceName()
-        );
-
-        this.instancesBySession.put(session.getId(), instance);
-        return instance;
+        ));
     }
 }
@@ -1,19 +1,43 @@
 package com.cyecize.summer.areas.startup.services;
 
 import com.cyecize.ioc.models.ServiceDetails;
+import com.cyecize.summer.areas.startup.models.RequestContext;
 import com.cyecize.summer.common.enums.ServiceLifeSpan;
 
 import java.util.Collection;
 
 public interface DependencyContainer extends com.cyecize.ioc.services.DependencyContainer {
 
-    void reloadServices(ServiceLifeSpan lifeSpan);
-
+    /**
+     * Makes the request and session scoped services resolve to the instances of the request context
+     * that is bound to the calling thread.
+     * Called once after the services have been loaded.
+     */
+    void initScopedServices();
+
+    /**
+     * Binds the context to the calling thread, null unbinds the current one.
+     */
+    void setRequestContext(RequestContext requestContext);
+
+    /**
+     * @return the context bound to the calling thread or null if the thread is not processing a request.
+     */
+    RequestContext getRequestContext();
+
+    /**
+     * Calls the pre destroy methods of the request scoped services that were created for the request context,
+     * in reverse order of creation. Session scoped services outlive the request and are not destroyed.
+     * Called once the request is processed, while the context is still bound to the calling thread.
+     */
+    void destroyRequestScopedServices(RequestContext requestContext);
+
+    /**
+     * Adds a service to the request context bound to the calling thread.
+     */
     void addFlashService(Object service);
 
     <T> T getFlashService(Class<?> serviceType);
 
-    void clearFlashServices();
-
     Collection<ServiceDetails> getServicesByLifeSpan(ServiceLifeSpan serviceLifeSpan);
 }
@@ -1,63 +1,157 @@
 package com.cyecize.summer.areas.startup.services;
 
+import com.cyecize.http.HttpSession;
+import com.cyecize.ioc.enums.ScopeType;
 import com.cyecize.ioc.exceptions.AlreadyInitializedException;
+import com.cyecize.ioc.models.DependencyParam;
+import com.cyecize.ioc.models.ServiceBeanDetails;
 import com.cyecize.ioc.models.ServiceDetails;
 import com.cyecize.ioc.services.ObjectInstantiationService;
+import com.cyecize.ioc.utils.ServiceCompatibilityUtils;
+import com.cyecize.solet.HttpSoletRequest;
+import com.cyecize.solet.HttpSoletResponse;
+import com.cyecize.summer.areas.startup.models.RequestContext;
+import com.cyecize.summer.areas.startup.models.ServiceFactory;
 import com.cyecize.summer.common.annotations.Bean;
 import com.cyecize.summer.common.enums.ServiceLifeSpan;
 import com.cyecize.summer.constants.IocConstants;
+import javassist.util.proxy.ProxyObject;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * Wraps the MagicInjector container so that one application can process many requests at once.
+ * Request and session scoped services are never swapped in the shared {@link ServiceDetails},
+ * instead their proxies resolve to the instances of the {@link RequestContext} bound to the calling thread.
+ * Services are also looked up and instantiated here, since the MagicInjector container
+ * temporarily changes the shared {@link ServiceDetails} while creating new instances.
+ */
 public class DependencyContainerImpl implements DependencyContainer {
 
+    private static final List<Class<?>> PLATFORM_TYPES = List.of(
+            HttpSoletRequest.class,
+            HttpSoletResponse.class,
+            HttpSession.class
+    );
+
     private final com.cyecize.ioc.services.DependencyContainer dependencyContainer;
 
     private final Map<ServiceLifeSpan, Collection<ServiceDetails>> cachedServicesByLifespan;
 
-    private final Collection<Object> flashServices;
+    private final Map<Class<?>, Optional<ServiceDetails>> cachedServiceDetails;
+
+    private final Map<ServiceDetails, ServiceFactory> serviceFactories;
+
+    private final Map<ServiceDetails, ServiceLifeSpan> scopedServices;
+
+    private final Map<ServiceDetails, Object> scopedServicesOutsideOfRequest;
+
+    private final ThreadLocal<RequestContext> requestContext;
+
+    private final SessionScopeManager sessionScopeManager;
 
     public DependencyContainerImpl(com.cyecize.ioc.services.DependencyContainer dependencyContainer) {
         this.dependencyContainer = dependencyContainer;
-        this.cachedServicesByLifespan = new HashMap<>();
-        this.flashServices = new ArrayList<>();
+        this.cachedServicesByLifespan = new ConcurrentHashMap<>();
+        this.cachedServiceDetails = new ConcurrentHashMap<>();
+        this.serviceFactories = new ConcurrentHashMap<>();
+        this.scopedServices = new HashMap<>();
+        this.scopedServicesOutsideOfRequest = new HashMap<>();
+        this.requestContext = new ThreadLocal<>();
+        this.sessionScopeManager = new SessionScopeManagerImpl();
     }
 
+    /**
+     * Proxies created by MagicInjector are made to call the instance of the current request context.
+     * Scoped beans whose type is not an interface have no proxy and are only resolved through getService.
+     * The factories of scoped and prototype services are compiled here, so that requests only create
+     * the instances they use, without looking at the dependency graph again.
+     */
     @Override
-    public void reloadServices(ServiceLifeSpan lifeSpan) {
-        for (ServiceDetails serviceDetails : this.getServicesByLifeSpan(lifeSpan)) {
-            this.reload(serviceDetails);
+    public void initScopedServices() {
+        for (ServiceLifeSpan lifeSpan : List.of(ServiceLifeSpan.REQUEST, ServiceLifeSpan.SESSION)) {
+            for (ServiceDetails serviceDetails : this.getServicesByLifeSpan(lifeSpan)) {
+                this.scopedServices.put(serviceDetails, lifeSpan);
+                this.scopedServicesOutsideOfRequest.put(serviceDetails, serviceDetails.getActualInstance());
+
+                final Object proxyInstance = serviceDetails.getProxyInstance();
+                if (proxyInstance instanceof ProxyObject) {
+                    ((ProxyObject) proxyInstance).setHandler((self, method, proceed, args) ->
+                            this.invokeScopedService(serviceDetails, method, args));
+                } else if (proxyInstance != null && Proxy.isProxyClass(proxyInstance.getClass())) {
+                    serviceDetails.setInstance(Proxy.newProxyInstance(
+                            serviceDetails.getServiceType().getClassLoader(),
+                            new Class<?>[]{serviceDetails.getServiceType()},
+                            (proxy, method, args) -> this.invokeScopedService(serviceDetails, method, args)
+                    ));
+                }
+            }
+        }
+
+        for (ServiceDetails serviceDetails : this.getAllServices()) {
+            if (serviceDetails.getScopeType() == ScopeType.PROTOTYPE || this.scopedServices.containsKey(serviceDetails)) {
+                this.serviceFactories.computeIfAbsent(serviceDetails, this::compileServiceFactory);
+            }
         }
+
+        this.sessionScopeManager.initialize(this);
     }
 
     @Override
-    public void addFlashService(Object service) {
-        this.flashServices.add(service);
+    public void setRequestContext(RequestContext requestContext) {
+        if (requestContext == null) {
+            this.requestContext.remove();
+        } else {
+            this.requestContext.set(requestContext);
+        }
     }
 
     @Override
-    @SuppressWarnings("unchecked")
-    public <T> T getFlashService(Class<?> serviceType) {
-        for (Object flashService : this.flashServices) {
-            if (serviceType.isAssignableFrom(flashService.getClass())) {
-                return (T) flashService;
+    public RequestContext getRequestContext() {
+        return this.requestContext.get();
+    }
+
+    @Override
+    public void destroyRequestScopedServices(RequestContext requestContext) {
+        final List<Map.Entry<ServiceDetails, Object>> scopedInstances = new ArrayList<>(
+                requestContext.getScopedServices().entrySet()
+        );
+
+        for (int i = scopedInstances.size() - 1; i >= 0; i--) {
+            final ServiceDetails serviceDetails = scopedInstances.get(i).getKey();
+            if (this.scopedServices.get(serviceDetails) == ServiceLifeSpan.REQUEST) {
+                this.serviceFactories.get(serviceDetails).destroy(scopedInstances.get(i).getValue());
             }
         }
+    }
 
-        return null;
+    @Override
+    public void addFlashService(Object service) {
+        this.requestContext.get().addFlashService(service);
     }
 
     @Override
-    public void clearFlashServices() {
-        this.flashServices.clear();
+    public <T> T getFlashService(Class<?> serviceType) {
+        final RequestContext requestContext = this.requestContext.get();
+        if (requestContext == null) {
+            return null;
+        }
+
+        return requestContext.getFlashService(serviceType);
     }
 
     @Override
@@ -77,7 +171,7 @@ public class DependencyContainerImpl implements DependencyContainer {
                     .collect(Collectors.toList())
             );
 
-            this.cachedServicesByLifespan.put(serviceLifeSpan, servicesByAnnotation);
+            this.cachedServicesByLifespan.putIfAbsent(serviceLifeSpan, servicesByAnnotation);
         }
 
         return this.cachedServicesByLifespan.get(serviceLifeSpan);
@@ -130,22 +224,54 @@ public class DependencyContainerImpl implements DependencyContainer {
 
     @Override
     public <T> T getService(Class<T> serviceType) {
-        return this.dependencyContainer.getService(serviceType);
+        return this.getService(serviceType, null);
     }
 
+    /**
+     * Request, response and session are taken from the current request context.
+     * Request and session scoped services are resolved to the instances of the current request context.
+     */
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T getService(Class<?> serviceType, String qualifier) {
-        return this.dependencyContainer.getService(serviceType, qualifier);
+        final RequestContext requestContext = this.requestContext.get();
+        if (requestContext != null) {
+            final Object platformService = requestContext.getPlatformService(serviceType);
+            if (platformService != null) {
+                return (T) platformService;
+            }
+        }
+
+        final ServiceDetails serviceDetails = this.findServiceDetails(serviceType, qualifier);
+        if (serviceDetails == null) {
+            return this.dependencyContainer.getService(serviceType, qualifier);
+        }
+
+        if (serviceDetails.getScopeType() == ScopeType.PROTOTYPE) {
+            return (T) this.createInstance(serviceDetails);
+        }
+
+        if (requestContext != null && this.scopedServices.containsKey(serviceDetails)) {
+            return (T) this.getScopedInstance(serviceDetails, requestContext);
+        }
+
+        return (T) serviceDetails.getInstance();
     }
 
     @Override
     public <T> T getNewInstance(Class<?> serviceType) {
-        return this.dependencyContainer.getNewInstance(serviceType);
+        return this.getNewInstance(serviceType, null);
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T getNewInstance(Class<?> serviceType, String qualifier) {
-        return this.dependencyContainer.getNewInstance(serviceType, qualifier);
+        final ServiceDetails serviceDetails = this.findServiceDetails(serviceType, qualifier);
+        if (serviceDetails == null) {
+            return this.dependencyContainer.getNewInstance(serviceType, qualifier);
+        }
+
+        return (T) this.createInstance(serviceDetails);
     }
 
     @Override
@@ -177,4 +303,150 @@ public class DependencyContainerImpl implements DependencyContainer {
     public Collection<ServiceDetails> getAllServices() {
         return this.dependencyContainer.getAllServices();
     }
+
+    private Object invokeScopedService(ServiceDetails serviceDetails, Method method, Object[] args) throws Throwable {
+        final RequestContext requestContext = this.requestContext.get();
+
+        final Object instance = requestContext == null
+                ? this.scopedServicesOutsideOfRequest.get(serviceDetails)
+                : this.getScopedInstance(serviceDetails, requestContext);
+
+        try {
+            return method.invoke(instance, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    /**
+     * Creates the instance the first time it is requested during the request.
+     */
+    private Object getScopedInstance(ServiceDetails serviceDetails, RequestContext requestContext) {
+        Object instance = requestContext.getScopedService(serviceDetails);
+        if (instance != null) {
+            return instance;
+        }
+
+        if (this.scopedServices.get(serviceDetails) == ServiceLifeSpan.SESSION) {
+            instance = this.sessionScopeManager.getInstance(serviceDetails, requestContext.getRequest());
+        } else {
+            instance = this.createInstance(serviceDetails);
+        }
+
+        requestContext.addScopedService(serviceDetails, instance);
+        return instance;
+    }
+
+    /**
+     * Same lookup as MagicInjector, cached for lookups without qualifier.
+     */
+    private ServiceDetails findServiceDetails(Class<?> serviceType, String qualifier) {
+        if (qualifier != null) {
+            return this.findServiceDetailsUncached(serviceType, qualifier);
+        }
+
+        return this.cachedServiceDetails.computeIfAbsent(
+                serviceType,
+                type -> Optional.ofNullable(this.findServiceDetailsUncached(type, null))
+        ).orElse(null);
+    }
+
+    private ServiceDetails findServiceDetailsUncached(Class<?> serviceType, String qualifier) {
+        for (ServiceDetails serviceDetails : this.dependencyContainer.getAllServices()) {
+            if (ServiceCompatibilityUtils.isServiceCompatible(serviceDetails, serviceType, qualifier)) {
+                return serviceDetails;
+            }
+        }
+
+        return null;
+    }
+
+    private Object createInstance(ServiceDetails serviceDetails) {
+        return this.serviceFactories.computeIfAbsent(serviceDetails, this::compileServiceFactory).create();
+    }
+
+    /**
+     * Finds once everything needed to create instances the way MagicInjector does,
+     * without storing them in the service details.
+     */
+    private ServiceFactory compileServiceFactory(ServiceDetails serviceDetails) {
+        if (serviceDetails instanceof ServiceBeanDetails) {
+            final ServiceBeanDetails beanDetails = (ServiceBeanDetails) serviceDetails;
+            return new ServiceFactory(
+                    serviceDetails,
+                    beanDetails.getOriginMethod(),
+                    beanDetails.getRootService()::getActualInstance
+            );
+        }
+
+        return new ServiceFactory(
+                serviceDetails,
+                serviceDetails.getTargetConstructor(),
+                this.compileDependencies(serviceDetails.getResolvedConstructorParams()),
+                serviceDetails.getAutowireAnnotatedFields(),
+                this.compileDependencies(serviceDetails.getResolvedFields()),
+                serviceDetails.getPostConstructMethod()
+        );
+    }
+
+    private Supplier<?>[] compileDependencies(List<DependencyParam> dependencyParams) {
+        final Supplier<?>[] dependencies = new Supplier<?>[dependencyParams.size()];
+        for (int i = 0; i < dependencies.length; i++) {
+            dependencies[i] = this.compileDependency(dependencyParams.get(i));
+        }
+
+        return dependencies;
+    }
+
+    /**
+     * Decides once how a dependency is resolved.
+     * Scoped dependencies belong to the request context that is current when the instance is created.
+     */
+    private Supplier<?> compileDependency(DependencyParam dependencyParam) {
+        final Class<?> dependencyType = dependencyParam.getDependencyType();
+        final String qualifier = dependencyParam.getInstanceName();
+
+        if (dependencyParam.getDependencyResolver() != null) {
+            return () -> dependencyParam.getDependencyResolver().resolve(dependencyParam);
+        }
+
+        if (this.isPlatformType(dependencyType)) {
+            return () -> this.getService(dependencyType, qualifier);
+        }
+
+        final ServiceDetails serviceDetails = this.findServiceDetails(dependencyType, qualifier);
+        if (serviceDetails == null) {
+            return () -> this.dependencyContainer.getService(dependencyType, qualifier);
+        }
+
+        if (serviceDetails.getScopeType() == ScopeType.PROTOTYPE) {
+            return () -> this.createInstance(serviceDetails);
+        }
+
+        if (this.scopedServices.containsKey(serviceDetails)) {
+            return () -> {
+                final RequestContext requestContext = this.requestContext.get();
+                if (requestContext == null) {
+                    return serviceDetails.getInstance();
+                }
+
+                return this.getScopedInstance(serviceDetails, requestContext);
+            };
+        }
+
+        return serviceDetails::getInstance;
+    }
+
+    /**
+     * @return true if the request, response or session of the request context can be of the given type.
+     */
+    private boolean isPlatformType(Class<?> type) {
+        for (Class<?> platformType : PLATFORM_TYPES) {
+            if (type.isAssignableFrom(platformType) || platformType.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
 }
@@ -1,10 +1,14 @@
 package com.cyecize.summer.areas.startup.services;
 
+import com.cyecize.ioc.models.ServiceDetails;
 import com.cyecize.solet.HttpSoletRequest;
 
 public interface SessionScopeManager {
 
     void initialize(DependencyContainer dependencyContainer);
 
-    void setSessionScopedServices(HttpSoletRequest request);
+    /**
+     * @return the instance of a session scoped service for the session of the given request.
+     */
+    Object getInstance(ServiceDetails serviceDetails, HttpSoletRequest request);
 }
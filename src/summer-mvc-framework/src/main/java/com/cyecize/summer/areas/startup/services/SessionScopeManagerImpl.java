@@ -34,18 +34,12 @@ public class SessionScopeManagerImpl implements SessionScopeManager {
     }
 
     @Override
-    public void setSessionScopedServices(HttpSoletRequest request) {
-
-        for (Map.Entry<ServiceDetails, SessionScopeFactory> kvp : this.scopeFactoryByServiceDetails.entrySet()) {
-            final SessionScopeFactory<?> sessionScopeFactory = kvp.getValue();
-            final ServiceDetails serviceDetails = kvp.getKey();
-
-            serviceDetails.setInstance(sessionScopeFactory.getInstance(
-                    serviceDetails,
-                    request,
-                    this.dependencyContainer
-            ));
-        }
+    public Object getInstance(ServiceDetails serviceDetails, HttpSoletRequest request) {
+        return this.scopeFactoryByServiceDetails.get(serviceDetails).getInstance(
+                serviceDetails,
+                request,
+                this.dependencyContainer
+        );
     }
 
     private SessionScopeFactory getSessionFactory(ServiceDetails serviceDetails) {
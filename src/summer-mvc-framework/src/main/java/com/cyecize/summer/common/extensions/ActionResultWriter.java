@@ -0,0 +1,15 @@
+package com.cyecize.summer.common.extensions;
+
+import com.cyecize.solet.HttpSoletRequest;
+import com.cyecize.solet.HttpSoletResponse;
+
+/**
+ * Writes action results of type T to the response.
+ * Services that implement this interface are picked up at startup and are used for results of type T
+ * and its subtypes, taking precedence over the writers of Summer, e.g. for byte[], Path or InputStream results.
+ * The Content-Type header is already set from the action when the writer is called.
+ */
+public interface ActionResultWriter<T> {
+
+    void write(T result, HttpSoletRequest request, HttpSoletResponse response) throws Exception;
+}